@@ -0,0 +1,6 @@
+package com.sparta.springtrello.loadtest;
+
+// 측정 전에 가입/로그인해 둔 사용자, 토큰은 모두 Bearer 접두사 포함
+public record Account(String username, String password, long id, String accessToken,
+                      String refreshToken, String expiredAccessToken) {
+}
@@ -0,0 +1,176 @@
+package com.sparta.springtrello.loadtest;
+
+import com.sparta.springtrello.SpringTrelloApplication;
+import com.sparta.springtrello.auth.JwtProvider;
+import com.sparta.springtrello.common.storage.S3StandIn;
+import com.sparta.springtrello.domain.user.entity.User;
+import com.sparta.springtrello.domain.user.repository.RefreshTokenStore;
+import com.sparta.springtrello.domain.user.repository.UserAdapter;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.security.Key;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 애플리케이션 전체를 띄우고 load-test.* 설정대로 부하를 준 뒤 작업별 SLO 예산을 확인한다
+// DB 는 H2(MySQL 모드), 저장소는 S3StandIn, 카카오 API 는 KakaoStubServer
+@Slf4j(topic = "부하 테스트")
+@SpringBootTest(classes = SpringTrelloApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@Import(LoadTestConfig.class)
+class CapacityLoadTest {
+
+    // 계정 준비 중 동시 가입/로그인 수, 해시 대기열(password-hashing.queue-capacity)을 넘지 않도록 제한
+    private static final int SETUP_CONCURRENCY = 8;
+
+    private static S3StandIn s3;
+    private static KakaoStubServer kakao;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${jwt-secret-key}")
+    private String secretKey;
+
+    @Autowired
+    private LoadTestProperties properties;
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    @Autowired
+    private UserAdapter userAdapter;
+
+    @Autowired
+    private JwtProvider jwtProvider;
+
+    @Autowired
+    private RefreshTokenStore refreshTokenStore;
+
+    @BeforeAll
+    static void startExternals() throws IOException {
+        s3 = new S3StandIn();
+        kakao = new KakaoStubServer();
+    }
+
+    @AfterAll
+    static void stopExternals() {
+        s3.close();
+        kakao.close();
+    }
+
+    @DynamicPropertySource
+    static void externalEndpoints(DynamicPropertyRegistry registry) {
+        registry.add("cloud.aws.s3.endpoint", () -> s3.endpoint());
+        registry.add("cloud.aws.s3.bucket", () -> S3StandIn.BUCKET);
+        registry.add("kakao.auth-uri", () -> kakao.baseUri());
+        registry.add("kakao.api-uri", () -> kakao.baseUri());
+    }
+
+    @Test
+    void 설정한_부하에서_SLO_예산을_지킨다() throws Exception {
+        kakao.setLatencyMillis(properties.getKakaoLatencyMs());
+        LoadClient client = new LoadClient("http://127.0.0.1:" + port, Duration.ofMillis(properties.getRequestTimeoutMs()));
+
+        List<Account> accounts = createAccounts(client);
+        log.info("계정 {}개 준비 완료, 동시 사용자 {}명으로 {}초 예열", accounts.size(),
+                properties.getConcurrency(), properties.getWarmupSeconds());
+
+        LoadDriver driver = new LoadDriver(properties, client, accounts, samplePicture());
+        LoadReport report = LoadReport.of(properties, driver.run(queryCounter::reset), queryCounter);
+
+        log.info(report.toTable());
+        report.writeJson(Path.of(properties.getReportFile()));
+        assertThat(report.violations()).as("SLO 예산 초과").isEmpty();
+    }
+
+    // 가입과 로그인은 HTTP 로, 로그인 응답에 없는 리프레시 토큰은 로그인과 같은 방식으로 발급해 저장
+    private List<Account> createAccounts(LoadClient client) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(SETUP_CONCURRENCY);
+        try {
+            List<Future<Account>> futures = new ArrayList<>();
+            for (int i = 0; i < properties.getAccounts(); i++) {
+                String username = String.format("acc%05d", i);
+                futures.add(executor.submit(() -> createAccount(client, username)));
+            }
+            List<Account> accounts = new ArrayList<>();
+            for (Future<Account> future : futures) {
+                accounts.add(future.get());
+            }
+            return accounts;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Account createAccount(LoadClient client, String username) throws Exception {
+        String password = LoadDriver.password();
+        assertThat(client.signup(username, password, false)).as("가입 실패: %s", username).isTrue();
+        String accessToken = client.login(username, password, false)
+                .orElseThrow(() -> new IllegalStateException("로그인 실패: " + username));
+
+        User user = userAdapter.findByUsername(username);
+        String refreshToken = jwtProvider.createRefreshToken(username);
+        refreshTokenStore.save(user.getId(), refreshToken,
+                LocalDateTime.now().plus(Duration.ofMillis(JwtProvider.REFRESH_TOKEN_TIME)));
+        return new Account(username, password, user.getId(), accessToken, refreshToken,
+                expiredAccessToken(user, RefreshTokenStore.tokenId(refreshToken)));
+    }
+
+    // 재발급 경로를 타도록 1분 전에 만료된 액세스 토큰, 클레임은 JwtProvider.createAccessToken 과 같다
+    private String expiredAccessToken(User user, String sessionId) {
+        Key key = Keys.hmacShaKeyFor(Base64.getDecoder().decode(secretKey));
+        Date issuedAt = new Date(System.currentTimeMillis() - Duration.ofMinutes(2).toMillis());
+        return JwtProvider.BEARER_PREFIX + Jwts.builder()
+                .claim(JwtProvider.USER_ID_CLAIM, user.getId())
+                .claim(JwtProvider.TOKEN_VERSION_CLAIM, user.getTokenVersion())
+                .claim(JwtProvider.ROLE_CLAIM, user.getUserRole().name())
+                .claim(JwtProvider.SESSION_ID_CLAIM, sessionId)
+                .setSubject(user.getUsername())
+                .setIssuedAt(issuedAt)
+                .setExpiration(new Date(issuedAt.getTime() + Duration.ofMinutes(1).toMillis()))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    // 휴대폰 사진보다는 작은 512x512 JPEG
+    private static byte[] samplePicture() throws IOException {
+        BufferedImage image = new BufferedImage(512, 512, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, (x / 2) << 16 | (y / 2) << 8 | ((x + y) / 4));
+            }
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", output);
+        return output.toByteArray();
+    }
+}
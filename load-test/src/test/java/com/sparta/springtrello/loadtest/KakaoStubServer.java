@@ -0,0 +1,94 @@
+package com.sparta.springtrello.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// 카카오 토큰/사용자 정보 API 스텁, 인가 코드 k-<id> 는 카카오 사용자 <id> 로 응답
+// 카카오 API 응답 시간은 고정 지연(latencyMillis)으로 흉내
+public class KakaoStubServer implements AutoCloseable {
+
+    private static final String CODE_PREFIX = "k-";
+    private static final String TOKEN_PREFIX = "kakao-";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private volatile long latencyMillis;
+
+    public KakaoStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/oauth/token", this::token);
+        server.createContext("/v2/user/me", this::userInfo);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public String baseUri() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    public static String codeFor(long kakaoId) {
+        return CODE_PREFIX + kakaoId;
+    }
+
+    private void token(HttpExchange exchange) throws IOException {
+        String form = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        String code = null;
+        for (String pair : form.split("&")) {
+            if (pair.startsWith("code=")) {
+                code = URLDecoder.decode(pair.substring("code=".length()), StandardCharsets.UTF_8);
+            }
+        }
+        if (code == null || !code.startsWith(CODE_PREFIX)) {
+            respond(exchange, 401, "{\"error\":\"invalid_grant\"}");
+            return;
+        }
+        String kakaoId = code.substring(CODE_PREFIX.length());
+        respond(exchange, 200, "{\"access_token\":\"" + TOKEN_PREFIX + kakaoId + "\",\"token_type\":\"bearer\",\"expires_in\":21599}");
+    }
+
+    private void userInfo(HttpExchange exchange) throws IOException {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        String bearer = "Bearer " + TOKEN_PREFIX;
+        if (authorization == null || !authorization.startsWith(bearer)) {
+            respond(exchange, 401, "{}");
+            return;
+        }
+        String kakaoId = authorization.substring(bearer.length());
+        respond(exchange, 200, "{\"id\":" + kakaoId + ",\"connected_at\":\"2024-01-01T00:00:00Z\","
+                + "\"properties\":{\"nickname\":\"kakao" + kakaoId + "\",\"profile_image\":\"http://img/" + kakaoId + ".jpg\"}}");
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
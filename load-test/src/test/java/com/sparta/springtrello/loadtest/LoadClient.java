@@ -0,0 +1,125 @@
+package com.sparta.springtrello.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+// 부하 발생기의 HTTP 클라이언트, 각 메서드는 기대한 응답을 받았으면 true
+// measured 이면 작업 이름 헤더를 붙여 서버 쪽에서 쿼리 수를 세도록 한다
+public class LoadClient {
+
+    private static final String AUTHORIZATION_HEADER = "Authorization";
+    private static final String REFRESH_TOKEN_HEADER = "Refresh-Token";
+
+    private final HttpClient httpClient;
+    private final String baseUri;
+    private final Duration timeout;
+
+    public LoadClient(String baseUri, Duration timeout) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        this.baseUri = baseUri;
+        this.timeout = timeout;
+    }
+
+    public boolean signup(String username, String password, boolean measured) throws IOException, InterruptedException {
+        HttpRequest request = request("/users/signup", Operation.SIGNUP, measured)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(credentials(username, password)))
+                .build();
+        return send(request).statusCode() == 201;
+    }
+
+    // 로그인에 성공하면 Bearer 접두사가 붙은 액세스 토큰
+    public Optional<String> login(String username, String password, boolean measured) throws IOException, InterruptedException {
+        HttpRequest request = request("/users/login", Operation.LOGIN, measured)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(credentials(username, password)))
+                .build();
+        HttpResponse<Void> response = send(request);
+        return response.statusCode() == 200 ? response.headers().firstValue(AUTHORIZATION_HEADER) : Optional.empty();
+    }
+
+    // 만료된 액세스 토큰으로 요청하면 인가 필터가 리프레시 토큰을 확인하고 새 액세스 토큰을 헤더에 담아 준다
+    public boolean refresh(Account account, boolean measured) throws IOException, InterruptedException {
+        HttpRequest request = request("/users/" + account.id(), Operation.REFRESH, measured)
+                .header(AUTHORIZATION_HEADER, account.expiredAccessToken())
+                .header(REFRESH_TOKEN_HEADER, account.refreshToken())
+                .GET()
+                .build();
+        HttpResponse<Void> response = send(request);
+        return response.statusCode() == 200 && response.headers().firstValue(AUTHORIZATION_HEADER).isPresent();
+    }
+
+    public boolean readProfile(Account account, long userId, boolean measured) throws IOException, InterruptedException {
+        HttpRequest request = request("/users/" + userId, Operation.PROFILE_READ, measured)
+                .header(AUTHORIZATION_HEADER, account.accessToken())
+                .GET()
+                .build();
+        return send(request).statusCode() == 200;
+    }
+
+    // 프로필 수정과 사진 업로드, 사진은 비동기로 올라가므로 202
+    public boolean uploadProfile(Account account, String nickname, byte[] picture, boolean measured)
+            throws IOException, InterruptedException {
+        String boundary = "load-test-" + UUID.randomUUID();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(picture.length + 512);
+        writePart(body, boundary, "Content-Disposition: form-data; name=\"updateProfileRequestDto\"",
+                "application/json", ("{\"nickname\":\"" + nickname + "\",\"introduce\":\"load test\"}").getBytes(StandardCharsets.UTF_8));
+        writePart(body, boundary, "Content-Disposition: form-data; name=\"profilePicture\"; filename=\"profile.jpg\"",
+                "image/jpeg", picture);
+        body.writeBytes(("--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+
+        HttpRequest request = request("/users/profile", Operation.PROFILE_UPLOAD, measured)
+                .header(AUTHORIZATION_HEADER, account.accessToken())
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+        int status = send(request).statusCode();
+        return status == 202 || status == 200;
+    }
+
+    public boolean kakaoLogin(String code, boolean measured) throws IOException, InterruptedException {
+        HttpRequest request = request("/users/kakao/callback?code=" + URLEncoder.encode(code, StandardCharsets.UTF_8),
+                Operation.KAKAO_LOGIN, measured)
+                .GET()
+                .build();
+        HttpResponse<Void> response = send(request);
+        return response.statusCode() == 200 && response.headers().firstValue(AUTHORIZATION_HEADER).isPresent();
+    }
+
+    private HttpRequest.Builder request(String path, Operation operation, boolean measured) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUri + path)).timeout(timeout);
+        if (measured) {
+            builder.header(QueryCountFilter.OPERATION_HEADER, operation.key());
+        }
+        return builder;
+    }
+
+    // 응답 본문은 읽어서 버린다, 판정은 상태 코드와 헤더로만 한다
+    private HttpResponse<Void> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    private static String credentials(String username, String password) {
+        return "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}";
+    }
+
+    private static void writePart(ByteArrayOutputStream body, String boundary, String disposition,
+                                  String contentType, byte[] content) {
+        body.writeBytes(("--" + boundary + "\r\n" + disposition + "\r\nContent-Type: " + contentType + "\r\n\r\n")
+                .getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(content);
+        body.writeBytes("\r\n".getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,148 @@
+package com.sparta.springtrello.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// concurrency 개의 가상 사용자가 쉬지 않고 요청을 보낸다 (닫힌 모델, 응답을 받아야 다음 요청)
+// 요청 종류는 load-test.mix 비중에 따라 고르고, 측정 구간 안에서 시작한 요청은 구간이 끝난 뒤에 응답을 받아도 모두 기록한다
+// 구간 끝에 걸린 느린 요청을 빼면 꼬리 지연이 실제보다 낮게 나온다
+@Slf4j(topic = "부하 발생기")
+public class LoadDriver {
+
+    private static final String PASSWORD = "Load1234!a";
+
+    private final LoadTestProperties properties;
+    private final LoadClient client;
+    private final List<Account> accounts;
+    private final byte[] picture;
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final AtomicLong signupSequence = new AtomicLong();
+
+    private volatile boolean measuring;
+    private volatile boolean stopped;
+
+    public record Result(Map<Operation, OperationStats> stats, long measuredNanos) {
+    }
+
+    public LoadDriver(LoadTestProperties properties, LoadClient client, List<Account> accounts, byte[] picture) {
+        this.properties = properties;
+        this.client = client;
+        this.accounts = accounts;
+        this.picture = picture;
+
+        List<Operation> weighted = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        for (Operation operation : Operation.values()) {
+            int weight = properties.weightOf(operation);
+            if (weight > 0) {
+                total += weight;
+                weighted.add(operation);
+                cumulative.add(total);
+            }
+            stats.put(operation, new OperationStats());
+        }
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("load-test.mix 에 비중이 0 보다 큰 작업이 없습니다.");
+        }
+        this.operations = weighted.toArray(Operation[]::new);
+        this.cumulativeWeights = cumulative.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public static String password() {
+        return PASSWORD;
+    }
+
+    // onMeasurementStart 는 예열이 끝나고 기록을 시작하기 직전에 호출 (서버 쪽 집계 초기화 등)
+    public Result run(Runnable onMeasurementStart) throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(properties.getConcurrency());
+        List<Future<?>> running = new ArrayList<>();
+        for (int i = 0; i < properties.getConcurrency(); i++) {
+            running.add(workers.submit(this::loop));
+        }
+
+        TimeUnit.SECONDS.sleep(properties.getWarmupSeconds());
+        onMeasurementStart.run();
+        long measureStart = System.nanoTime();
+        measuring = true;
+        log.info("예열 종료, {}초 동안 측정", properties.getDurationSeconds());
+
+        TimeUnit.SECONDS.sleep(properties.getDurationSeconds());
+        stopped = true;
+        long measuredNanos = System.nanoTime() - measureStart;
+
+        workers.shutdown();
+        for (Future<?> worker : running) {
+            worker.get(properties.getRequestTimeoutMs() * 2, TimeUnit.MILLISECONDS);
+        }
+        return new Result(stats, measuredNanos);
+    }
+
+    private void loop() {
+        while (!stopped) {
+            Operation operation = nextOperation();
+            boolean measured = measuring && !stopped;
+            long start = System.nanoTime();
+            boolean success;
+            try {
+                success = execute(operation, measured);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.debug("{} 요청 실패: {}", operation.key(), e.toString());
+                success = false;
+            }
+            if (measured) {
+                stats.get(operation).record(System.nanoTime() - start, success);
+            }
+        }
+    }
+
+    private Operation nextOperation() {
+        int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private boolean execute(Operation operation, boolean measured) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Account account = accounts.get(random.nextInt(accounts.size()));
+        return switch (operation) {
+            // 유저네임은 소문자와 숫자 4~10자
+            case SIGNUP -> client.signup(String.format("su%08d", signupSequence.incrementAndGet()), PASSWORD, measured);
+            case LOGIN -> client.login(account.username(), account.password(), measured).isPresent();
+            case REFRESH -> client.refresh(account, measured);
+            case PROFILE_READ -> client.readProfile(account, accounts.get(random.nextInt(accounts.size())).id(), measured);
+            case PROFILE_UPLOAD -> client.uploadProfile(account, "n" + random.nextInt(1000), uniquePicture(random), measured);
+            case KAKAO_LOGIN -> client.kakaoLogin(KakaoStubServer.codeFor(1 + random.nextInt(properties.getKakaoUsers())), measured);
+        };
+    }
+
+    // 같은 사진은 다시 올리지 않으므로 JPEG 끝(EOI) 뒤에 임의 바이트를 붙여 매번 다른 파일로 만든다
+    private byte[] uniquePicture(ThreadLocalRandom random) {
+        byte[] unique = new byte[picture.length + 16];
+        System.arraycopy(picture, 0, unique, 0, picture.length);
+        for (int i = picture.length; i < unique.length; i++) {
+            unique[i] = (byte) random.nextInt(256);
+        }
+        return unique;
+    }
+}
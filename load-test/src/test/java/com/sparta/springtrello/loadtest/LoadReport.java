@@ -0,0 +1,87 @@
+package com.sparta.springtrello.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// 작업별 처리량, 응답 시간 백분위, 요청당 쿼리 수와 SLO 예산 초과 목록
+// queriesPerRequest 는 요청 스레드에서 실행한 쿼리만, totalQueriesPerRequest 는 비동기 작업까지 포함한 전체
+public record LoadReport(int concurrency, double durationSeconds, double throughput, double totalQueriesPerRequest,
+                         List<Row> operations, List<String> violations) {
+
+    public record Row(String operation, long requests, long errors, double errorRate, double throughput,
+                      double p50Millis, double p95Millis, double p99Millis, double maxMillis,
+                      double queriesPerRequest) {
+    }
+
+    public static LoadReport of(LoadTestProperties properties, LoadDriver.Result result, QueryCounter queryCounter) {
+        double seconds = result.measuredNanos() / 1_000_000_000.0;
+        Map<String, QueryCounter.Snapshot> queries = queryCounter.snapshot();
+
+        List<Row> rows = new ArrayList<>();
+        List<String> violations = new ArrayList<>();
+        long totalRequests = 0;
+        for (Operation operation : Operation.values()) {
+            if (properties.weightOf(operation) <= 0) {
+                continue;
+            }
+            OperationStats.Summary summary = result.stats().get(operation).summarize();
+            totalRequests += summary.requests();
+            QueryCounter.Snapshot snapshot = queries.get(operation.key());
+            double queriesPerRequest = snapshot == null || snapshot.requests() == 0
+                    ? 0 : (double) snapshot.queries() / snapshot.requests();
+            rows.add(new Row(operation.key(), summary.requests(), summary.errors(), summary.errorRate(),
+                    summary.requests() / seconds, summary.p50Millis(), summary.p95Millis(), summary.p99Millis(),
+                    summary.maxMillis(), queriesPerRequest));
+
+            LoadTestProperties.Slo slo = properties.sloOf(operation);
+            if (summary.requests() == 0) {
+                violations.add(operation.key() + ": 측정 구간에 완료된 요청이 없습니다.");
+                continue;
+            }
+            if (slo.getP99Ms() != null && summary.p99Millis() > slo.getP99Ms()) {
+                violations.add(String.format("%s: p99 %.1fms > 예산 %dms", operation.key(), summary.p99Millis(), slo.getP99Ms()));
+            }
+            if (slo.getMaxErrorRate() != null && summary.errorRate() > slo.getMaxErrorRate()) {
+                violations.add(String.format("%s: 오류율 %.4f > 예산 %.4f", operation.key(), summary.errorRate(), slo.getMaxErrorRate()));
+            }
+        }
+
+        double throughput = totalRequests / seconds;
+        if (properties.getMinThroughput() > 0 && throughput < properties.getMinThroughput()) {
+            violations.add(String.format("전체 처리량 %.1f req/s < 하한 %.1f req/s", throughput, properties.getMinThroughput()));
+        }
+        double totalQueriesPerRequest = totalRequests == 0 ? 0 : (double) queryCounter.getTotalQueries() / totalRequests;
+        return new LoadReport(properties.getConcurrency(), seconds, throughput, totalQueriesPerRequest, rows, violations);
+    }
+
+    public String toTable() {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%n동시 사용자 %d, 측정 %.1f초, 처리량 %.1f req/s, 요청당 전체 쿼리 %.2f%n",
+                concurrency, durationSeconds, throughput, totalQueriesPerRequest));
+        table.append(String.format("%-15s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)", "queries"));
+        for (Row row : operations) {
+            table.append(String.format("%-15s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f %9.2f%n",
+                    row.operation(), row.requests(), row.errors(), row.throughput(), row.p50Millis(),
+                    row.p95Millis(), row.p99Millis(), row.maxMillis(), row.queriesPerRequest()));
+        }
+        for (String violation : violations) {
+            table.append("SLO 초과 - ").append(violation).append(System.lineSeparator());
+        }
+        return table.toString();
+    }
+
+    public void writeJson(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), this);
+    }
+}
@@ -0,0 +1,48 @@
+package com.sparta.springtrello.loadtest;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 부하 설정과 SLO 예산 (load-test.*), application-loadtest.yml 참고
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "load-test")
+public class LoadTestProperties {
+
+    private int accounts = 200;
+    private int concurrency = 32;
+    private int warmupSeconds = 10;
+    private int durationSeconds = 60;
+    private long requestTimeoutMs = 10000;
+    private long kakaoLatencyMs = 50;
+    private int kakaoUsers = 10000;
+    private Map<String, Integer> mix = new LinkedHashMap<>();
+    private double minThroughput;
+    private Map<String, Slo> slo = new LinkedHashMap<>();
+    private String reportFile = "build/reports/load-test/result.json";
+
+    // 작업별 예산, 비어 있는 값은 default 예산을 따른다
+    public Slo sloOf(Operation operation) {
+        Slo defaults = slo.getOrDefault("default", new Slo());
+        Slo specific = slo.getOrDefault(operation.key(), new Slo());
+        Slo merged = new Slo();
+        merged.setP99Ms(specific.getP99Ms() != null ? specific.getP99Ms() : defaults.getP99Ms());
+        merged.setMaxErrorRate(specific.getMaxErrorRate() != null ? specific.getMaxErrorRate() : defaults.getMaxErrorRate());
+        return merged;
+    }
+
+    public int weightOf(Operation operation) {
+        return mix.getOrDefault(operation.key(), 0);
+    }
+
+    @Getter
+    @Setter
+    public static class Slo {
+        private Long p99Ms;
+        private Double maxErrorRate;
+    }
+}
@@ -0,0 +1,21 @@
+package com.sparta.springtrello.loadtest;
+
+// 부하 테스트에서 섞어 보내는 요청 종류, key 는 설정(load-test.mix, load-test.slo)과 보고서에서 쓰는 이름
+public enum Operation {
+    SIGNUP("signup"),
+    LOGIN("login"),
+    REFRESH("refresh"), // 만료된 액세스 토큰 + 리프레시 토큰으로 재발급
+    PROFILE_READ("profile-read"),
+    PROFILE_UPLOAD("profile-upload"),
+    KAKAO_LOGIN("kakao-login");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+}
@@ -0,0 +1,49 @@
+package com.sparta.springtrello.loadtest;
+
+import java.util.Arrays;
+
+// 작업 하나의 응답 시간(실패 포함)과 실패 수
+public class OperationStats {
+
+    private long[] latencies = new long[4096];
+    private int count;
+    private long errors;
+
+    public record Summary(long requests, long errors, double p50Millis, double p95Millis, double p99Millis,
+                          double maxMillis) {
+
+        public double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+
+    public synchronized void record(long latencyNanos, boolean success) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    public synchronized Summary summarize() {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        return new Summary(count, errors, percentile(sorted, 0.50), percentile(sorted, 0.95),
+                percentile(sorted, 0.99), count == 0 ? 0 : toMillis(sorted[count - 1]));
+    }
+
+    // nearest-rank 방식
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return toMillis(sorted[Math.max(0, rank - 1)]);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,38 @@
+package com.sparta.springtrello.loadtest;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// 부하 발생기가 붙인 작업 이름 헤더가 있는 요청만 쿼리 수를 센다, 보안 필터보다 먼저 실행되어 인증 과정의 조회도 포함
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String OPERATION_HEADER = "X-Load-Operation";
+
+    private final QueryCounter queryCounter;
+
+    public QueryCountFilter(QueryCounter queryCounter) {
+        this.queryCounter = queryCounter;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String operation = request.getHeader(OPERATION_HEADER);
+        if (operation == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        queryCounter.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            queryCounter.end(operation);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.sparta.springtrello.loadtest;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Hibernate 가 준비하는 SQL 문 수를 센다
+// 요청 스레드에서 실행한 쿼리는 작업별로, 비동기 작업(사진 업로드 반영, 카카오 사용자 저장 등)까지 포함한 전체 수는 따로 집계
+public class QueryCounter implements StatementInspector {
+
+    private final ThreadLocal<int[]> current = new ThreadLocal<>();
+    private final LongAdder totalQueries = new LongAdder();
+    private final Map<String, Counts> byOperation = new ConcurrentHashMap<>();
+
+    public record Snapshot(long requests, long queries) {
+    }
+
+    @Override
+    public String inspect(String sql) {
+        totalQueries.increment();
+        int[] count = current.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    // 요청 처리 시작, QueryCountFilter 에서 호출
+    public void begin() {
+        current.set(new int[1]);
+    }
+
+    public void end(String operation) {
+        int[] count = current.get();
+        current.remove();
+        if (count == null) {
+            return;
+        }
+        Counts counts = byOperation.computeIfAbsent(operation, key -> new Counts());
+        counts.requests.increment();
+        counts.queries.add(count[0]);
+    }
+
+    // 예열이 끝난 뒤 호출하여 측정 구간만 남긴다
+    public void reset() {
+        totalQueries.reset();
+        byOperation.clear();
+    }
+
+    public long getTotalQueries() {
+        return totalQueries.sum();
+    }
+
+    public Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> snapshot = new TreeMap<>();
+        byOperation.forEach((operation, counts) ->
+                snapshot.put(operation, new Snapshot(counts.requests.sum(), counts.queries.sum())));
+        return snapshot;
+    }
+
+    private static final class Counts {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder queries = new LongAdder();
+    }
+}
@@ -0,0 +1,35 @@
+package com.sparta.springtrello.auth;
+
+import com.sparta.springtrello.domain.user.entity.User;
+import com.sparta.springtrello.domain.user.entity.UserRoleEnum;
+import com.sparta.springtrello.domain.user.entity.UserStatusEnum;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+
+// 벤치마크 공통 준비, 스프링 컨텍스트 없이 빈을 직접 만든다
+final class BenchmarkFixtures {
+
+    static final String SECRET_KEY = Base64.getEncoder().encodeToString(
+            "spring-trello-benchmark-secret-key-0123456789".getBytes());
+
+    private BenchmarkFixtures() {
+    }
+
+    // @Value 로 주입되는 필드를 채운 뒤 @PostConstruct 를 직접 호출
+    static JwtProvider jwtProvider() {
+        JwtProvider jwtProvider = new JwtProvider(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtProvider, "secretKey", SECRET_KEY);
+        ReflectionTestUtils.setField(jwtProvider, "verifiedCacheSize", 10000);
+        jwtProvider.initializeSecretKey();
+        return jwtProvider;
+    }
+
+    static User user(long id, String username) {
+        User user = new User(username, "{bcrypt}unused", UserStatusEnum.STATUS_NORMAL);
+        ReflectionTestUtils.setField(user, "id", id);
+        ReflectionTestUtils.setField(user, "userRole", UserRoleEnum.ROLE_USER);
+        return user;
+    }
+}
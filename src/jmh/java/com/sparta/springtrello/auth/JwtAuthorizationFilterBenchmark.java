@@ -0,0 +1,106 @@
+package com.sparta.springtrello.auth;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sparta.springtrello.common.ResponseBodyWriter;
+import com.sparta.springtrello.common.tracing.TraceSpans;
+import com.sparta.springtrello.domain.user.entity.User;
+import com.sparta.springtrello.domain.user.repository.InMemoryRefreshTokenStore;
+import com.sparta.springtrello.domain.user.repository.RefreshTokenStore;
+import com.sparta.springtrello.domain.user.repository.UserAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 인가 필터 한 번의 비용, DB 대신 스텁 UserAdapter 를 사용하므로 캐시에 올라간 이후의 요청 경로를 측정한다
+// claimsPrincipal=true: 토큰 클레임, 토큰 버전, 세션 확인, false: UserDetails 캐시를 거쳐 같은 항목 확인
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JwtAuthorizationFilterBenchmark {
+
+    private static final String USERNAME = "benchmark01";
+
+    @Param({"true", "false"})
+    private boolean claimsPrincipal;
+
+    private JwtAuthorizationFilter filter;
+    private MockHttpServletRequest authorizedRequest;
+    private MockHttpServletRequest invalidTokenRequest;
+    private MockHttpServletRequest whiteListedRequest;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        JwtProvider jwtProvider = BenchmarkFixtures.jwtProvider();
+        User user = BenchmarkFixtures.user(1L, USERNAME);
+
+        UserAdapter userAdapter = mock(UserAdapter.class);
+        when(userAdapter.findByUsername(USERNAME)).thenReturn(user);
+        when(userAdapter.findTokenVersionById(1L)).thenReturn(user.getTokenVersion());
+
+        InMemoryRefreshTokenStore refreshTokenStore = new InMemoryRefreshTokenStore();
+        String refreshToken = jwtProvider.createRefreshToken(USERNAME);
+        refreshTokenStore.save(1L, refreshToken, LocalDateTime.now().plusDays(14));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        filter = new JwtAuthorizationFilter(jwtProvider,
+                new UserDetailsServiceImpl(userAdapter, new UserDetailsCache(10000, 60)),
+                new ResponseBodyWriter(new ObjectMapper(), meterRegistry),
+                new TokenVersionTable(userAdapter, 10000, 10), new SessionTable(refreshTokenStore, 10000, 10),
+                refreshTokenStore,
+                new TraceSpans(Tracer.NOOP), claimsPrincipal, true);
+
+        authorizedRequest = request("/users/profile", jwtProvider.createAccessToken(user, RefreshTokenStore.tokenId(refreshToken)));
+        invalidTokenRequest = request("/users/profile", JwtProvider.BEARER_PREFIX + "invalid.token.value");
+        whiteListedRequest = request("/users/login", null);
+    }
+
+    private static MockHttpServletRequest request(String uri, String accessToken) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (accessToken != null) {
+            request.addHeader(JwtProvider.AUTHORIZATION_HEADER, accessToken);
+        }
+        return request;
+    }
+
+    // 응답은 필터가 본문을 쓰고 스트림을 닫으므로 매번 새로 만든다
+    @Benchmark
+    public void authorized(Blackhole blackhole) throws ServletException, IOException {
+        filter.doFilterInternal(authorizedRequest, new MockHttpServletResponse(), chain(blackhole));
+    }
+
+    @Benchmark
+    public void invalidToken(Blackhole blackhole) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilterInternal(invalidTokenRequest, response, chain(blackhole));
+        blackhole.consume(response.getContentAsByteArray());
+    }
+
+    @Benchmark
+    public void whiteListed(Blackhole blackhole) throws ServletException, IOException {
+        filter.doFilterInternal(whiteListedRequest, new MockHttpServletResponse(), chain(blackhole));
+    }
+
+    private static FilterChain chain(Blackhole blackhole) {
+        return (request, response) -> blackhole.consume(request);
+    }
+}
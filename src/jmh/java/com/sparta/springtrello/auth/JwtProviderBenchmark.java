@@ -0,0 +1,49 @@
+package com.sparta.springtrello.auth;
+
+import com.sparta.springtrello.domain.user.entity.User;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+// 토큰 발급, 서명 검증(파싱), 캐시를 거친 검증 비용
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JwtProviderBenchmark {
+
+    private JwtProvider jwtProvider;
+    private User user;
+    private String token; // BEARER_PREFIX 를 뗀 토큰
+    private static final String SESSION_ID = "0".repeat(64); // tokenId 와 같은 길이의 세션 식별자
+
+    @Setup
+    public void setUp() {
+        jwtProvider = BenchmarkFixtures.jwtProvider();
+        user = BenchmarkFixtures.user(1L, "benchmark01");
+        token = jwtProvider.createAccessToken(user, SESSION_ID).substring(JwtProvider.BEARER_PREFIX.length());
+    }
+
+    @Benchmark
+    public String createAccessToken() {
+        return jwtProvider.createAccessToken(user, SESSION_ID);
+    }
+
+    // 캐시 없이 매번 서명 검증과 클레임 파싱
+    @Benchmark
+    public Claims getUserInfoFromToken() {
+        return jwtProvider.getUserInfoFromToken(token);
+    }
+
+    // 같은 토큰을 반복 검증하므로 첫 호출 이후에는 다이제스트 계산과 캐시 조회만 측정된다
+    @Benchmark
+    public boolean validateToken() {
+        return jwtProvider.validateToken(token);
+    }
+}
@@ -0,0 +1,59 @@
+package com.sparta.springtrello.auth;
+
+import com.sparta.springtrello.common.tracing.TraceSpans;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 로그인 1회의 비밀번호 검증 비용을 BCrypt cost 별로 측정
+// PasswordConfig 와 같은 {bcrypt} 접두사 위임 인코더를 사용하고, bounded 는 해시 전용 스레드 풀을 거친 비용
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class PasswordEncoderBenchmark {
+
+    private static final String RAW_PASSWORD = "Benchmark123!";
+
+    @Param({"4", "8", "10", "12"})
+    private int strength;
+
+    private PasswordEncoder encoder;
+    private BoundedPasswordEncoder boundedEncoder;
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", new BCryptPasswordEncoder(strength)));
+        boundedEncoder = new BoundedPasswordEncoder(encoder, 1, 64, new SimpleMeterRegistry(), new TraceSpans(Tracer.NOOP));
+        encodedPassword = encoder.encode(RAW_PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        boundedEncoder.shutdown();
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches(RAW_PASSWORD, encodedPassword);
+    }
+
+    @Benchmark
+    public boolean boundedMatches() {
+        return boundedEncoder.matches(RAW_PASSWORD, encodedPassword);
+    }
+}
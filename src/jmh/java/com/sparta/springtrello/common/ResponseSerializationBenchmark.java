@@ -0,0 +1,72 @@
+package com.sparta.springtrello.common;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sparta.springtrello.domain.user.dto.ProfileResponseDto;
+import com.sparta.springtrello.domain.user.dto.ProfileSummaryResponseDto;
+import com.sparta.springtrello.domain.user.dto.ProfilesResponseDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 컨트롤러 응답(ResponseUtils + HttpResponseDto) 직렬화 비용
+// ObjectMapper 는 Spring Boot 가 만드는 공유 인스턴스와 같은 설정으로 한 번만 생성해 재사용
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ProfileResponseDto profile;
+    private ProfilesResponseDto profiles;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Map<Integer, String> variants = Map.of(
+                256, "https://sparta-storage.s3.amazonaws.com/profile/1/256.jpg",
+                128, "https://sparta-storage.s3.amazonaws.com/profile/1/128.jpg",
+                64, "https://sparta-storage.s3.amazonaws.com/profile/1/64.jpg");
+        profile = new ProfileResponseDto("nickname", "자기소개 입니다.",
+                "https://sparta-storage.s3.amazonaws.com/profile/1/256.jpg", variants, LocalDateTime.now());
+
+        // GET /users/profiles 최대 조회 수(profile-batch.max-size)
+        List<ProfileSummaryResponseDto> summaries = new ArrayList<>();
+        for (long userId = 1; userId <= 100; userId++) {
+            summaries.add(ProfileSummaryResponseDto.of(userId, profile));
+        }
+        profiles = new ProfilesResponseDto(summaries, List.of());
+    }
+
+    @Benchmark
+    public byte[] error() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ResponseUtils.error(ResponseCodeEnum.INVALID_TOKENS).getBody());
+    }
+
+    @Benchmark
+    public byte[] success() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ResponseUtils.success(HttpStatus.OK).getBody());
+    }
+
+    @Benchmark
+    public byte[] profile() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ResponseUtils.success(HttpStatus.OK, profile).getBody());
+    }
+
+    @Benchmark
+    public byte[] profiles() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ResponseUtils.success(HttpStatus.OK, profiles).getBody());
+    }
+}
@@ -0,0 +1,44 @@
+package com.sparta.springtrello.auth;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+// 현재 장비에서 BCrypt 해시 시간을 측정하여 목표 지연 시간 안에 들어오는 가장 높은 cost 를 찾는다
+public final class BCryptCostCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "Calibration1!";
+    private static final int SAMPLES = 2;
+
+    private BCryptCostCalibrator() {
+    }
+
+    public record Result(int strength, long measuredMillis, long targetMillis) {
+    }
+
+    public static Result calibrate(long targetMillis, int minStrength, int maxStrength) {
+        int strength = minStrength;
+        long measured = measure(minStrength);
+
+        // cost 가 1 오를 때마다 해시 시간이 약 2배가 되므로, 다음 단계가 목표를 넘을 것으로 보이면 측정을 멈춘다
+        while (strength < maxStrength && measured * 2 <= targetMillis) {
+            long next = measure(strength + 1);
+            if (next > targetMillis) {
+                break;
+            }
+            strength++;
+            measured = next;
+        }
+        return new Result(strength, measured, targetMillis);
+    }
+
+    // 여러 번 측정한 값 중 가장 빠른 값 사용 (JIT, GC 영향 최소화)
+    private static long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, (System.nanoTime() - start) / 1_000_000L);
+        }
+        return best;
+    }
+}
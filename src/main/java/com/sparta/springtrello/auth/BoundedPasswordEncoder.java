@@ -0,0 +1,118 @@
+package com.sparta.springtrello.auth;
+
+import com.sparta.springtrello.common.ResponseCodeEnum;
+import com.sparta.springtrello.common.tracing.TraceSpans;
+import com.sparta.springtrello.exception.custom.user.PasswordException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// 비밀번호 해시 연산을 전용 스레드 풀에서만 실행하는 PasswordEncoder
+// 동시에 실행되는 해시 연산 수와 대기열 길이를 제한하여 BCrypt 가 모든 CPU 를 점유하지 못하게 한다
+// 대기열이 가득 차면 즉시 PASSWORD_HASHING_BUSY 예외를 던진다
+// password.hash 는 대기 시간을 뺀 해시 연산 시간, password.hash.wait 는 대기열에서 기다린 시간
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer waitTimer;
+    private final Counter rejected;
+    private final TraceSpans traceSpans;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, MeterRegistry meterRegistry,
+                                  TraceSpans traceSpans) {
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.matchesTimer = hashTimer(meterRegistry, "matches");
+        this.waitTimer = Timer.builder("password.hash.wait")
+                .description("해시 스레드를 기다린 시간")
+                .register(meterRegistry);
+        this.traceSpans = traceSpans;
+        this.rejected = Counter.builder("password.hash.rejected")
+                .description("대기열이 가득 차 거절한 해시 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.queued", this, BoundedPasswordEncoder::getQueueSize)
+                .description("대기 중인 해시 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.active", this, BoundedPasswordEncoder::getActiveCount)
+                .description("실행 중인 해시 연산 수")
+                .register(meterRegistry);
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("password.hash")
+                .description("비밀번호 해시 연산 시간")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return traceSpans.inSpan("password.encode", () -> execute(encodeTimer, () -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return traceSpans.inSpan("password.matches", () -> execute(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    // 해시 접두사만 확인하므로 호출 스레드에서 바로 처리
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    // 현재 대기 중인 해시 요청 수
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    // 애플리케이션 종료 시 스레드 풀 정리
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T execute(Timer timer, Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        try {
+            return executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(task);
+            }).get();
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordException(ResponseCodeEnum.PASSWORD_HASHING_BUSY);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordException(ResponseCodeEnum.PASSWORD_HASHING_BUSY);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.sparta.springtrello.auth;
+
+// 로그인 시 함께 발급한 액세스 토큰과 리프레시 토큰, 둘 다 "Bearer " 접두사 포함
+public record IssuedTokens(String accessToken, String refreshToken) {
+}
@@ -1,20 +1,21 @@
 package com.sparta.springtrello.auth;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.sparta.springtrello.common.HttpResponseDto;
+import com.sparta.springtrello.common.AccessLogFilter;
+import com.sparta.springtrello.common.ResponseBodyWriter;
 import com.sparta.springtrello.common.ResponseCodeEnum;
-import com.sparta.springtrello.common.ResponseUtils;
+import com.sparta.springtrello.common.tracing.TraceSpans;
 import com.sparta.springtrello.domain.user.dto.LoginRequestDto;
 import com.sparta.springtrello.domain.user.entity.User;
 import com.sparta.springtrello.domain.user.entity.UserStatusEnum;
+import com.sparta.springtrello.domain.user.repository.RefreshTokenStore;
 import com.sparta.springtrello.domain.user.repository.UserAdapter;
+import com.sparta.springtrello.exception.custom.user.PasswordException;
 import jakarta.servlet.FilterChain;
-import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.slf4j.MDC;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
@@ -23,6 +24,8 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
 
 @Component
 @Slf4j(topic = "로그인 처리 및 JWT 생성")
@@ -31,20 +34,48 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
     private final UserAdapter userAdapter;
     private final ObjectMapper objectMapper;
     private final PasswordEncoder passwordEncoder;
-
-    public JwtAuthenticationFilter(JwtProvider jwtProvider, UserAdapter userAdapter, ObjectMapper objectMapper, PasswordEncoder passwordEncoder) {
+    private final RefreshTokenStore refreshTokenStore;
+    private final LoginThrottle loginThrottle;
+    private final ResponseBodyWriter responseBodyWriter;
+    private final TraceSpans traceSpans;
+
+    public JwtAuthenticationFilter(JwtProvider jwtProvider, UserAdapter userAdapter, ObjectMapper objectMapper,
+                                   PasswordEncoder passwordEncoder, RefreshTokenStore refreshTokenStore,
+                                   LoginThrottle loginThrottle, ResponseBodyWriter responseBodyWriter,
+                                   TraceSpans traceSpans) {
         this.jwtProvider = jwtProvider;
         this.userAdapter = userAdapter;
         this.objectMapper = objectMapper;
         this.passwordEncoder = passwordEncoder;
+        this.refreshTokenStore = refreshTokenStore;
+        this.loginThrottle = loginThrottle;
+        this.responseBodyWriter = responseBodyWriter;
+        this.traceSpans = traceSpans;
         setFilterProcessesUrl("/users/login");
     }
 
+    // 사용자 조회와 비밀번호 검증 구간
     @Override
     public Authentication attemptAuthentication(HttpServletRequest request, HttpServletResponse response) throws AuthenticationException {
-        log.info("JwtAuthenticationFilter: 인증 시도 시작");
+        return traceSpans.inSpan("auth.login", () -> authenticate(request, response));
+    }
+
+    private Authentication authenticate(HttpServletRequest request, HttpServletResponse response) {
+        log.debug("JwtAuthenticationFilter: 인증 시도 시작");
+        // 요청 본문을 읽기 전에 IP 별 시도 횟수부터 확인
+        // 프록시 뒤에서는 server.forward-headers-strategy 로 신뢰하는 프록시가 보낸 X-Forwarded-For 의 클라이언트 IP 가 된다
+        // (그렇지 않으면 모든 요청이 프록시 IP 하나로 묶여 한도를 함께 쓰게 된다)
+        if (!loginThrottle.tryAcquireForIp(request.getRemoteAddr())) {
+            setErrorResponse(response, ResponseCodeEnum.TOO_MANY_LOGIN_ATTEMPTS);
+            return null;
+        }
         try {
             LoginRequestDto requestDto = objectMapper.readValue(request.getInputStream(), LoginRequestDto.class);
+            // 사용자 조회와 비밀번호 해시 전에 사용자명 별 시도 횟수 확인
+            if (!loginThrottle.tryAcquireForUsername(requestDto.getUsername())) {
+                setErrorResponse(response, ResponseCodeEnum.TOO_MANY_LOGIN_ATTEMPTS);
+                return null;
+            }
             User user;
             try {
                 user = userAdapter.findByUsername(requestDto.getUsername());
@@ -53,6 +84,7 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
                 return null;
             }
 
+            // 비밀번호 검증(BCrypt)은 여기서 한 번만 수행하고, AuthenticationManager 로 다시 검증하지 않는다
             if (!passwordEncoder.matches(requestDto.getPassword(), user.getPassword())) {
                 setErrorResponse(response, ResponseCodeEnum.PASSWORD_INCORRECT);
                 return null;
@@ -63,64 +95,64 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
                 return null;
             }
 
-            return getAuthenticationManager().authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            requestDto.getUsername(),
-                            requestDto.getPassword(),
-                            null
-                    )
-            );
+            rehashIfNeeded(user, requestDto.getPassword());
+
+            UserDetailsImpl userDetails = new UserDetailsImpl(user);
+            return UsernamePasswordAuthenticationToken.authenticated(userDetails, null, userDetails.getAuthorities());
+        } catch (PasswordException e) {
+            setErrorResponse(response, e.getResponseCode());
+            return null;
         } catch (IOException e) {
             setErrorResponse(response, ResponseCodeEnum.INVALID_TOKENS);
             return null;
         }
     }
 
+    // 저장된 해시의 알고리즘이나 cost 가 현재 설정보다 낮으면 로그인 성공 시 새로 해시하여 저장
+    private void rehashIfNeeded(User user, String rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+        try {
+            userAdapter.updatePassword(user.getId(), passwordEncoder.encode(rawPassword));
+        } catch (RuntimeException e) {
+            log.warn("비밀번호 재해시 실패: userId={}, {}", user.getId(), e.getMessage());
+        }
+    }
+
     @Override
-    protected void successfulAuthentication(HttpServletRequest request, HttpServletResponse response, FilterChain chain, Authentication authResult) throws IOException {
-        log.info("JwtAuthenticationFilter: 인증 성공");
-        String username = ((UserDetailsImpl) authResult.getPrincipal()).getUsername();
+    protected void successfulAuthentication(HttpServletRequest request, HttpServletResponse response, FilterChain chain, Authentication authResult) {
+        traceSpans.inSpan("auth.issue-tokens", () -> issueTokens(response, authResult));
+    }
 
-        String accessToken = jwtProvider.createAccessToken(username);
+    private void issueTokens(HttpServletResponse response, Authentication authResult) {
+        log.debug("JwtAuthenticationFilter: 인증 성공");
+        UserDetailsImpl userDetails = (UserDetailsImpl) authResult.getPrincipal();
+        MDC.put(AccessLogFilter.USER_ID_KEY, String.valueOf(userDetails.getId()));
+        String username = userDetails.getUsername();
+
+        // 액세스 토큰은 함께 발급한 리프레시 토큰의 세션에 묶어, 기기별 로그아웃 시 이 기기의 토큰만 폐기되게 한다
         String refreshToken = jwtProvider.createRefreshToken(username);
+        String accessToken = jwtProvider.createAccessToken(userDetails, RefreshTokenStore.tokenId(refreshToken));
 
         response.addHeader(JwtProvider.AUTHORIZATION_HEADER, accessToken);
+        response.addHeader(JwtProvider.REFRESH_TOKEN_HEADER, refreshToken);
 
-        User user = ((UserDetailsImpl) authResult.getPrincipal()).getUser();
-        user.setRefreshToken(refreshToken);
-        userAdapter.save(user);
-
-        response.setStatus(HttpServletResponse.SC_OK);
+        // users 테이블은 건드리지 않고 리프레시 토큰 한 건만 INSERT
+        LocalDateTime expiresAt = LocalDateTime.now().plus(Duration.ofMillis(JwtProvider.REFRESH_TOKEN_TIME));
+        refreshTokenStore.save(userDetails.getId(), refreshToken, expiresAt);
 
-        ResponseEntity<HttpResponseDto<Void>> responseEntity = ResponseUtils.success(HttpStatus.OK);
-        writeResponseBody(response, responseEntity);
+        responseBodyWriter.writeSuccess(response);
     }
 
     @Override
     protected void unsuccessfulAuthentication(HttpServletRequest request, HttpServletResponse response, AuthenticationException failed) {
-        log.info("JwtAuthenticationFilter: 인증 실패");
+        log.debug("JwtAuthenticationFilter: 인증 실패");
         setErrorResponse(response, ResponseCodeEnum.LOGIN_FAILED);
     }
 
-    private void writeResponseBody(HttpServletResponse response, ResponseEntity<HttpResponseDto<Void>> responseEntity) throws IOException {
-        response.setStatus(responseEntity.getStatusCode().value());
-        response.setContentType("application/json");
-        try (ServletOutputStream outputStream = response.getOutputStream()) {
-            objectMapper.writeValue(outputStream, responseEntity.getBody());
-            outputStream.flush();
-        } catch (IOException e) {
-            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-            response.setContentType("application/json");
-            response.getWriter().write("{\"statusCode\": 500, \"message\": \"Internal Server Error\"}");
-        }
-    }
-
+    // 미리 직렬화된 응답 본문 기록
     private void setErrorResponse(HttpServletResponse response, ResponseCodeEnum responseCode) {
-        ResponseEntity<HttpResponseDto<Void>> responseEntity = ResponseUtils.error(responseCode);
-        try {
-            writeResponseBody(response, responseEntity);
-        } catch (IOException e) {
-            log.error("에러 응답 본문 쓰기 실패: {}", e.getMessage());
-        }
+        responseBodyWriter.writeError(response, responseCode);
     }
 }
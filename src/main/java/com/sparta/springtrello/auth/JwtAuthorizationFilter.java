@@ -1,22 +1,19 @@
 package com.sparta.springtrello.auth;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.sparta.springtrello.common.HttpResponseDto;
+import com.sparta.springtrello.common.AccessLogFilter;
+import com.sparta.springtrello.common.ResponseBodyWriter;
 import com.sparta.springtrello.common.ResponseCodeEnum;
-import com.sparta.springtrello.common.ResponseUtils;
-import com.sparta.springtrello.domain.user.entity.User;
-import com.sparta.springtrello.domain.user.repository.UserAdapter;
-import io.jsonwebtoken.Claims;
+import com.sparta.springtrello.common.tracing.TraceSpans;
+import com.sparta.springtrello.domain.user.repository.RefreshTokenStore;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
-import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.ResponseEntity;
+import org.slf4j.MDC;
 import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -27,26 +24,50 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @Slf4j(topic = "JWT 검증 및 인가")
 public class JwtAuthorizationFilter extends OncePerRequestFilter {
 
     private final JwtProvider jwtProvider;
     private final UserDetailsServiceImpl userDetailsService;
-    private final UserAdapter userAdapter;
-    private final ObjectMapper objectMapper;
-
-    private final List<String> anyMethodWhiteList = List.of(
-            "/", "/error", "/users/signup", "/users/login", "/users/kakao/authorize", "/users/kakao/callback"
+    private final ResponseBodyWriter responseBodyWriter;
+    private final TokenVersionTable tokenVersionTable;
+    private final SessionTable sessionTable;
+    private final RefreshTokenStore refreshTokenStore;
+    private final TraceSpans traceSpans;
+    private final boolean claimsPrincipalEnabled; // 토큰 클레임만으로 인증 객체를 만들지 여부
+
+    private final List<String> anyMethodWhiteList;
+    // 하위 경로 전체를 허용하는 경로
+    private final List<String> anyMethodWhiteListPrefixes = List.of(
+            "/files/", "/actuator/health/"
     );
 
     public JwtAuthorizationFilter(JwtProvider jwtProvider, UserDetailsServiceImpl userDetailsService,
-                                  UserAdapter userAdapter, ObjectMapper objectMapper) {
+                                  ResponseBodyWriter responseBodyWriter,
+                                  TokenVersionTable tokenVersionTable, SessionTable sessionTable,
+                                  RefreshTokenStore refreshTokenStore,
+                                  TraceSpans traceSpans, boolean claimsPrincipalEnabled, boolean metricsPortSeparate) {
         this.jwtProvider = jwtProvider;
         this.userDetailsService = userDetailsService;
-        this.userAdapter = userAdapter;
-        this.objectMapper = objectMapper;
+        this.responseBodyWriter = responseBodyWriter;
+        this.tokenVersionTable = tokenVersionTable;
+        this.sessionTable = sessionTable;
+        this.refreshTokenStore = refreshTokenStore;
+        this.traceSpans = traceSpans;
+        this.claimsPrincipalEnabled = claimsPrincipalEnabled;
+        List<String> whiteList = new ArrayList<>(List.of(
+                "/", "/error", "/users/signup", "/users/login", "/users/kakao/authorize", "/users/kakao/callback",
+                "/actuator/health"
+        ));
+        // 메트릭은 외부에 공개하지 않는 별도 관리 포트로 제공될 때만 토큰 없이 허용
+        if (metricsPortSeparate) {
+            whiteList.add("/actuator/prometheus");
+        }
+        this.anyMethodWhiteList = List.copyOf(whiteList);
     }
 
     @Override
@@ -54,70 +75,87 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
                                     @NonNull FilterChain filterChain) throws ServletException, IOException {
 
         String uri = req.getRequestURI();
-        log.info("요청된 URI: {}", uri);
+        log.debug("요청된 URI: {}", uri);
 
         // 화이트 리스트 확인
         if (isWhiteListed(uri)) {
-            log.info("인증이 필요 없는 요청: {}", uri);
+            log.debug("인증이 필요 없는 요청: {}", uri);
             filterChain.doFilter(req, res);
             return;
         }
 
+        // 토큰 검증과 사용자 확인 구간만 span 으로 기록, 이후 처리는 요청 span 에 포함된다
+        if (traceSpans.inSpan("auth.authorize", () -> authorize(req, res))) {
+            filterChain.doFilter(req, res);
+        }
+    }
+
+    // 인증에 성공하면 true, 실패하면 오류 응답을 쓰고 false
+    private boolean authorize(HttpServletRequest req, HttpServletResponse res) {
         try {
             String accessToken = jwtProvider.getAccessTokenFromHeader(req);
             if (!StringUtils.hasText(accessToken)) {
                 setErrorResponse(res);
-                return;
+                return false;
             }
 
-            Claims accessTokenClaims = jwtProvider.getUserInfoFromToken(accessToken);
-            String username = accessTokenClaims.getSubject();
-            User user = userAdapter.findByUsername(username);
+            // 서명 및 만료 검증은 한 번만 수행
+            TokenPrincipal principal = jwtProvider.verifyToken(accessToken);
 
-            if (user == null || user.getRefreshToken() == null) {
+            // 세션 확인은 SessionTable 을 거치므로 요청마다 DB 를 조회하지 않는다
+            // 세션 클레임이 없는 토큰은 로그아웃으로 폐기할 수 없으므로 거부
+            if (principal.getSessionId() == null) {
                 setErrorResponse(res);
-                return;
+                return false;
             }
 
-            boolean accessTokenValid = jwtProvider.validateToken(accessToken);
-            if (accessTokenValid) {
-                log.info("유효한 액세스 토큰 처리");
-                handleValidAccessToken(accessToken);
+            // 사용자 정보 클레임이 있는 토큰은 토큰 버전과 세션만 확인하고 사용자 조회 없이 인증 처리
+            if (claimsPrincipalEnabled && principal.hasUserClaims()) {
+                if (!tokenVersionTable.isCurrent(principal.getUserId(), principal.getTokenVersion())
+                        || !sessionTable.isActive(principal.getUserId(), principal.getSessionId())) {
+                    setErrorResponse(res);
+                    return false;
+                }
+                setAuthentication(new UserDetailsImpl(principal));
             } else {
-                setErrorResponse(res);
-                return;
+                // 사용자 조회는 요청당 한 번만, 캐시를 거쳐 수행
+                UserDetailsImpl userDetails = (UserDetailsImpl) userDetailsService.loadUserByUsername(principal.getUsername());
+
+                // 탈퇴했거나, 모든 기기에서 로그아웃하여 토큰 버전이 바뀌었거나, 이 기기의 세션이 로그아웃된 경우 거부
+                if (userDetails.isDeleted()
+                        || !Objects.equals(userDetails.getTokenVersion(), principal.getTokenVersion())
+                        || !sessionTable.isActive(userDetails.getId(), principal.getSessionId())) {
+                    setErrorResponse(res);
+                    return false;
+                }
+
+                log.debug("유효한 액세스 토큰 처리");
+                setAuthentication(userDetails.withSessionId(principal.getSessionId()));
             }
         } catch (ExpiredJwtException e) {
-            log.info("만료된 액세스 토큰 처리");
+            log.debug("만료된 액세스 토큰 처리");
             handleExpiredAccessToken(req, res);
-            return;
+            return false;
         } catch (JwtException | IllegalArgumentException | AuthenticationServiceException e) {
             setErrorResponse(res);
-            return;
+            return false;
         }
-
-        filterChain.doFilter(req, res);
-    }
-
-    // 유효한 Access Token 처리
-    private void handleValidAccessToken(String accessToken) {
-        Claims accessTokenClaims = jwtProvider.getUserInfoFromToken(accessToken);
-        String username = accessTokenClaims.getSubject();
-        setAuthentication(username);
+        return true;
     }
 
     // 액세스 토큰이 만료된 경우 리프레시 토큰을 통해 액세스 토큰을 재발급
     private void handleExpiredAccessToken(HttpServletRequest req, HttpServletResponse res) {
         String refreshToken = jwtProvider.getRefreshTokenFromHeader(req);
         if (StringUtils.hasText(refreshToken) && jwtProvider.validateToken(refreshToken)) {
-            Claims refreshTokenClaims = jwtProvider.getUserInfoFromToken(refreshToken);
-            String username = refreshTokenClaims.getSubject();
+            String username = jwtProvider.verifyToken(refreshToken).getUsername();
 
-            User user = userAdapter.findByUsername(username);
-            if (user != null && refreshToken.equals(user.getRefreshToken())) {
-                String newAccessToken = jwtProvider.createAccessToken(username);
+            UserDetailsImpl userDetails = (UserDetailsImpl) userDetailsService.loadUserByUsername(username);
+            // 재발급한 액세스 토큰은 리프레시 토큰과 같은 세션에 묶인다
+            String sessionId = RefreshTokenStore.tokenId(refreshToken);
+            if (!userDetails.isDeleted() && refreshTokenStore.isActive(userDetails.getId(), sessionId)) {
+                String newAccessToken = jwtProvider.createAccessToken(userDetails, sessionId);
                 res.addHeader(JwtProvider.AUTHORIZATION_HEADER, newAccessToken);
-                setAuthentication(username);
+                setAuthentication(userDetails.withSessionId(sessionId));
             } else {
                 setErrorResponse(res);
             }
@@ -128,43 +166,32 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
 
     // 인증 객체를 생성하여 SecurityContext에 설정하기 위한 메서드
     public void setAuthentication(String username) {
+        setAuthentication(userDetailsService.loadUserByUsername(username));
+    }
+
+    private void setAuthentication(UserDetails userDetails) {
+        if (userDetails instanceof UserDetailsImpl userDetailsImpl) {
+            MDC.put(AccessLogFilter.USER_ID_KEY, String.valueOf(userDetailsImpl.getId()));
+        }
         SecurityContext context = SecurityContextHolder.createEmptyContext();
-        Authentication authentication = createAuthentication(username);
+        Authentication authentication = createAuthentication(userDetails);
         context.setAuthentication(authentication);
         SecurityContextHolder.setContext(context);
     }
 
     // 인증 객체 생성 매서드
-    private Authentication createAuthentication(String username) {
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+    private Authentication createAuthentication(UserDetails userDetails) {
         return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
     }
 
-    private void writeResponseBody(HttpServletResponse res, ResponseEntity<HttpResponseDto<Void>> responseEntity) throws IOException {
-        res.setStatus(responseEntity.getStatusCode().value());
-        res.setContentType("application/json;charset=UTF-8");
-        try (ServletOutputStream outputStream = res.getOutputStream()) {
-            objectMapper.writeValue(outputStream, responseEntity.getBody());
-            outputStream.flush();
-        } catch (IOException e) {
-            log.error("응답 본문 쓰기 실패: {}", e.getMessage());
-            res.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-            res.setContentType("application/json");
-            res.getWriter().write("{\"statusCode\": 500, \"message\": \"Internal Server Error\"}");
-        }
-    }
-
+    // 미리 직렬화된 INVALID_TOKENS 응답 기록
     private void setErrorResponse(HttpServletResponse response) {
-        ResponseEntity<HttpResponseDto<Void>> responseEntity = ResponseUtils.error(ResponseCodeEnum.INVALID_TOKENS);
-        try {
-            writeResponseBody(response, responseEntity);
-        } catch (IOException e) {
-            log.error("에러 응답 본문 쓰기 실패: {}", e.getMessage());
-        }
+        responseBodyWriter.writeError(response, ResponseCodeEnum.INVALID_TOKENS);
     }
 
     // 화이트 리스트 검사 메서드
     private boolean isWhiteListed(String uri) {
-        return anyMethodWhiteList.stream().anyMatch(uri::equals);
+        return anyMethodWhiteList.stream().anyMatch(uri::equals)
+                || anyMethodWhiteListPrefixes.stream().anyMatch(uri::startsWith);
     }
 }
@@ -2,6 +2,8 @@ package com.sparta.springtrello.auth;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
@@ -9,7 +11,14 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
+import com.sparta.springtrello.common.ExpiringCache;
+import com.sparta.springtrello.domain.user.entity.User;
+import com.sparta.springtrello.domain.user.entity.UserRoleEnum;
+
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 import java.util.Date;
 
@@ -24,27 +33,81 @@ public class JwtProvider {
     // Token 식별자
     public static final String BEARER_PREFIX = "Bearer "; //  JWT 토큰의 유형을 지정하는 접두사
 
+    // 액세스 토큰에 담는 사용자 정보 클레임
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+    // 로그인한 기기의 세션 식별자, 함께 발급한 리프레시 토큰의 RefreshTokenStore.tokenId
+    public static final String SESSION_ID_CLAIM = "sid";
+
+    public static final long REFRESH_TOKEN_TIME = 14 * 24 * 60 * 60 * 1000L; // 리프레시 토큰의 유효 기간을 2주로 설정
+
     // 비밀키
     @Value("${jwt-secret-key}")
     private String secretKey; //  설정 파일에 저장된 Base64 인코딩된 비밀 키 ->  비밀키 객체를 만들기위한 비밀키 문자열
     private Key key; // JWT 서명 및 검증에 사용되는 비밀 키 init() 에서 secretKey를 사용하여 생성
+    private JwtParser jwtParser; // 서명 키가 설정된 파서, 요청마다 새로 만들지 않고 재사용
+
+    // 검증된 토큰 캐시 최대 크기
+    @Value("${jwt-verified-cache-size:10000}")
+    private int verifiedCacheSize;
+    // 토큰 다이제스트 -> 검증 결과, 토큰 만료 시각까지 유지
+    private ExpiringCache<String, TokenPrincipal> verifiedTokenCache;
 
     //  사용할 서명 알고리즘
     private final SignatureAlgorithm signatureAlgorithm = SignatureAlgorithm.HS256;
 
+    // 토큰 발급/검증 시간, 검증은 결과별로 나눠 집계
+    private final MeterRegistry meterRegistry;
+    private final Timer accessTokenCreateTimer;
+    private final Timer refreshTokenCreateTimer;
+    private final Timer verifyCachedTimer;
+    private final Timer verifyValidTimer;
+    private final Timer verifyExpiredTimer;
+    private final Timer verifyInvalidTimer;
+
+    public JwtProvider(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.accessTokenCreateTimer = createTimer(meterRegistry, "access");
+        this.refreshTokenCreateTimer = createTimer(meterRegistry, "refresh");
+        this.verifyCachedTimer = verifyTimer(meterRegistry, "cached");
+        this.verifyValidTimer = verifyTimer(meterRegistry, "valid");
+        this.verifyExpiredTimer = verifyTimer(meterRegistry, "expired");
+        this.verifyInvalidTimer = verifyTimer(meterRegistry, "invalid");
+    }
+
+    private static Timer createTimer(MeterRegistry meterRegistry, String type) {
+        return Timer.builder("jwt.create")
+                .description("JWT 발급 시간")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    private static Timer verifyTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("jwt.verify")
+                .description("JWT 검증 시간")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
     // 비밀키 객체 생성 메서드
     @PostConstruct // JwtUtil 클래스가 초기화될 때 자동으로 실행 시킨다
     public void initializeSecretKey()  {
         byte[] bytes = Base64.getDecoder().decode(secretKey);
         key = Keys.hmacShaKeyFor(bytes); //  HMAC SHA 알고리즘에 적합한 Key 객체를 생성
+        jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
+        verifiedTokenCache = new ExpiringCache<>(verifiedCacheSize);
     }
 
 
     // 토큰 생성 메서드 -> username, 만료시간, 발급시간을 담고, 비밀키와 서명알고리즘을 통해 토큰 생성
     private String createToken(String username, long expirationTime) {
+        return createToken(username, expirationTime, Jwts.builder());
+    }
+
+    private String createToken(String username, long expirationTime, JwtBuilder builder) {
         Date now = new Date();
-        JwtBuilder builder = Jwts.builder()
-                .setSubject(username)
+        builder.setSubject(username)
                 .setExpiration(new Date(now.getTime() + expirationTime))
                 .setIssuedAt(now)
                 .signWith(key, signatureAlgorithm);
@@ -53,16 +116,34 @@ public class JwtProvider {
     }
 
 
-    // ACCESS_TOKEN생성
-    public String createAccessToken(String username) {
+    // ACCESS_TOKEN생성 -> 요청마다 DB 를 조회하지 않도록 id, 권한, 토큰 버전을 함께 담는다
+    // sessionId 는 함께 발급한 리프레시 토큰의 tokenId, 기기별 로그아웃 시 이 세션의 액세스 토큰만 폐기된다
+    public String createAccessToken(User user, String sessionId) {
+        return createAccessToken(user.getId(), user.getUsername(), user.getUserRole(), user.getTokenVersion(), sessionId);
+    }
+
+    // 캐시된 사용자 스냅샷으로 재발급할 때 사용
+    public String createAccessToken(UserDetailsImpl userDetails, String sessionId) {
+        return createAccessToken(userDetails.getId(), userDetails.getUsername(), userDetails.getUserRole(),
+                userDetails.getTokenVersion(), sessionId);
+    }
+
+    private String createAccessToken(Long userId, String username, UserRoleEnum userRole, Integer tokenVersion,
+                                     String sessionId) {
         long ACCESS_TOKEN_TIME = 30 * 60 * 1000L*60 * 60 * 60; // 액세스 토큰의 유효 기간을 30분으로 설정
-        return createToken(username, ACCESS_TOKEN_TIME);
+        JwtBuilder builder = Jwts.builder()
+                .claim(USER_ID_CLAIM, userId)
+                .claim(TOKEN_VERSION_CLAIM, tokenVersion)
+                .claim(SESSION_ID_CLAIM, sessionId);
+        if (userRole != null) {
+            builder.claim(ROLE_CLAIM, userRole.name());
+        }
+        return accessTokenCreateTimer.record(() -> createToken(username, ACCESS_TOKEN_TIME, builder));
     }
 
     // REFRESH_TOKEN생성
     public String createRefreshToken(String username) {
-        long REFRESH_TOKEN_TIME = 14 * 24 * 60 * 60 * 1000L; // 리프레시 토큰의 유효 기간을 2주로 설정
-        return createToken(username, REFRESH_TOKEN_TIME);
+        return refreshTokenCreateTimer.record(() -> createToken(username, REFRESH_TOKEN_TIME));
     }
 
 
@@ -86,22 +167,63 @@ public class JwtProvider {
 
     // JWT 토큰에서 사용자 정보 가져오기
     public Claims getUserInfoFromToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
+
+    // 토큰을 한 번만 파싱하여 검증하고 사용자 정보 반환
+    // 같은 토큰은 만료 시각까지 캐시된 결과를 사용하여 서명 검증을 건너뛴다
+    // 검증 실패 시 파서가 던지는 JwtException(만료 시 ExpiredJwtException)을 그대로 전달
+    public TokenPrincipal verifyToken(String token) {
+        if (!StringUtils.hasText(token)) {
+            throw new IllegalArgumentException("JWT 토큰이 비어 있습니다.");
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String digest = digest(token);
+        TokenPrincipal cached = verifiedTokenCache.get(digest);
+        if (cached != null) {
+            sample.stop(verifyCachedTimer);
+            return cached;
+        }
+
+        TokenPrincipal principal;
+        try {
+            principal = TokenPrincipal.from(getUserInfoFromToken(token));
+        } catch (ExpiredJwtException e) {
+            sample.stop(verifyExpiredTimer);
+            throw e;
+        } catch (JwtException | IllegalArgumentException e) {
+            sample.stop(verifyInvalidTimer);
+            throw e;
+        }
+        verifiedTokenCache.put(digest, principal, principal.getExpiresAtMillis());
+        sample.stop(verifyValidTimer);
+        return principal;
+    }
+
+    // 토큰 원문 대신 SHA-256 다이제스트를 캐시 키로 사용
+    private String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = messageDigest.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
     }
 
     // 토큰 검증 메서드
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+            verifyToken(token);
             return true;
         } catch (SecurityException | MalformedJwtException e) {
-            log.error("유효하지 않는 JWT 서명 또는 잘못된 토큰 입니다.");
+            log.debug("유효하지 않는 JWT 서명 또는 잘못된 토큰 입니다.");
         } catch (ExpiredJwtException e) {
-            log.error("만료된 JWT token 입니다.");
+            log.debug("만료된 JWT token 입니다.");
         } catch (UnsupportedJwtException e) {
-            log.error("지원되지 않는 JWT 토큰 입니다.");
+            log.debug("지원되지 않는 JWT 토큰 입니다.");
         } catch (IllegalArgumentException e) {
-            log.error("잘못된 JWT 토큰 입니다.");
+            log.debug("잘못된 JWT 토큰 입니다.");
         }
         return false;
     }
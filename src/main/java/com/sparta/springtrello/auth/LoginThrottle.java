@@ -0,0 +1,33 @@
+package com.sparta.springtrello.auth;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// 로그인 시도를 클라이언트 IP 별, 사용자명 별 토큰 버킷으로 제한
+// 비밀번호 해시 전에 확인하여 대량 로그인 시도가 CPU 를 모두 사용하지 못하게 한다
+@Component
+public class LoginThrottle {
+
+    private final boolean enabled;
+    private final TokenBucketTable ipBuckets;
+    private final TokenBucketTable usernameBuckets;
+
+    public LoginThrottle(@Value("${login-throttle.enabled:true}") boolean enabled,
+                         @Value("${login-throttle.slots:65536}") int slots,
+                         @Value("${login-throttle.ip.capacity:50}") int ipCapacity,
+                         @Value("${login-throttle.ip.refill-per-minute:60}") double ipRefillPerMinute,
+                         @Value("${login-throttle.username.capacity:10}") int usernameCapacity,
+                         @Value("${login-throttle.username.refill-per-minute:10}") double usernameRefillPerMinute) {
+        this.enabled = enabled;
+        this.ipBuckets = new TokenBucketTable(slots, ipCapacity, ipRefillPerMinute);
+        this.usernameBuckets = new TokenBucketTable(slots, usernameCapacity, usernameRefillPerMinute);
+    }
+
+    public boolean tryAcquireForIp(String clientIp) {
+        return !enabled || clientIp == null || ipBuckets.tryAcquire(clientIp);
+    }
+
+    public boolean tryAcquireForUsername(String username) {
+        return !enabled || username == null || usernameBuckets.tryAcquire(username);
+    }
+}
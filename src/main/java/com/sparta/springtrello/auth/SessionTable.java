@@ -0,0 +1,48 @@
+package com.sparta.springtrello.auth;
+
+import com.sparta.springtrello.common.ExpiringCache;
+import com.sparta.springtrello.domain.user.repository.RefreshTokenStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// 세션(액세스 토큰의 sid 클레임) -> 활성 여부 캐시
+// 요청마다 primary 에서 리프레시 토큰을 조회하지 않도록 ttl 동안은 DB 조회 없이 확인한다
+// sid 는 uid 와 함께 서명되어 있으므로 sid 만으로 키를 삼는다
+// 기기별 로그아웃은 이 인스턴스에만 즉시 반영되고, 다른 인스턴스에는 최대 ttl 만큼 늦게 반영된다
+// 모든 기기 로그아웃과 탈퇴는 토큰 버전으로 거부되므로 사용자별로 비울 필요가 없다
+@Component
+public class SessionTable {
+    private final RefreshTokenStore refreshTokenStore;
+    private final ExpiringCache<String, Boolean> sessions;
+    private final long ttlMillis;
+
+    public SessionTable(RefreshTokenStore refreshTokenStore,
+                        @Value("${session-cache.max-size:100000}") int maxSize,
+                        @Value("${session-cache.ttl-seconds:10}") long ttlSeconds) {
+        this.refreshTokenStore = refreshTokenStore;
+        this.sessions = new ExpiringCache<>(maxSize);
+        this.ttlMillis = ttlSeconds * 1000L;
+    }
+
+    // 로그아웃되지 않았고 만료되지 않은 세션인지 확인, 같은 세션을 동시에 조회하면 한 번만 읽는다
+    public boolean isActive(Long userId, String sessionId) {
+        Boolean active = sessions.getOrLoad(sessionId, id -> refreshTokenStore.isActive(userId, id), ttlMillis);
+        return Boolean.TRUE.equals(active);
+    }
+
+    // 세션이 삭제되면 즉시 제거하고, 트랜잭션 중이면 커밋 이후에 한 번 더 제거
+    // 커밋 전에 다른 요청이 삭제 전의 활성 상태를 다시 캐시에 올리는 경우를 막기 위함
+    public void revoke(String sessionId) {
+        sessions.invalidate(sessionId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    sessions.invalidate(sessionId);
+                }
+            });
+        }
+    }
+}
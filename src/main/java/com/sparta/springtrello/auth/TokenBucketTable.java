@@ -0,0 +1,125 @@
+package com.sparta.springtrello.auth;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+// 고정 크기 배열에 키별 토큰 버킷을 저장하는 lock-free 테이블
+// 키의 해시로 슬롯을 고르고 CAS 로 상태를 갱신하므로 락이 없고 메모리 사용량이 슬롯 수로 고정된다
+// 이웃한 두 슬롯을 한 묶음으로 보고 지문이 같은 슬롯을 찾는다 (2-way set associative)
+// 두 슬롯이 모두 다른 키로 차 있으면 오래 갱신되지 않은 슬롯을 빼앗되 남은 토큰은 그대로 이어받는다
+// 밀려난 키의 한도가 새 키에 넘어갈 뿐, 키를 바꿔 가며 가득 찬 버킷을 새로 얻을 수는 없다
+//
+// 슬롯 상태(long) 구성: [지문 12bit][토큰 x1000 20bit][마지막 충전 시각 10ms 단위 32bit], 0 은 빈 슬롯
+// 충전 시각은 토큰으로 바뀐 tick 만큼만 앞당겨, 자주 호출해도 1 tick 미만의 충전분이 버려지지 않게 한다
+public class TokenBucketTable {
+
+    private static final long TOKEN_SCALE = 1000L;
+    private static final long TICK_MILLIS = 10L;
+    private static final long MAX_SCALED_TOKENS = (1L << 20) - 1;
+    private static final long TIME_MASK = 0xFFFFFFFFL;
+
+    private final AtomicLongArray slots;
+    private final int mask;
+    private final int seed;
+    private final LongSupplier clock;
+    private final long epochMillis;
+
+    private final long capacity; // 토큰 x1000
+    private final double refillPerTick; // 10ms 마다 채워지는 토큰 x1000
+
+    public TokenBucketTable(int slotCount, int capacity, double refillPerMinute) {
+        this(slotCount, capacity, refillPerMinute, System::currentTimeMillis, ThreadLocalRandom.current().nextInt());
+    }
+
+    // 테스트에서 시간과 해시 시드를 고정할 때 사용
+    TokenBucketTable(int slotCount, int capacity, double refillPerMinute, LongSupplier clock, int seed) {
+        if (Integer.bitCount(slotCount) != 1 || slotCount < 2) {
+            throw new IllegalArgumentException("slotCount must be a power of two and at least 2");
+        }
+        if (capacity < 1 || capacity * TOKEN_SCALE > MAX_SCALED_TOKENS) {
+            throw new IllegalArgumentException("capacity must be between 1 and " + MAX_SCALED_TOKENS / TOKEN_SCALE);
+        }
+        this.slots = new AtomicLongArray(slotCount);
+        this.mask = slotCount - 1;
+        this.seed = seed;
+        this.clock = clock;
+        this.epochMillis = clock.getAsLong();
+        this.capacity = capacity * TOKEN_SCALE;
+        this.refillPerTick = refillPerMinute * TOKEN_SCALE / (60_000.0 / TICK_MILLIS);
+    }
+
+    // 토큰 하나를 소비할 수 있으면 true, 버킷이 비어 있으면 false
+    public boolean tryAcquire(String key) {
+        int hash = mix(key.hashCode() ^ seed);
+        int first = hash & mask & ~1;
+        long fingerprint = ((hash >>> 20) & 0xFFF) | 1; // 0 이 되지 않도록 최하위 비트 고정
+        long now = ((clock.getAsLong() - epochMillis) / TICK_MILLIS) & TIME_MASK;
+
+        while (true) {
+            long a = slots.get(first);
+            long b = slots.get(first + 1);
+            int index;
+            long current;
+            if (a != 0 && (a >>> 52) == fingerprint) {
+                index = first;
+                current = a;
+            } else if (b != 0 && (b >>> 52) == fingerprint) {
+                index = first + 1;
+                current = b;
+            } else if (a == 0 || b == 0) {
+                index = a == 0 ? first : first + 1;
+                current = 0;
+            } else {
+                // 오래 갱신되지 않은 슬롯을 빼앗고 그 슬롯의 토큰을 이어받는다
+                index = elapsedTicks(a, now) >= elapsedTicks(b, now) ? first : first + 1;
+                current = index == first ? a : b;
+            }
+
+            long tokens;
+            long refilledAt;
+            if (current == 0) {
+                tokens = capacity;
+                refilledAt = now;
+            } else {
+                long elapsed = elapsedTicks(current, now);
+                long stored = (current >>> 32) & MAX_SCALED_TOKENS;
+                long refill = (long) (elapsed * refillPerTick);
+                if (stored + refill >= capacity) {
+                    // 가득 찬 뒤의 충전분은 버린다
+                    tokens = capacity;
+                    refilledAt = now;
+                } else {
+                    tokens = stored + refill;
+                    // 토큰으로 바뀐 만큼의 tick 만 앞당기고 나머지는 다음 호출로 넘긴다
+                    long usedTicks = refill == 0 ? 0 : Math.min(elapsed, (long) Math.ceil(refill / refillPerTick));
+                    refilledAt = ((current & TIME_MASK) + usedTicks) & TIME_MASK;
+                }
+            }
+
+            if (tokens < TOKEN_SCALE) {
+                return false;
+            }
+
+            long next = (fingerprint << 52) | ((tokens - TOKEN_SCALE) << 32) | refilledAt;
+            if (slots.compareAndSet(index, current, next)) {
+                return true;
+            }
+        }
+    }
+
+    // 시각은 32bit 에서 한 바퀴 돌 수 있으므로 부호 없는 차이로 계산
+    private static long elapsedTicks(long state, long now) {
+        return (now - (state & TIME_MASK)) & TIME_MASK;
+    }
+
+    // 해시 비트를 고르게 섞기 위한 murmur3 finalizer
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,45 @@
+package com.sparta.springtrello.auth;
+
+import com.sparta.springtrello.domain.user.entity.UserRoleEnum;
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+
+// 서명 검증이 끝난 JWT 에서 꺼낸 사용자 정보
+// 사용자 정보 클레임이 없는 이전 형식의 토큰은 userId, userRole, tokenVersion 이 null
+// 세션 클레임이 없는 토큰(세션 도입 이전 발급, 리프레시 토큰)은 sessionId 가 null
+@Getter
+public class TokenPrincipal {
+    private final String username;
+    private final long expiresAtMillis;
+    private final Long userId;
+    private final UserRoleEnum userRole;
+    private final Integer tokenVersion;
+    private final String sessionId;
+
+    public TokenPrincipal(String username, long expiresAtMillis, Long userId, UserRoleEnum userRole, Integer tokenVersion,
+                          String sessionId) {
+        this.username = username;
+        this.expiresAtMillis = expiresAtMillis;
+        this.userId = userId;
+        this.userRole = userRole;
+        this.tokenVersion = tokenVersion;
+        this.sessionId = sessionId;
+    }
+
+    public static TokenPrincipal from(Claims claims) {
+        String role = claims.get(JwtProvider.ROLE_CLAIM, String.class);
+        return new TokenPrincipal(
+                claims.getSubject(),
+                claims.getExpiration().getTime(),
+                claims.get(JwtProvider.USER_ID_CLAIM, Long.class),
+                role == null ? null : UserRoleEnum.valueOf(role),
+                claims.get(JwtProvider.TOKEN_VERSION_CLAIM, Integer.class),
+                claims.get(JwtProvider.SESSION_ID_CLAIM, String.class)
+        );
+    }
+
+    // DB 조회 없이 인증 객체를 만들 수 있는 토큰인지 확인
+    public boolean hasUserClaims() {
+        return userId != null && tokenVersion != null;
+    }
+}
@@ -0,0 +1,56 @@
+package com.sparta.springtrello.auth;
+
+import com.sparta.springtrello.common.ExpiringCache;
+import com.sparta.springtrello.domain.user.repository.UserAdapter;
+import com.sparta.springtrello.exception.CustomException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// 사용자별 현재 토큰 버전 캐시
+// 처음 조회하는 사용자만 DB 에서 버전 컬럼 하나를 읽어오고, ttl 동안은 DB 조회 없이 비교한다
+// 버전 갱신은 이 인스턴스에만 즉시 반영되고, 다른 인스턴스에는 최대 ttl 만큼 늦게 반영된다
+// 그 사이 다른 인스턴스에서는 폐기된 액세스 토큰이 통과할 수 있으므로 ttl 은 액세스 토큰 유효 기간보다 훨씬 짧게 둔다
+@Slf4j(topic = "토큰 버전")
+@Component
+public class TokenVersionTable {
+    private final UserAdapter userAdapter;
+    private final ExpiringCache<Long, Integer> versions;
+    private final long ttlMillis;
+
+    public TokenVersionTable(UserAdapter userAdapter,
+                             @Value("${token-version-cache.max-size:100000}") int maxSize,
+                             @Value("${token-version-cache.ttl-seconds:10}") long ttlSeconds) {
+        this.userAdapter = userAdapter;
+        this.versions = new ExpiringCache<>(maxSize);
+        this.ttlMillis = ttlSeconds * 1000L;
+    }
+
+    // 토큰에 담긴 버전이 사용자의 현재 버전과 같은지 확인
+    // DB 조회는 캐시의 락 밖에서 하고, 같은 사용자를 동시에 조회하면 한 번만 읽는다
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        try {
+            Integer current = versions.getOrLoad(userId, userAdapter::findTokenVersionById, ttlMillis);
+            return current != null && current == tokenVersion;
+        } catch (CustomException e) {
+            return false;
+        }
+    }
+
+    // 사용자의 토큰 버전이 증가했을 때 호출, 트랜잭션이 롤백되면 다음 조회 시 DB 에서 다시 읽는다
+    public void update(Long userId, int tokenVersion) {
+        versions.put(userId, tokenVersion, System.currentTimeMillis() + ttlMillis);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        versions.invalidate(userId);
+                    }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.sparta.springtrello.auth;
+
+import com.sparta.springtrello.common.ExpiringCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Function;
+
+// username -> UserDetailsImpl 캐시, 크기와 TTL 로 제한
+@Component
+public class UserDetailsCache {
+
+    private final ExpiringCache<String, UserDetailsImpl> cache;
+    private final long ttlMillis;
+
+    public UserDetailsCache(@Value("${user-details-cache.max-size:10000}") int maxSize,
+                            @Value("${user-details-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.cache = new ExpiringCache<>(maxSize);
+        this.ttlMillis = ttlSeconds * 1000L;
+    }
+
+    public UserDetailsImpl get(String username) {
+        return cache.get(username);
+    }
+
+    public void put(String username, UserDetailsImpl userDetails) {
+        cache.put(username, userDetails, System.currentTimeMillis() + ttlMillis);
+    }
+
+    // 없으면 loader 로 읽어 저장, 같은 사용자를 동시에 요청하면 한 번만 읽는다
+    public UserDetailsImpl getOrLoad(String username, Function<String, UserDetailsImpl> loader) {
+        return cache.getOrLoad(username, loader, ttlMillis);
+    }
+
+    // 사용자 정보가 바뀌면 즉시 제거하고, 트랜잭션 중이면 커밋 이후에 한 번 더 제거
+    // 커밋 전에 다른 요청이 이전 값을 다시 캐시에 올리는 경우를 막기 위함
+    public void evict(String username) {
+        cache.invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(username);
+                }
+            });
+        }
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    public long getEvictionCount() {
+        return cache.getEvictionCount();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+}
@@ -3,6 +3,8 @@ package com.sparta.springtrello.auth;
 
 
 import com.sparta.springtrello.domain.user.entity.User;
+import com.sparta.springtrello.domain.user.entity.UserRoleEnum;
+import com.sparta.springtrello.domain.user.entity.UserStatusEnum;
 import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -11,13 +13,53 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.util.ArrayList;
 import java.util.Collection;
 
+// 인증된 사용자 정보의 불변 스냅샷, 여러 요청이 함께 쓰는 UserDetailsCache 에 저장된다
+// JPA 엔티티와 비밀번호 해시는 담지 않는다
 @Getter
 public class UserDetailsImpl implements UserDetails {
 
-    private final User user;
+    private final Long id;
+    private final String username;
+    private final UserRoleEnum userRole;
+    private final UserStatusEnum userStatus; // 토큰 클레임으로 생성된 경우 null
+    private final Integer tokenVersion;
+    private final String sessionId; // 인증에 사용한 액세스 토큰의 세션, 캐시에 저장된 스냅샷은 null
 
     public UserDetailsImpl(User user) {
-        this.user = user;
+        this.id = user.getId();
+        this.username = user.getUsername();
+        this.userRole = user.getUserRole();
+        this.userStatus = user.getUserStatus();
+        this.tokenVersion = user.getTokenVersion();
+        this.sessionId = null;
+    }
+
+    // 캐시된 스냅샷에 요청의 세션을 붙인 사본
+    private UserDetailsImpl(UserDetailsImpl source, String sessionId) {
+        this.id = source.id;
+        this.username = source.username;
+        this.userRole = source.userRole;
+        this.userStatus = source.userStatus;
+        this.tokenVersion = source.tokenVersion;
+        this.sessionId = sessionId;
+    }
+
+    // DB 조회 없이 토큰 클레임만으로 생성
+    public UserDetailsImpl(TokenPrincipal principal) {
+        this.id = principal.getUserId();
+        this.username = principal.getUsername();
+        this.userRole = principal.getUserRole();
+        this.userStatus = null;
+        this.tokenVersion = principal.getTokenVersion();
+        this.sessionId = principal.getSessionId();
+    }
+
+    public UserDetailsImpl withSessionId(String sessionId) {
+        return new UserDetailsImpl(this, sessionId);
+    }
+
+    public boolean isDeleted() {
+        return userStatus == UserStatusEnum.STATUS_DELETED;
     }
 
     @Override
@@ -31,14 +73,15 @@ public class UserDetailsImpl implements UserDetails {
         return authorities;
     }
 
+    // 비밀번호 검증은 JwtAuthenticationFilter 에서 엔티티로 한 번만 하므로 보관하지 않는다
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return null;
     }
 
     @Override
     public String getUsername() {
-        return user.getUsername();
+        return username;
     }
 
 
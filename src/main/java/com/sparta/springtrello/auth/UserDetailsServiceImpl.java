@@ -1,8 +1,6 @@
 package com.sparta.springtrello.auth;
 
 
-
-import com.sparta.springtrello.domain.user.entity.User;
 import com.sparta.springtrello.domain.user.repository.UserAdapter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,10 +12,11 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class UserDetailsServiceImpl implements UserDetailsService {
     private final UserAdapter userAdapter;
+    private final UserDetailsCache userDetailsCache;
 
+    // 캐시에 없는 사용자를 동시에 요청하면 한 번만 조회한다
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userAdapter.findByUsername(username);
-        return new UserDetailsImpl(user);
+        return userDetailsCache.getOrLoad(username, name -> new UserDetailsImpl(userAdapter.findByUsername(name)));
     }
-}
\ No newline at end of file
+}
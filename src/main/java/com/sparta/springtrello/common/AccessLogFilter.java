@@ -0,0 +1,117 @@
+package com.sparta.springtrello.common;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 요청 단위 접근 로그, ACCESS_LOG 로거는 logback-spring.xml 에서 비동기 appender 로 기록된다
+// 실패 응답(4xx, 5xx)은 항상, 성공 응답은 설정된 비율만큼 표본으로 기록
+@Slf4j(topic = "ACCESS_LOG")
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    // 인증 필터에서 사용자 id 를 남길 때 사용하는 MDC 키
+    public static final String USER_ID_KEY = "userId";
+    public static final String OUTCOME_KEY = "outcome";
+    public static final String LATENCY_KEY = "latencyMs";
+    // 요청 span 을 열 때 Micrometer Tracing 이 넣는 MDC 키
+    public static final String TRACE_ID_KEY = "traceId";
+
+    private final double successSampleRate;
+
+    public AccessLogFilter(double successSampleRate) {
+        this.successSampleRate = successSampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        // 비동기 요청은 다른 스레드에서 기록하므로 미리 읽어 둔다
+        String traceId = MDC.get(TRACE_ID_KEY);
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            try {
+                // 비동기 요청은 응답이 완료되는 시점에 기록
+                if (!failed && request.isAsyncStarted()) {
+                    request.getAsyncContext().addListener(new AccessLogAsyncListener(request, response, start, traceId));
+                } else {
+                    writeAccessLog(request, response, start, failed, traceId);
+                }
+            } finally {
+                MDC.remove(USER_ID_KEY);
+                MDC.remove(OUTCOME_KEY);
+                MDC.remove(LATENCY_KEY);
+            }
+        }
+    }
+
+    private void writeAccessLog(HttpServletRequest request, HttpServletResponse response, long start, boolean failed,
+                                String traceId) {
+        int status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+        boolean success = status < 400;
+        if (!log.isInfoEnabled() || (success && !sampled())) {
+            return;
+        }
+
+        long latencyMillis = (System.nanoTime() - start) / 1_000_000L;
+        String outcome = success ? "success" : "failure";
+        MDC.put(OUTCOME_KEY, outcome);
+        MDC.put(LATENCY_KEY, String.valueOf(latencyMillis));
+        log.info("method={} uri={} status={} outcome={} latencyMs={} userId={} traceId={}",
+                request.getMethod(), request.getRequestURI(), status, outcome, latencyMillis, MDC.get(USER_ID_KEY), traceId);
+    }
+
+    private class AccessLogAsyncListener implements AsyncListener {
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final long start;
+        private final String traceId;
+
+        AccessLogAsyncListener(HttpServletRequest request, HttpServletResponse response, long start, String traceId) {
+            this.request = request;
+            this.response = response;
+            this.start = start;
+            this.traceId = traceId;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            try {
+                writeAccessLog(request, response, start, false, traceId);
+            } finally {
+                MDC.remove(OUTCOME_KEY);
+                MDC.remove(LATENCY_KEY);
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    private boolean sampled() {
+        return successSampleRate >= 1.0
+                || (successSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < successSampleRate);
+    }
+}
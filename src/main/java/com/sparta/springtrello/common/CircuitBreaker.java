@@ -0,0 +1,142 @@
+package com.sparta.springtrello.common;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// 연속 실패 횟수 기반 서킷 브레이커
+// CLOSED: 모두 통과, 연속 실패가 기준에 도달하면 OPEN
+// OPEN: 대기 시간 동안 즉시 거절, 대기 시간이 지나면 HALF_OPEN
+// HALF_OPEN: 정해진 수의 시험 호출만 통과, 모두 성공하면 CLOSED / 하나라도 실패하면 다시 OPEN
+@Slf4j(topic = "Circuit Breaker")
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openDurationMillis;
+    private final int halfOpenMaxCalls;
+    private final LongSupplier clock;
+
+    private volatile State state = State.CLOSED;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    // 아래 필드는 synchronized 블록 안에서만 변경
+    private long openedAt;
+    private int halfOpenCalls;
+    private int halfOpenSuccesses;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder opened = new LongAdder();
+
+    public CircuitBreaker(String name, int failureThreshold, long openDurationMillis, int halfOpenMaxCalls) {
+        this(name, failureThreshold, openDurationMillis, halfOpenMaxCalls, System::currentTimeMillis);
+    }
+
+    // 대기 시간 판단에 쓸 시계(밀리초)를 주입, 다른 패키지의 클라이언트 테스트에서도 쓰므로 public
+    public CircuitBreaker(String name, int failureThreshold, long openDurationMillis, int halfOpenMaxCalls,
+                          LongSupplier clock) {
+        if (failureThreshold <= 0 || halfOpenMaxCalls <= 0) {
+            throw new IllegalArgumentException("failureThreshold and halfOpenMaxCalls must be positive");
+        }
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDurationMillis = openDurationMillis;
+        this.halfOpenMaxCalls = halfOpenMaxCalls;
+        this.clock = clock;
+    }
+
+    // 호출 가능 여부, false 면 호출하지 않고 바로 실패 처리해야 한다
+    public boolean tryAcquirePermission() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            if (state == State.OPEN) {
+                if (clock.getAsLong() - openedAt < openDurationMillis) {
+                    rejected.increment();
+                    return false;
+                }
+                transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (halfOpenCalls >= halfOpenMaxCalls) {
+                    rejected.increment();
+                    return false;
+                }
+                halfOpenCalls++;
+            }
+            return true;
+        }
+    }
+
+    public void onSuccess() {
+        State current = state;
+        if (current == State.CLOSED) {
+            // 실패가 없었으면 쓰기 없이 통과
+            if (consecutiveFailures.get() != 0) {
+                consecutiveFailures.set(0);
+            }
+            return;
+        }
+        if (current == State.HALF_OPEN) {
+            synchronized (this) {
+                if (state == State.HALF_OPEN && ++halfOpenSuccesses >= halfOpenMaxCalls) {
+                    transitionTo(State.CLOSED);
+                }
+            }
+        }
+        // OPEN 상태에서 끝난 이전 호출의 결과는 무시
+    }
+
+    public void onFailure() {
+        State current = state;
+        if (current == State.CLOSED) {
+            if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+                synchronized (this) {
+                    if (state == State.CLOSED) {
+                        transitionTo(State.OPEN);
+                    }
+                }
+            }
+            return;
+        }
+        if (current == State.HALF_OPEN) {
+            synchronized (this) {
+                if (state == State.HALF_OPEN) {
+                    transitionTo(State.OPEN);
+                }
+            }
+        }
+    }
+
+    private void transitionTo(State next) {
+        log.warn("서킷 브레이커 상태 변경: {} {} -> {}", name, state, next);
+        switch (next) {
+            case OPEN -> {
+                openedAt = clock.getAsLong();
+                opened.increment();
+            }
+            case HALF_OPEN -> {
+                halfOpenCalls = 0;
+                halfOpenSuccesses = 0;
+            }
+            case CLOSED -> consecutiveFailures.set(0);
+        }
+        state = next;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getOpenedCount() {
+        return opened.sum();
+    }
+}
@@ -0,0 +1,221 @@
+package com.sparta.springtrello.common;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+// 최대 크기와 항목별 만료 시각을 가지는 인메모리 캐시
+// 가득 차면 만료된 항목과 가장 오래 사용하지 않은 항목을 최대 크기의 1/10 만큼 한 번에 비운다
+// 전체를 훑는 정리는 비운 만큼 새로 채워진 뒤에만 다시 일어나므로 put 한 번당 비용은 상수에 가깝다
+public class ExpiringCache<K, V> {
+
+    private final int maxSize;
+    private final int evictionBatch;
+    private final LongSupplier clock; // 현재 시각(밀리초), 만료 시각과 같은 기준
+    private final Object evictionLock = new Object();
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    // 키 -> 진행 중인 로드, 같은 키를 동시에 요청하면 한 번만 읽는다
+    private final ConcurrentHashMap<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+
+    public ExpiringCache(int maxSize) {
+        this(maxSize, System::currentTimeMillis);
+    }
+
+    // 테스트에서 시간을 직접 움직일 때 사용
+    ExpiringCache(int maxSize, LongSupplier clock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+        this.evictionBatch = Math.max(1, maxSize / 10);
+        this.clock = clock;
+    }
+
+    // 만료되지 않은 값을 반환하고, 없거나 만료된 경우 null 반환
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.isExpired(clock.getAsLong())) {
+            if (entries.remove(key, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        entry.touch();
+        hits.increment();
+        return entry.value;
+    }
+
+    // expiresAtMillis 까지 유효한 값 저장
+    public void put(K key, V value, long expiresAtMillis) {
+        store(key, value, expiresAtMillis);
+    }
+
+    private Entry<V> store(K key, V value, long expiresAtMillis) {
+        if (expiresAtMillis <= clock.getAsLong()) {
+            return null;
+        }
+        if (entries.size() >= maxSize && !entries.containsKey(key)) {
+            makeRoom();
+        }
+        Entry<V> entry = new Entry<>(value, expiresAtMillis);
+        // 다른 스레드가 공간을 비우는 사이 잠깐 maxSize 를 넘을 수 있다
+        entries.put(key, entry);
+        return entry;
+    }
+
+    // 값이 없으면 loader 로 읽어 ttlMillis 동안 저장, null 은 저장하지 않는다
+    // 같은 키를 동시에 요청하면 먼저 들어온 요청만 읽고 나머지는 그 결과를 기다린다
+    public V getOrLoad(K key, Function<? super K, ? extends V> loader, long ttlMillis) {
+        V cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = loading.putIfAbsent(key, load);
+        if (inFlight != null) {
+            try {
+                return inFlight.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        try {
+            loads.increment();
+            V value = loader.apply(key);
+            if (value != null) {
+                Entry<V> entry = store(key, value, clock.getAsLong() + ttlMillis);
+                // 읽는 도중 invalidate 됐으면 읽은 값이 이전 값일 수 있으므로 요청한 쪽에만 반환
+                if (!loading.remove(key, load) && entry != null) {
+                    entries.remove(key, entry);
+                }
+            } else {
+                loading.remove(key, load);
+            }
+            load.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            loading.remove(key, load);
+            load.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // 진행 중인 로드를 먼저 끊어야 그 결과가 invalidate 이후에 저장되지 않는다
+    public void invalidate(K key) {
+        loading.remove(key);
+        if (entries.remove(key) != null) {
+            evictions.increment();
+        }
+    }
+
+    public void invalidateAll() {
+        loading.clear();
+        int size = entries.size();
+        entries.clear();
+        evictions.add(size);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    // getOrLoad 에서 실제로 loader 를 호출한 횟수, 동시 요청이 합쳐지면 미스 수보다 작다
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    // 조회한 적이 없으면 0
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    // 만료된 항목을 먼저 제거하고, 남은 항목 중 가장 오래 사용하지 않은 것부터 evictionBatch 만큼 여유가 생기도록 제거
+    // 동시에 여러 스레드가 들어오면 한 스레드만 정리하고 나머지는 그 결과를 본다
+    private void makeRoom() {
+        synchronized (evictionLock) {
+            if (entries.size() < maxSize) {
+                return;
+            }
+            long now = clock.getAsLong();
+            List<Map.Entry<K, Entry<V>>> live = new ArrayList<>(entries.size());
+            for (Map.Entry<K, Entry<V>> candidate : entries.entrySet()) {
+                if (candidate.getValue().isExpired(now)) {
+                    if (entries.remove(candidate.getKey(), candidate.getValue())) {
+                        evictions.increment();
+                    }
+                } else {
+                    live.add(candidate);
+                }
+            }
+
+            int excess = entries.size() - (maxSize - evictionBatch);
+            if (excess <= 0) {
+                return;
+            }
+            live.sort(Comparator.comparingLong(candidate -> candidate.getValue().lastAccessNanos));
+            for (int i = 0; i < live.size() && excess > 0; i++) {
+                Map.Entry<K, Entry<V>> victim = live.get(i);
+                if (entries.remove(victim.getKey(), victim.getValue())) {
+                    evictions.increment();
+                    excess--;
+                }
+            }
+        }
+    }
+
+    // 값 대신 인스턴스로 비교하므로 record 가 아닌 클래스
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAtMillis;
+        private volatile long lastAccessNanos = System.nanoTime();
+
+        private Entry(V value, long expiresAtMillis) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        boolean isExpired(long now) {
+            return expiresAtMillis <= now;
+        }
+
+        void touch() {
+            lastAccessNanos = System.nanoTime();
+        }
+    }
+}
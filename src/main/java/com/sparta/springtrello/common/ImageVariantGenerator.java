@@ -0,0 +1,173 @@
+package com.sparta.springtrello.common;
+
+import com.sparta.springtrello.exception.custom.common.UploadException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+// 업로드된 이미지를 한 번만 디코딩하여 정사각형 아바타 크기별 JPEG 으로 변환
+@Component
+public class ImageVariantGenerator {
+
+    public static final String CONTENT_TYPE = "image/jpeg";
+    public static final String EXTENSION = "jpg";
+
+    public record Variant(int size, byte[] content) {
+    }
+
+    private final int[] sizes; // 큰 크기부터 정렬
+    private final float quality;
+    private final long maxPixels;
+
+    public ImageVariantGenerator(@Value("${profile-image.sizes:256,128,64}") int[] sizes,
+                                 @Value("${profile-image.quality:0.82}") float quality,
+                                 @Value("${profile-image.max-pixels:40000000}") long maxPixels) {
+        if (sizes.length == 0 || IntStream.of(sizes).anyMatch(size -> size <= 0)) {
+            throw new IllegalArgumentException("sizes must be positive");
+        }
+        this.sizes = IntStream.of(sizes).boxed().sorted((a, b) -> b - a).mapToInt(Integer::intValue).toArray();
+        this.quality = quality;
+        this.maxPixels = maxPixels;
+    }
+
+    // 헤더만 읽어 지원하는 형식인지, 너무 큰 이미지가 아닌지 확인
+    public void validate(Path source) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            ImageReader reader = readerFor(input);
+            try {
+                checkDimensions(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new UploadException(ResponseCodeEnum.INVALID_IMAGE);
+        }
+    }
+
+    public List<Variant> generate(Path source) throws IOException {
+        BufferedImage square = decodeSquare(source);
+
+        List<Variant> variants = new ArrayList<>(sizes.length);
+        BufferedImage current = square;
+        for (int size : sizes) {
+            current = downscale(current, size);
+            variants.add(new Variant(size, encodeJpeg(current)));
+        }
+        return variants;
+    }
+
+    // 가운데 정사각형 영역만 디코딩하고, 원본이 충분히 크면 서브샘플링하여 디코딩 비용과 메모리를 줄인다
+    private BufferedImage decodeSquare(Path source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            ImageReader reader = readerFor(input);
+            try {
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                checkDimensions(width, height);
+
+                int side = Math.min(width, height);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceRegion(new Rectangle((width - side) / 2, (height - side) / 2, side, side));
+                int subsampling = Math.max(1, side / (sizes[0] * 2));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return toRgb(reader.read(0, param));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private ImageReader readerFor(ImageInputStream input) throws IOException {
+        if (input == null) {
+            throw new IOException("이미지를 읽을 수 없습니다");
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+        if (!readers.hasNext()) {
+            throw new IOException("지원하지 않는 이미지 형식입니다");
+        }
+        ImageReader reader = readers.next();
+        reader.setInput(input, true, true);
+        return reader;
+    }
+
+    private void checkDimensions(int width, int height) {
+        if (width <= 0 || height <= 0 || (long) width * height > maxPixels) {
+            throw new UploadException(ResponseCodeEnum.INVALID_IMAGE);
+        }
+    }
+
+    // JPEG 은 투명도를 지원하지 않으므로 흰 배경 위에 그린다
+    private static BufferedImage toRgb(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_RGB) {
+            return image;
+        }
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+            graphics.drawImage(image, 0, 0, null);
+        } finally {
+            graphics.dispose();
+        }
+        return rgb;
+    }
+
+    // 한 번에 크게 줄이면 계단 현상이 생기므로 절반씩 줄인 뒤 목표 크기로 맞춘다
+    private static BufferedImage downscale(BufferedImage image, int size) {
+        BufferedImage current = image;
+        while (current.getWidth() / 2 >= size) {
+            current = resize(current, current.getWidth() / 2);
+        }
+        return current.getWidth() == size ? current : resize(current, size);
+    }
+
+    private static BufferedImage resize(BufferedImage image, int size) {
+        BufferedImage resized = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, size, size, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+}
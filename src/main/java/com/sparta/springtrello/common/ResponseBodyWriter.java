@@ -0,0 +1,61 @@
+package com.sparta.springtrello.common;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+// 필터에서 직접 응답을 쓸 때 사용
+// ResponseCodeEnum 별 응답 본문을 기동 시 한 번만 직렬화해 두고 바이트를 그대로 기록한다
+// 필터에서 거절한 요청은 응답 코드별로 http.filter.rejections 에 집계
+@Slf4j(topic = "응답 본문 기록")
+@Component
+public class ResponseBodyWriter {
+
+    private static final String CONTENT_TYPE = "application/json;charset=UTF-8";
+
+    private final Map<ResponseCodeEnum, byte[]> errorBodies = new EnumMap<>(ResponseCodeEnum.class);
+    private final Map<ResponseCodeEnum, Counter> rejections = new EnumMap<>(ResponseCodeEnum.class);
+    private final byte[] successBody;
+
+    public ResponseBodyWriter(ObjectMapper objectMapper, MeterRegistry meterRegistry) throws JsonProcessingException {
+        for (ResponseCodeEnum responseCode : ResponseCodeEnum.values()) {
+            errorBodies.put(responseCode, objectMapper.writeValueAsBytes(ResponseUtils.error(responseCode).getBody()));
+            rejections.put(responseCode, Counter.builder("http.filter.rejections")
+                    .description("필터에서 거절한 요청 수")
+                    .tag("code", responseCode.name())
+                    .tag("status", String.valueOf(responseCode.getHttpStatus().value()))
+                    .register(meterRegistry));
+        }
+        this.successBody = objectMapper.writeValueAsBytes(ResponseUtils.success(HttpStatus.OK).getBody());
+    }
+
+    public void writeError(HttpServletResponse response, ResponseCodeEnum responseCode) {
+        rejections.get(responseCode).increment();
+        write(response, responseCode.getHttpStatus().value(), errorBodies.get(responseCode));
+    }
+
+    public void writeSuccess(HttpServletResponse response) {
+        write(response, HttpServletResponse.SC_OK, successBody);
+    }
+
+    private void write(HttpServletResponse response, int status, byte[] body) {
+        response.setStatus(status);
+        response.setContentType(CONTENT_TYPE);
+        response.setContentLength(body.length);
+        try (ServletOutputStream outputStream = response.getOutputStream()) {
+            outputStream.write(body);
+        } catch (IOException e) {
+            log.error("응답 본문 쓰기 실패: {}", e.getMessage());
+        }
+    }
+}
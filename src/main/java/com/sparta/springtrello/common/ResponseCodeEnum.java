@@ -10,15 +10,28 @@ public enum ResponseCodeEnum {
     // 유저 관련 예외
     LOGIN_FAILED(HttpStatus.UNAUTHORIZED, "로그인 실패"),
     USER_NOT_FOUND(HttpStatus.NOT_FOUND, "사용자를 찾을 수 없습니다"),
+    TOO_MANY_USER_IDS(HttpStatus.BAD_REQUEST, "한 번에 조회할 수 있는 사용자 수를 넘었습니다."),
     USER_ALREADY_EXISTS(HttpStatus.CONFLICT, "이미 존재하는 사용자명입니다."),
     USER_DELETED(HttpStatus.UNAUTHORIZED, "탈퇴한 사용자입니다"),
     INVALID_TOKENS(HttpStatus.UNAUTHORIZED, "유효하지 않은 토큰입니다"),
     PASSWORD_INCORRECT(HttpStatus.UNAUTHORIZED, "비밀번호가 올바르지 않습니다"),
     SAME_AS_OLD_PASSWORD(HttpStatus.BAD_REQUEST, "새 비밀번호가 이전 비밀번호와 동일합니다."),
     INVALID_MANAGER_PASSWORD(HttpStatus.FORBIDDEN, "관리자 암호가 틀렸습니다."),
+    TOO_MANY_LOGIN_ATTEMPTS(HttpStatus.TOO_MANY_REQUESTS, "로그인 시도가 너무 많습니다. 잠시 후 다시 시도해주세요."),
+    PASSWORD_HASHING_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."),
+    KAKAO_LOGIN_FAILED(HttpStatus.BAD_GATEWAY, "카카오 로그인에 실패했습니다."),
+    KAKAO_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "카카오 로그인을 일시적으로 사용할 수 없습니다. 잠시 후 다시 시도해주세요."),
 
     // 공용 예외
-    UPLOAD_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "파일 업로드에 실패했습니다.");
+    UPLOAD_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "파일 업로드에 실패했습니다."),
+    UPLOAD_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "처리 중인 업로드가 많습니다. 잠시 후 다시 시도해주세요."),
+    UPLOAD_NOT_FOUND(HttpStatus.NOT_FOUND, "업로드 내역이 없습니다."),
+    INVALID_IMAGE(HttpStatus.BAD_REQUEST, "지원하지 않거나 너무 큰 이미지입니다."),
+    INVALID_UPLOAD(HttpStatus.BAD_REQUEST, "업로드한 파일이 올바르지 않습니다."),
+    UPLOAD_TOO_LARGE(HttpStatus.PAYLOAD_TOO_LARGE, "업로드할 수 있는 크기를 넘었습니다."),
+    INVALID_UPLOAD_PART(HttpStatus.BAD_REQUEST, "파트 번호나 크기가 올바르지 않습니다."),
+    UPLOAD_INCOMPLETE(HttpStatus.CONFLICT, "아직 받지 못한 파트가 있습니다."),
+    UPLOAD_CLOSED(HttpStatus.CONFLICT, "이미 완료, 취소되었거나 기한이 지난 업로드입니다.");
 
     private final HttpStatus httpStatus;
     private final String message;
@@ -1,34 +0,0 @@
-package com.sparta.springtrello.common;
-
-import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.model.ObjectMetadata;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.stereotype.Component;
-import org.springframework.web.multipart.MultipartFile;
-
-import java.io.IOException;
-import java.util.UUID;
-
-@Component
-public class S3Uploader {
-
-    private final AmazonS3 amazonS3;
-    private final String bucketName;
-
-    @Autowired
-    public S3Uploader(AmazonS3 amazonS3, @Value("${cloud.aws.s3.bucket}") String bucketName) {
-        this.amazonS3 = amazonS3;
-        this.bucketName = bucketName;
-    }
-
-    public String upload(MultipartFile file, String dirName) throws IOException {
-        String fileName = dirName + "/" + UUID.randomUUID() + "_" + file.getOriginalFilename();
-        ObjectMetadata metadata = new ObjectMetadata();
-        metadata.setContentType(file.getContentType());
-        metadata.setContentLength(file.getSize());
-
-        amazonS3.putObject(bucketName, fileName, file.getInputStream(), metadata);
-        return amazonS3.getUrl(bucketName, fileName).toString();
-    }
-}
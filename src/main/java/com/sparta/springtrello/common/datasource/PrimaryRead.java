@@ -0,0 +1,32 @@
+package com.sparta.springtrello.common.datasource;
+
+import java.util.function.Supplier;
+
+// 복제 지연을 허용할 수 없는 읽기(인증, 토큰 폐기 확인 등)를 primary 로 보내는 힌트
+// 이 안에서 시작한 readOnly 트랜잭션은 복제본이 아니라 primary 커넥션을 받는다, 쓰기로 기록하지는 않는다
+// 커넥션은 첫 쿼리 시점에 고르므로 트랜잭션 밖에서 감싸야 한다 (이미 복제본 커넥션을 받은 트랜잭션에는 적용되지 않음)
+public final class PrimaryRead {
+
+    private static final ThreadLocal<Boolean> REQUESTED = new ThreadLocal<>();
+
+    private PrimaryRead() {
+    }
+
+    public static <T> T call(Supplier<T> work) {
+        Boolean previous = REQUESTED.get();
+        REQUESTED.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                REQUESTED.remove();
+            } else {
+                REQUESTED.set(previous);
+            }
+        }
+    }
+
+    static boolean isRequested() {
+        return REQUESTED.get() != null;
+    }
+}
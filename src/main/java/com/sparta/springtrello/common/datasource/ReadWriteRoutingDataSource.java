@@ -0,0 +1,193 @@
+package com.sparta.springtrello.common.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// readOnly 트랜잭션은 복제본으로, 나머지는 primary 로 보내는 DataSource
+// 트랜잭션 시작 시점이 아니라 첫 쿼리 시점에 커넥션을 고르도록 LazyConnectionDataSourceProxy 로 감싸서 사용해야 한다
+// (readOnly 여부는 트랜잭션 매니저가 커넥션을 받은 뒤에 설정되기 때문)
+// 복제본 선택: 상태 확인에 성공하고 지연이 maxLagSeconds 이하인 복제본을 돌아가며 사용, 없으면 primary
+// 최근에 쓰기를 커밋한 사용자(userId)의 읽기는 ReadYourWritesTracker 에 따라, 같은 요청에서 쓰기를 커밋한 뒤의 읽기는 항상 primary 로 보낸다
+// 인증/토큰 확인처럼 지연을 허용할 수 없는 읽기는 PrimaryRead 로 감싸 primary 로 보낸다
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    public static final String PRIMARY = "primary";
+    // 쓰기 트랜잭션마다 커밋 후 기록을 한 번만 등록하기 위한 리소스 키
+    private static final Object WRITE_TRACKING_KEY = new Object();
+    // 이 요청에서 쓰기를 커밋했음을 표시하는 요청 속성, 로그인 전 요청(회원가입 등)에도 적용된다
+    private static final String REQUEST_WROTE_ATTRIBUTE = ReadWriteRoutingDataSource.class.getName() + ".WROTE";
+
+    private final List<ReplicaDataSource> replicas;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final Supplier<Long> currentUserId;
+    private final double maxLagSeconds;
+    private final String lagQuery;
+    private final int checkTimeoutSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    // 커넥션을 받을 때마다 어디로 보냈는지 집계
+    private final LongAdder primaryRoutes = new LongAdder(); // 쓰기 또는 트랜잭션 밖
+    private final LongAdder replicaRoutes = new LongAdder();
+    private final LongAdder stickyRoutes = new LongAdder(); // 최근 쓰기로 primary 에서 읽기
+    private final LongAdder pinnedRoutes = new LongAdder(); // PrimaryRead 로 primary 에서 읽기
+    private final LongAdder fallbackRoutes = new LongAdder(); // 사용 가능한 복제본이 없어 primary 에서 읽기
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<ReplicaDataSource> replicas,
+                                      ReadYourWritesTracker readYourWritesTracker, Supplier<Long> currentUserId,
+                                      double maxLagSeconds, String lagQuery, int checkTimeoutSeconds) {
+        this.replicas = List.copyOf(replicas);
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.currentUserId = currentUserId;
+        this.maxLagSeconds = maxLagSeconds;
+        this.lagQuery = lagQuery;
+        this.checkTimeoutSeconds = checkTimeoutSeconds;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (ReplicaDataSource replica : this.replicas) {
+            targets.put(replica.getName(), replica.getDataSource());
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            trackWrite();
+            primaryRoutes.increment();
+            return PRIMARY;
+        }
+
+        if (PrimaryRead.isRequested()) {
+            pinnedRoutes.increment();
+            return PRIMARY;
+        }
+
+        if (wroteInCurrentRequest()) {
+            stickyRoutes.increment();
+            return PRIMARY;
+        }
+        Long userId = currentUserId.get();
+        if (userId != null && readYourWritesTracker.isSticky(userId)) {
+            stickyRoutes.increment();
+            return PRIMARY;
+        }
+
+        ReplicaDataSource replica = pickReplica();
+        if (replica == null) {
+            fallbackRoutes.increment();
+            return PRIMARY;
+        }
+        replicaRoutes.increment();
+        return replica.getName();
+    }
+
+    // 사용 가능한 복제본을 순서대로 하나씩
+    private ReplicaDataSource pickReplica() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            ReplicaDataSource replica = replicas.get((start + i) % size);
+            if (replica.isAvailable(maxLagSeconds)) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    // 쓰기 트랜잭션이 커밋되면 요청한 사용자와 현재 요청에 기록
+    // 인증되지 않은 요청의 쓰기도 같은 요청의 이후 읽기에는 적용된다
+    // 요청 밖의 작업 스레드는 WriteOwner 로 사용자를 알려준다
+    private void trackWrite() {
+        if (replicas.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(WRITE_TRACKING_KEY)) {
+            return;
+        }
+        Long userId = currentUserId.get();
+        if (userId == null) {
+            userId = WriteOwner.current();
+        }
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (userId == null && request == null) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(WRITE_TRACKING_KEY, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WRITE_TRACKING_KEY);
+                if (status != STATUS_COMMITTED) {
+                    return;
+                }
+                if (userId != null) {
+                    readYourWritesTracker.markWrite(userId);
+                }
+                if (request != null) {
+                    request.setAttribute(REQUEST_WROTE_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+                }
+            }
+        });
+    }
+
+    private static boolean wroteInCurrentRequest() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        return request != null && request.getAttribute(REQUEST_WROTE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    // 모든 복제본의 연결 상태와 지연 시간 확인, 주기적으로 호출
+    public void checkReplicas() {
+        for (ReplicaDataSource replica : replicas) {
+            replica.check(lagQuery, checkTimeoutSeconds);
+        }
+    }
+
+    // 복제본 커넥션 풀은 빈이 아니므로 여기서 닫는다, primary 는 빈으로 따로 닫힌다
+    @Override
+    public void close() throws Exception {
+        for (ReplicaDataSource replica : replicas) {
+            if (replica.getDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    public List<ReplicaDataSource> getReplicas() {
+        return replicas;
+    }
+
+    public long getPrimaryRouteCount() {
+        return primaryRoutes.sum();
+    }
+
+    public long getReplicaRouteCount() {
+        return replicaRoutes.sum();
+    }
+
+    public long getStickyRouteCount() {
+        return stickyRoutes.sum();
+    }
+
+    public long getPinnedRouteCount() {
+        return pinnedRoutes.sum();
+    }
+
+    public long getFallbackRouteCount() {
+        return fallbackRoutes.sum();
+    }
+}
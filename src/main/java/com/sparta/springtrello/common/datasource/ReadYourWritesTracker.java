@@ -0,0 +1,26 @@
+package com.sparta.springtrello.common.datasource;
+
+import com.sparta.springtrello.common.ExpiringCache;
+
+// 최근에 쓰기를 커밋한 사용자(userId) 기록, 이 사용자의 읽기는 잠시 동안 primary 로 보내 복제 지연 중에도 자신이 쓴 값을 읽게 한다
+// 인스턴스 메모리에만 기록하므로 다른 인스턴스로 간 요청에는 적용되지 않는다
+public class ReadYourWritesTracker {
+
+    private final ExpiringCache<Long, Boolean> recentWriters;
+    private final long windowMillis;
+
+    public ReadYourWritesTracker(int maxSize, long windowMillis) {
+        this.recentWriters = new ExpiringCache<>(maxSize);
+        this.windowMillis = windowMillis;
+    }
+
+    public void markWrite(Long userId) {
+        if (windowMillis > 0) {
+            recentWriters.put(userId, Boolean.TRUE, System.currentTimeMillis() + windowMillis);
+        }
+    }
+
+    public boolean isSticky(Long userId) {
+        return recentWriters.get(userId) != null;
+    }
+}
@@ -0,0 +1,102 @@
+package com.sparta.springtrello.common.datasource;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// 읽기 전용 복제본 커넥션 풀과 마지막 상태 확인 결과
+// 상태 확인 전이거나 확인에 실패하면 사용하지 않는다
+@Slf4j(topic = "Replica Health")
+public class ReplicaDataSource {
+
+    // MySQL SHOW REPLICA STATUS / SHOW SLAVE STATUS 의 지연 컬럼
+    private static final String[] LAG_COLUMNS = {"Seconds_Behind_Source", "Seconds_Behind_Master"};
+
+    @Getter
+    private final String name;
+    @Getter
+    private final DataSource dataSource;
+
+    private volatile boolean healthy;
+    private volatile double lagSeconds = Double.POSITIVE_INFINITY;
+
+    public ReplicaDataSource(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    // 커넥션을 검증하고 지연 시간을 조회, lagQuery 가 비어 있으면 지연은 0 으로 본다
+    // lagQuery 는 지연 시간(초) 하나를 반환하거나 SHOW REPLICA STATUS 처럼 지연 컬럼을 포함한 행을 반환해야 한다
+    public void check(String lagQuery, int timeoutSeconds) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!connection.isValid(timeoutSeconds)) {
+                markDown("커넥션 검증 실패");
+                return;
+            }
+            Double lag = lagQuery == null || lagQuery.isBlank()
+                    ? Double.valueOf(0)
+                    : queryLag(connection, lagQuery, timeoutSeconds);
+            if (lag == null) {
+                markDown("복제가 중지되었거나 지연을 알 수 없음");
+                return;
+            }
+            lagSeconds = lag;
+            if (!healthy) {
+                log.info("복제본 사용 가능: {} (지연 {}초)", name, lag);
+                healthy = true;
+            }
+        } catch (SQLException e) {
+            markDown(e.toString());
+        }
+    }
+
+    public boolean isAvailable(double maxLagSeconds) {
+        return healthy && lagSeconds <= maxLagSeconds;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+
+    private void markDown(String reason) {
+        lagSeconds = Double.POSITIVE_INFINITY;
+        if (healthy) {
+            log.warn("복제본 사용 중지: {} ({})", name, reason);
+            healthy = false;
+        }
+    }
+
+    private static Double queryLag(Connection connection, String lagQuery, int timeoutSeconds) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(timeoutSeconds);
+            try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                if (!resultSet.next()) {
+                    return null;
+                }
+                Object value = resultSet.getObject(lagColumnIndex(resultSet.getMetaData()));
+                return value instanceof Number number ? number.doubleValue() : null;
+            }
+        }
+    }
+
+    private static int lagColumnIndex(ResultSetMetaData metaData) throws SQLException {
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            for (String column : LAG_COLUMNS) {
+                if (column.equalsIgnoreCase(metaData.getColumnLabel(i))) {
+                    return i;
+                }
+            }
+        }
+        return 1;
+    }
+}
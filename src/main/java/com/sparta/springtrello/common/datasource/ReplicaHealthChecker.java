@@ -0,0 +1,17 @@
+package com.sparta.springtrello.common.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 복제본 연결 상태와 복제 지연을 주기적으로 확인
+@Component
+@RequiredArgsConstructor
+public class ReplicaHealthChecker {
+    private final ReadWriteRoutingDataSource readWriteRoutingDataSource;
+
+    @Scheduled(fixedDelayString = "${datasource.routing.health-check-interval-ms:2000}")
+    public void checkReplicas() {
+        readWriteRoutingDataSource.checkReplicas();
+    }
+}
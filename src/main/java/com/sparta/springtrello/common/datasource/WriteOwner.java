@@ -0,0 +1,30 @@
+package com.sparta.springtrello.common.datasource;
+
+// 보안 컨텍스트가 없는 스레드(비동기 업로드 등)에서 커밋하는 쓰기의 사용자를 알려주는 힌트
+// 이 안에서 커밋한 쓰기는 해당 사용자의 쓰기로 기록되어, 이후 그 사용자의 읽기는 ReadYourWritesTracker 에 따라 잠시 primary 로 간다
+// 인증된 요청 스레드에서는 보안 컨텍스트의 사용자가 우선한다
+public final class WriteOwner {
+
+    private static final ThreadLocal<Long> USER_ID = new ThreadLocal<>();
+
+    private WriteOwner() {
+    }
+
+    public static void run(Long userId, Runnable work) {
+        Long previous = USER_ID.get();
+        USER_ID.set(userId);
+        try {
+            work.run();
+        } finally {
+            if (previous == null) {
+                USER_ID.remove();
+            } else {
+                USER_ID.set(previous);
+            }
+        }
+    }
+
+    static Long current() {
+        return USER_ID.get();
+    }
+}
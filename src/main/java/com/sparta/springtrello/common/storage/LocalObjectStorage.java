@@ -0,0 +1,337 @@
+package com.sparta.springtrello.common.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+// 로컬 디스크 저장소, 클라우드 없이 배포하거나 테스트할 때 사용
+// 파일은 LocalFileController(/files/**) 로 제공, 서명된 URL 로 PUT 업로드도 받는다
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "local")
+public class LocalObjectStorage implements ObjectStorage {
+
+    // 멀티파트 업로드 파트 보관 위치, 숨김 디렉터리라 LocalFileController 가 제공하지 않는다
+    private static final String MULTIPART_DIR = ".multipart";
+
+    private final Path rootDir;
+    private final String publicBaseUrl;
+    private final SecretKeySpec signingKey;
+
+    public LocalObjectStorage(@Value("${storage.local.root-dir:./storage}") String rootDir,
+                              @Value("${storage.local.public-base-url:/files}") String publicBaseUrl,
+                              @Value("${storage.local.signing-key:}") String signingKey) throws IOException {
+        this.rootDir = Files.createDirectories(Paths.get(rootDir)).toRealPath();
+        this.publicBaseUrl = publicBaseUrl.endsWith("/")
+                ? publicBaseUrl.substring(0, publicBaseUrl.length() - 1)
+                : publicBaseUrl;
+        // 지정하지 않으면 실행마다 새 키, 여러 인스턴스로 띄울 때는 같은 키를 지정해야 한다
+        byte[] keyBytes;
+        if (StringUtils.hasText(signingKey)) {
+            keyBytes = signingKey.getBytes(StandardCharsets.UTF_8);
+        } else {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        }
+        this.signingKey = new SecretKeySpec(keyBytes, "HmacSHA256");
+    }
+
+    // 임시 파일에 쓴 뒤 원자적으로 이동하여 읽는 쪽이 쓰다 만 파일을 보지 않게 한다
+    @Override
+    public String putIfAbsent(String key, byte[] content, String contentType) {
+        Path target = resolve(key);
+        if (Files.exists(target)) {
+            return getUrl(key);
+        }
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+            try {
+                Files.write(temp, content);
+                moveIntoPlace(temp, target);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return getUrl(key);
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // 같은 내용을 다른 요청이 먼저 저장
+        } catch (AtomicMoveNotSupportedException e) {
+            try {
+                Files.move(temp, target);
+            } catch (FileAlreadyExistsException ignored) {
+                // 같은 내용을 다른 요청이 먼저 저장
+            }
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(resolve(key));
+    }
+
+    @Override
+    public String getUrl(String key) {
+        return publicBaseUrl + "/" + key;
+    }
+
+    @Override
+    public String presignPut(String key, String contentType, Instant expiresAt) {
+        resolve(key);
+        long expires = expiresAt.getEpochSecond();
+        return getUrl(key) + "?expires=" + expires
+                + "&signature=" + URLEncoder.encode(sign(key, contentType, expires), StandardCharsets.UTF_8);
+    }
+
+    public boolean isValidSignature(String key, String contentType, long expires, String signature) {
+        if (signature == null || Instant.now().getEpochSecond() > expires) {
+            return false;
+        }
+        byte[] expected = sign(key, contentType, expires).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private String sign(String key, String contentType, long expires) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(signingKey);
+            byte[] signature = mac.doFinal((key + "\n" + contentType + "\n" + expires).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 을 사용할 수 없습니다.", e);
+        }
+    }
+
+    // 서명된 PUT 요청 본문 저장, maxBytes 를 넘으면 저장하지 않고 false
+    public boolean write(String key, InputStream input, long maxBytes) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        try {
+            long written = 0;
+            byte[] buffer = new byte[8192];
+            try (OutputStream output = Files.newOutputStream(temp)) {
+                int read;
+                while ((read = input.read(buffer)) != -1) {
+                    written += read;
+                    if (written > maxBytes) {
+                        return false;
+                    }
+                    output.write(buffer, 0, read);
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // 로컬 디스크에는 타입을 따로 저장하지 않으므로 확장자로 판단
+    @Override
+    public StoredObject stat(String key) {
+        Path path = find(key);
+        if (path == null) {
+            return null;
+        }
+        try {
+            String contentType = MediaTypeFactory.getMediaType(path.getFileName().toString())
+                    .orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+            return new StoredObject(Files.size(path), contentType);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            Files.deleteIfExists(resolve(key));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 파트는 .multipart/<업로드 ID>/<파트 번호> 파일로 보관
+    @Override
+    public String initiateMultipart(String key, String contentType) {
+        resolve(key);
+        String uploadId = UUID.randomUUID().toString();
+        try {
+            Files.createDirectories(partsDir(uploadId));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return uploadId;
+    }
+
+    // 임시 파일에 받은 뒤 크기가 맞을 때만 원자적으로 교체하여 끊긴 전송이 이전 파트를 망가뜨리지 않게 한다
+    @Override
+    public UploadedPart uploadPart(String key, String uploadId, int partNumber, InputStream content, long size) {
+        Path dir = existingPartsDir(uploadId);
+        try {
+            Path temp = Files.createTempFile(dir, ".part-", ".tmp");
+            try {
+                long written;
+                try (OutputStream output = Files.newOutputStream(temp)) {
+                    written = content.transferTo(output);
+                }
+                if (written != size) {
+                    throw new IllegalArgumentException("파트 크기가 다릅니다: expected=" + size + ", actual=" + written);
+                }
+                Path part = dir.resolve(String.valueOf(partNumber));
+                Files.move(temp, part, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                return partOf(part);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public List<UploadedPart> listParts(String key, String uploadId) {
+        Path dir = existingPartsDir(uploadId);
+        List<UploadedPart> parts = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (!file.getFileName().toString().startsWith(".")) {
+                    parts.add(partOf(file));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        parts.sort(Comparator.comparingInt(UploadedPart::partNumber));
+        return parts;
+    }
+
+    // 파트를 임시 파일로 이어 붙인 뒤(FileChannel.transferTo) 원자적으로 이동
+    @Override
+    public void completeMultipart(String key, String uploadId, List<UploadedPart> parts) {
+        Path dir = existingPartsDir(uploadId);
+        Path target = resolve(key);
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+            try {
+                try (FileChannel output = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                    for (UploadedPart expected : parts) {
+                        Path part = dir.resolve(String.valueOf(expected.partNumber()));
+                        if (!Files.isRegularFile(part) || !partOf(part).equals(expected)) {
+                            throw new IllegalArgumentException("업로드된 파트와 다릅니다: " + expected.partNumber());
+                        }
+                        try (FileChannel input = FileChannel.open(part, StandardOpenOption.READ)) {
+                            long position = 0;
+                            long remaining = input.size();
+                            while (remaining > 0) {
+                                long transferred = input.transferTo(position, remaining, output);
+                                position += transferred;
+                                remaining -= transferred;
+                            }
+                        }
+                    }
+                }
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        deleteRecursively(dir);
+    }
+
+    @Override
+    public void abortMultipart(String key, String uploadId) {
+        deleteRecursively(partsDir(uploadId));
+    }
+
+    // 업로드 ID 는 UUID 만 허용하여 다른 경로를 가리키지 못하게 한다
+    private Path partsDir(String uploadId) {
+        return rootDir.resolve(MULTIPART_DIR).resolve(UUID.fromString(uploadId).toString());
+    }
+
+    private Path existingPartsDir(String uploadId) {
+        Path dir = partsDir(uploadId);
+        if (!Files.isDirectory(dir)) {
+            throw new IllegalStateException("존재하지 않는 멀티파트 업로드입니다: " + uploadId);
+        }
+        return dir;
+    }
+
+    // ETag 는 LocalFileController 와 같이 크기와 수정 시각으로 만든다
+    private static UploadedPart partOf(Path part) throws IOException {
+        long size = Files.size(part);
+        long lastModified = Files.getLastModifiedTime(part).toMillis();
+        return new UploadedPart(Integer.parseInt(part.getFileName().toString()), size,
+                Long.toHexString(size) + "-" + Long.toHexString(lastModified));
+    }
+
+    private static void deleteRecursively(Path dir) {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 키를 루트 디렉터리 아래의 경로로 변환, 루트 밖을 가리키면 null
+    public Path find(String key) {
+        Path path = rootDir.resolve(key).normalize();
+        if (!path.startsWith(rootDir) || !Files.isRegularFile(path)) {
+            return null;
+        }
+        return path;
+    }
+
+    private Path resolve(String key) {
+        Path path = rootDir.resolve(key).normalize();
+        if (!path.startsWith(rootDir) || path.equals(rootDir)) {
+            throw new IllegalArgumentException("잘못된 저장소 키입니다: " + key);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,49 @@
+package com.sparta.springtrello.common.storage;
+
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
+
+// 업로드 파일 저장소, storage.type 으로 S3(s3) 또는 로컬 디스크(local) 선택
+public interface ObjectStorage {
+
+    // 키가 내용 해시라 내용이 바뀌면 키도 바뀌므로 오래 캐시해도 된다
+    String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    // 키가 내용 해시인 객체 저장, 같은 키가 이미 있으면 저장하지 않고 URL 만 반환
+    String putIfAbsent(String key, byte[] content, String contentType);
+
+    boolean exists(String key);
+
+    // 클라이언트가 접근할 URL
+    String getUrl(String key);
+
+    // 클라이언트가 서버를 거치지 않고 직접 PUT 할 수 있는 서명된 URL, PUT 요청의 Content-Type 도 서명에 포함
+    String presignPut(String key, String contentType, Instant expiresAt);
+
+    // 저장된 객체의 크기와 타입, 없으면 null
+    StoredObject stat(String key);
+
+    void delete(String key);
+
+    // 멀티파트 업로드 시작, 저장소의 업로드 ID 반환
+    String initiateMultipart(String key, String contentType);
+
+    // 같은 번호의 파트를 다시 올리면 덮어쓴다 (끊긴 파트 재전송)
+    UploadedPart uploadPart(String key, String uploadId, int partNumber, InputStream content, long size);
+
+    // 지금까지 받은 파트 목록, 파트 번호 순
+    List<UploadedPart> listParts(String key, String uploadId);
+
+    // 파트들을 번호 순으로 이어 붙여 하나의 객체로 만든다
+    void completeMultipart(String key, String uploadId, List<UploadedPart> parts);
+
+    // 받은 파트를 모두 버린다, 이미 없는 업로드면 무시
+    void abortMultipart(String key, String uploadId);
+
+    record StoredObject(long size, String contentType) {
+    }
+
+    record UploadedPart(int partNumber, long size, String etag) {
+    }
+}
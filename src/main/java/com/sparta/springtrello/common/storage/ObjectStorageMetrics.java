@@ -0,0 +1,68 @@
+package com.sparta.springtrello.common.storage;
+
+import com.sparta.springtrello.common.tracing.TraceSpans;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// 저장소 업로드 시간(storage.upload)과 올린 바이트 수(storage.upload.size) 기록, 업로드마다 span 도 만든다
+// operation: put(프로필 사진 변환본), part(멀티파트 파트)
+@Component
+public class ObjectStorageMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final TraceSpans traceSpans;
+    private final String storageType;
+    // operation -> 미터, 업로드마다 빌더로 다시 찾지 않도록 한 번만 등록
+    private final ConcurrentHashMap<String, UploadMeters> meters = new ConcurrentHashMap<>();
+
+    public ObjectStorageMetrics(MeterRegistry meterRegistry, TraceSpans traceSpans,
+                                @Value("${storage.type:s3}") String storageType) {
+        this.meterRegistry = meterRegistry;
+        this.traceSpans = traceSpans;
+        this.storageType = storageType;
+    }
+
+    public <T> T recordUpload(String operation, long bytes, Supplier<T> upload) {
+        UploadMeters uploadMeters = meters.computeIfAbsent(operation, this::register);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean succeeded = false;
+        try {
+            T result = traceSpans.inSpan("storage.upload." + operation, upload);
+            succeeded = true;
+            return result;
+        } finally {
+            sample.stop(succeeded ? uploadMeters.success() : uploadMeters.failure());
+            if (succeeded) {
+                uploadMeters.size().record(bytes);
+            }
+        }
+    }
+
+    private UploadMeters register(String operation) {
+        return new UploadMeters(uploadTimer(operation, "success"), uploadTimer(operation, "failure"),
+                DistributionSummary.builder("storage.upload.size")
+                        .description("저장소에 올린 크기")
+                        .baseUnit("bytes")
+                        .tag("storage", storageType)
+                        .tag("operation", operation)
+                        .register(meterRegistry));
+    }
+
+    private Timer uploadTimer(String operation, String outcome) {
+        return Timer.builder("storage.upload")
+                .description("저장소 업로드 시간")
+                .tag("storage", storageType)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record UploadMeters(Timer success, Timer failure, DistributionSummary size) {
+    }
+}
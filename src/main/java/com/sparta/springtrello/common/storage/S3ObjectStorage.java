@@ -0,0 +1,148 @@
+package com.sparta.springtrello.common.storage;
+
+import com.amazonaws.HttpMethod;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ListPartsRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.PartListing;
+import com.amazonaws.services.s3.model.PartSummary;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
+public class S3ObjectStorage implements ObjectStorage {
+
+    private final AmazonS3 amazonS3;
+    private final String bucketName;
+
+    @Autowired
+    public S3ObjectStorage(AmazonS3 amazonS3, @Value("${cloud.aws.s3.bucket}") String bucketName) {
+        this.amazonS3 = amazonS3;
+        this.bucketName = bucketName;
+    }
+
+    // 키가 내용 해시라서 같은 키의 객체가 이미 있으면 같은 내용이므로 업로드하지 않는다
+    @Override
+    public String putIfAbsent(String key, byte[] content, String contentType) {
+        if (!exists(key)) {
+            ObjectMetadata metadata = new ObjectMetadata();
+            metadata.setContentType(contentType);
+            metadata.setContentLength(content.length);
+            // 내용이 바뀌면 키도 바뀌므로 브라우저/CDN 이 오래 캐시해도 된다
+            metadata.setCacheControl(IMMUTABLE_CACHE_CONTROL);
+            amazonS3.putObject(bucketName, key, new ByteArrayInputStream(content), metadata);
+        }
+        return getUrl(key);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return amazonS3.doesObjectExist(bucketName, key);
+    }
+
+    @Override
+    public String getUrl(String key) {
+        return amazonS3.getUrl(bucketName, key).toString();
+    }
+
+    // 서명은 로컬에서 계산되므로 S3 호출 없음
+    @Override
+    public String presignPut(String key, String contentType, Instant expiresAt) {
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucketName, key, HttpMethod.PUT)
+                .withExpiration(Date.from(expiresAt))
+                .withContentType(contentType);
+        return amazonS3.generatePresignedUrl(request).toString();
+    }
+
+    @Override
+    public StoredObject stat(String key) {
+        try {
+            ObjectMetadata metadata = amazonS3.getObjectMetadata(bucketName, key);
+            return new StoredObject(metadata.getContentLength(), metadata.getContentType());
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        amazonS3.deleteObject(bucketName, key);
+    }
+
+    @Override
+    public String initiateMultipart(String key, String contentType) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+        return amazonS3.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, key, metadata))
+                .getUploadId();
+    }
+
+    // 크기를 알려주므로 SDK 가 본문을 메모리에 모으지 않고 스트림 그대로 전송
+    @Override
+    public UploadedPart uploadPart(String key, String uploadId, int partNumber, InputStream content, long size) {
+        UploadPartRequest request = new UploadPartRequest()
+                .withBucketName(bucketName)
+                .withKey(key)
+                .withUploadId(uploadId)
+                .withPartNumber(partNumber)
+                .withInputStream(content)
+                .withPartSize(size);
+        String etag = amazonS3.uploadPart(request).getPartETag().getETag();
+        return new UploadedPart(partNumber, size, etag);
+    }
+
+    // 한 번에 최대 1000개씩 반환되므로 끝까지 이어서 조회
+    @Override
+    public List<UploadedPart> listParts(String key, String uploadId) {
+        List<UploadedPart> parts = new ArrayList<>();
+        ListPartsRequest request = new ListPartsRequest(bucketName, key, uploadId);
+        PartListing listing;
+        do {
+            listing = amazonS3.listParts(request);
+            for (PartSummary part : listing.getParts()) {
+                parts.add(new UploadedPart(part.getPartNumber(), part.getSize(), part.getETag()));
+            }
+            request.setPartNumberMarker(listing.getNextPartNumberMarker());
+        } while (listing.isTruncated());
+        return parts;
+    }
+
+    @Override
+    public void completeMultipart(String key, String uploadId, List<UploadedPart> parts) {
+        List<PartETag> etags = parts.stream()
+                .map(part -> new PartETag(part.partNumber(), part.etag()))
+                .toList();
+        amazonS3.completeMultipartUpload(new CompleteMultipartUploadRequest(bucketName, key, uploadId, etags));
+    }
+
+    @Override
+    public void abortMultipart(String key, String uploadId) {
+        try {
+            amazonS3.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() != 404) {
+                throw e;
+            }
+        }
+    }
+}
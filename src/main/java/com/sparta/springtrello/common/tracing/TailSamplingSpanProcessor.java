@@ -0,0 +1,195 @@
+package com.sparta.springtrello.common.tracing;
+
+import com.sparta.springtrello.common.ExpiringCache;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// 끝난 span 을 trace 단위로 모아 두었다가, 이 인스턴스의 루트 span 이 끝나면 trace 전체를 보낼지 정한다
+// 느리거나(루트 span 이 기준 시간 이상) 실패한(ERROR 상태 또는 5xx) trace 는 항상, 나머지는 sampleRate 비율만 보관
+// 보관하기로 한 trace 의 span 만 delegate(BatchSpanProcessor 등)로 넘기므로 exporter 는 표본만 받는다
+public class TailSamplingSpanProcessor implements SpanProcessor {
+
+    private static final AttributeKey<String> OUTCOME = AttributeKey.stringKey("outcome");
+    private static final String SERVER_ERROR = "SERVER_ERROR";
+
+    private final SpanProcessor delegate;
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+    private final int maxBufferedTraces;
+    private final long maxTraceAgeNanos;
+
+    // traceId -> 루트 span 을 기다리는 span 들
+    private final ConcurrentHashMap<String, TraceBuffer> buffers = new ConcurrentHashMap<>();
+    // traceId -> 결정 결과, 루트보다 늦게 끝난 span 도 같은 결정을 따른다
+    private final ExpiringCache<String, Boolean> decisions;
+    private final AtomicLong lastSweepNanos = new AtomicLong(System.nanoTime());
+
+    private final LongAdder keptTraces = new LongAdder();
+    private final LongAdder droppedTraces = new LongAdder();
+    private final LongAdder overflowSpans = new LongAdder();
+
+    public TailSamplingSpanProcessor(SpanProcessor delegate, long slowThresholdMillis, double sampleRate,
+                                     int maxBufferedTraces, long maxTraceAgeMillis) {
+        if (maxBufferedTraces <= 0 || maxTraceAgeMillis <= 0) {
+            throw new IllegalArgumentException("maxBufferedTraces and maxTraceAgeMillis must be positive");
+        }
+        this.delegate = delegate;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        this.sampleRate = sampleRate;
+        this.maxBufferedTraces = maxBufferedTraces;
+        this.maxTraceAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxTraceAgeMillis);
+        this.decisions = new ExpiringCache<>(maxBufferedTraces);
+    }
+
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+    }
+
+    @Override
+    public boolean isStartRequired() {
+        return false;
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+        sweepIfDue();
+
+        String traceId = span.getSpanContext().getTraceId();
+        Boolean decided = decisions.get(traceId);
+        if (decided != null) {
+            if (decided) {
+                delegate.onEnd(span);
+            }
+            return;
+        }
+
+        TraceBuffer buffer = buffers.get(traceId);
+        if (buffer == null) {
+            if (buffers.size() >= maxBufferedTraces) {
+                overflowSpans.increment();
+                return;
+            }
+            buffer = buffers.computeIfAbsent(traceId, id -> new TraceBuffer());
+        }
+
+        List<ReadableSpan> spans;
+        synchronized (buffer) {
+            if (buffer.closed) {
+                // 다른 스레드가 막 결정을 내렸으면 그 결정을 따른다
+                if (Boolean.TRUE.equals(decisions.get(traceId))) {
+                    delegate.onEnd(span);
+                }
+                return;
+            }
+            // 위에서 결정을 확인한 뒤 루트가 끝나 버퍼가 제거되었으면 이 버퍼는 새로 만들어진 것이다
+            // 결정은 버퍼를 제거하기 전에 저장되므로 비어 있는 버퍼에 처음 넣을 때 한 번 더 확인하여, 닫히지 않는 버퍼가 남지 않게 한다
+            if (buffer.spans.isEmpty()) {
+                Boolean late = decisions.get(traceId);
+                if (late != null) {
+                    buffer.closed = true;
+                    buffers.remove(traceId, buffer);
+                    if (late) {
+                        delegate.onEnd(span);
+                    }
+                    return;
+                }
+            }
+            buffer.spans.add(span);
+            buffer.failed |= isFailed(span);
+            if (!isLocalRoot(span)) {
+                return;
+            }
+            buffer.closed = true;
+            spans = buffer.spans;
+            boolean keep = buffer.failed || span.getLatencyNanos() >= slowThresholdNanos || sampled();
+            decisions.put(traceId, keep, System.currentTimeMillis() + TimeUnit.NANOSECONDS.toMillis(maxTraceAgeNanos));
+            buffers.remove(traceId, buffer);
+            if (!keep) {
+                droppedTraces.increment();
+                return;
+            }
+        }
+        keptTraces.increment();
+        for (ReadableSpan buffered : spans) {
+            delegate.onEnd(buffered);
+        }
+    }
+
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+
+    // 부모가 없거나 다른 서비스에서 전파된 부모를 가진 span, 이 인스턴스에서 처리한 구간의 가장 바깥
+    private static boolean isLocalRoot(ReadableSpan span) {
+        SpanContext parent = span.getParentSpanContext();
+        return !parent.isValid() || parent.isRemote();
+    }
+
+    private static boolean isFailed(ReadableSpan span) {
+        return span.toSpanData().getStatus().getStatusCode() == StatusCode.ERROR
+                || SERVER_ERROR.equals(span.getAttribute(OUTCOME));
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1.0 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    // 루트 span 이 끝나지 않은 채 오래된 trace 는 버린다 (루트가 다른 인스턴스에 있거나 끝나지 않은 경우)
+    private void sweepIfDue() {
+        long now = System.nanoTime();
+        long last = lastSweepNanos.get();
+        if (now - last < maxTraceAgeNanos || !lastSweepNanos.compareAndSet(last, now)) {
+            return;
+        }
+        buffers.entrySet().removeIf(entry -> now - entry.getValue().createdAtNanos >= maxTraceAgeNanos);
+    }
+
+    @Override
+    public CompletableResultCode forceFlush() {
+        return delegate.forceFlush();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        buffers.clear();
+        return delegate.shutdown();
+    }
+
+    public long getKeptTraceCount() {
+        return keptTraces.sum();
+    }
+
+    public long getDroppedTraceCount() {
+        return droppedTraces.sum();
+    }
+
+    public long getOverflowSpanCount() {
+        return overflowSpans.sum();
+    }
+
+    public int getBufferedTraceCount() {
+        return buffers.size();
+    }
+
+    private static final class TraceBuffer {
+        private final long createdAtNanos = System.nanoTime();
+        private final List<ReadableSpan> spans = new ArrayList<>();
+        private boolean failed;
+        private boolean closed;
+    }
+}
@@ -0,0 +1,33 @@
+package com.sparta.springtrello.common.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// 응답 헤더에 trace id 를 담아, 느리거나 실패한 요청을 받은 쪽이 trace 를 바로 찾을 수 있게 한다
+// 요청 span 을 여는 관측 필터 다음에 실행되어야 한다
+public class TraceIdResponseFilter extends OncePerRequestFilter {
+
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+
+    private final TraceSpans traceSpans;
+
+    public TraceIdResponseFilter(TraceSpans traceSpans) {
+        this.traceSpans = traceSpans;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String traceId = traceSpans.currentTraceId();
+        if (traceId != null) {
+            response.setHeader(TRACE_ID_HEADER, traceId);
+        }
+        filterChain.doFilter(request, response);
+    }
+}
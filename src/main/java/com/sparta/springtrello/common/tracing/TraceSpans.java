@@ -0,0 +1,74 @@
+package com.sparta.springtrello.common.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+// 처리 구간별 span 생성
+// 현재 span 의 자식으로 만들고, 예외가 나면 span 에 기록한 뒤 그대로 던진다
+@Component
+public class TraceSpans {
+
+    private final Tracer tracer;
+
+    public TraceSpans(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    public <T> T inSpan(String name, Supplier<T> work) {
+        Span span = start(name);
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return work.get();
+        } catch (RuntimeException | Error e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    public void inSpan(String name, Runnable work) {
+        inSpan(name, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    // 비동기 작업처럼 끝나는 시점이 다른 스레드인 경우, 호출한 쪽에서 end 해야 한다
+    public Span start(String name) {
+        return tracer.nextSpan().name(name).start();
+    }
+
+    // 다른 스레드에서 이어지는 작업을 span 안에서 실행, 그 안에서 만든 span 은 이 span 의 자식이 된다
+    public <T> T inScope(Span span, Supplier<T> work) {
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return work.get();
+        }
+    }
+
+    public void inScope(Span span, Runnable work) {
+        inScope(span, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    // 작업을 다른 스레드로 넘길 때 붙잡아 둘 현재 span, 추적 중이 아니면 null
+    public Span currentSpan() {
+        return tracer.currentSpan();
+    }
+
+    // 현재 trace id, 추적 중이 아니면 null
+    public String currentTraceId() {
+        Span span = tracer.currentSpan();
+        if (span == null) {
+            return null;
+        }
+        TraceContext context = span.context();
+        String traceId = context.traceId();
+        return traceId == null || traceId.isEmpty() ? null : traceId;
+    }
+}
@@ -0,0 +1,26 @@
+package com.sparta.springtrello.config;
+
+import com.sparta.springtrello.common.AccessLogFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(name = "access-log.enabled", havingValue = "true", matchIfMissing = true)
+public class AccessLogConfig {
+
+    // 성공 응답 기록 비율 (0.0 ~ 1.0)
+    @Value("${access-log.success-sample-rate:0.1}")
+    private double successSampleRate;
+
+    // 보안 필터 체인보다 바깥에서 실행되어 인증 실패 응답까지 기록
+    @Bean
+    public FilterRegistrationBean<AccessLogFilter> accessLogFilter() {
+        FilterRegistrationBean<AccessLogFilter> registration = new FilterRegistrationBean<>(new AccessLogFilter(successSampleRate));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
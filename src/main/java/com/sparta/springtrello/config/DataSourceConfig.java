@@ -0,0 +1,90 @@
+package com.sparta.springtrello.config;
+
+import com.sparta.springtrello.auth.UserDetailsImpl;
+import com.sparta.springtrello.common.datasource.ReadWriteRoutingDataSource;
+import com.sparta.springtrello.common.datasource.ReadYourWritesTracker;
+import com.sparta.springtrello.common.datasource.ReplicaDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// primary(spring.datasource) + 읽기 전용 복제본(datasource.replicas) 라우팅
+// 복제본이 없으면 모든 커넥션이 primary 로 가므로 기존과 같다
+@Configuration
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(HikariDataSource primaryDataSource,
+                                                                 DataSourceProperties properties,
+                                                                 ReplicaDataSourceProperties replicaProperties,
+                                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        replicaProperties.getRouting().validate();
+        List<ReplicaDataSource> replicas = new ArrayList<>();
+        List<ReplicaDataSourceProperties.Replica> configured = replicaProperties.getReplicas();
+        for (int i = 0; i < configured.size(); i++) {
+            ReplicaDataSourceProperties.Replica replica = configured.get(i);
+            String name = "replica-" + (i + 1);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName(name);
+            dataSource.setDriverClassName(properties.determineDriverClassName());
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername());
+            dataSource.setPassword(replica.getPassword());
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setReadOnly(true);
+            // 복제본이 내려가 있어도 기동은 되도록 풀을 미리 채우지 않는다, 상태 확인 전까지는 primary 사용
+            dataSource.setInitializationFailTimeout(-1);
+            dataSource.setConnectionTimeout(replicaProperties.getRouting().getCheckTimeoutSeconds() * 1000L);
+            // 빈이 아닌 풀이라 Spring Boot 가 hikaricp.* 메트릭을 붙이지 않으므로 직접 등록
+            meterRegistry.ifAvailable(registry -> dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            replicas.add(new ReplicaDataSource(name, dataSource));
+        }
+
+        ReplicaDataSourceProperties.Routing routing = replicaProperties.getRouting();
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(routing.getStickyMaxUsers(), routing.getStickyWindowMs());
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas, tracker, DataSourceConfig::currentUserId,
+                routing.getMaxLagSeconds(), routing.getLagQuery(), routing.getCheckTimeoutSeconds());
+    }
+
+    // JPA 와 트랜잭션 매니저가 사용하는 DataSource
+    // 트랜잭션 시작 시점이 아니라 첫 쿼리 시점에 readOnly 여부를 보고 커넥션을 고르도록 지연
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    // 읽기 일관성 기준이 되는 사용자 id, 인증되지 않은 요청과 백그라운드 작업은 null
+    // username 은 바뀔 수 있고 인증 방식마다 다를 수 있으므로 id 로 구분한다
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || !(authentication.getPrincipal() instanceof UserDetailsImpl userDetails)) {
+            return null;
+        }
+        return userDetails.getId();
+    }
+}
@@ -0,0 +1,103 @@
+package com.sparta.springtrello.config;
+
+import com.sparta.springtrello.auth.UserDetailsCache;
+import com.sparta.springtrello.common.datasource.ReadWriteRoutingDataSource;
+import com.sparta.springtrello.common.datasource.ReplicaDataSource;
+import com.sparta.springtrello.domain.user.client.KakaoClient;
+import com.sparta.springtrello.domain.user.service.ProfileCache;
+import com.sparta.springtrello.domain.user.service.ProfilePictureUploader;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.ToDoubleFunction;
+
+// 자체 카운터를 가진 컴포넌트(캐시, 업로드 대기열, 카카오 서킷 브레이커, DB 라우팅)의 값을 Micrometer 에 노출
+// 값은 스크랩할 때 getter 로 읽으므로 요청 처리 경로에는 비용이 없다
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder userDetailsCacheMetrics(UserDetailsCache userDetailsCache) {
+        return registry -> {
+            FunctionCounter.builder("cache.gets", userDetailsCache, UserDetailsCache::getHitCount)
+                    .tags("cache", "userDetails", "result", "hit").register(registry);
+            FunctionCounter.builder("cache.gets", userDetailsCache, UserDetailsCache::getMissCount)
+                    .tags("cache", "userDetails", "result", "miss").register(registry);
+            FunctionCounter.builder("cache.evictions", userDetailsCache, UserDetailsCache::getEvictionCount)
+                    .tag("cache", "userDetails").register(registry);
+            Gauge.builder("cache.size", userDetailsCache, UserDetailsCache::size)
+                    .tag("cache", "userDetails").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder profileCacheMetrics(ProfileCache profileCache) {
+        return registry -> {
+            FunctionCounter.builder("cache.gets", profileCache, ProfileCache::getHitCount)
+                    .tags("cache", "profile", "result", "hit").register(registry);
+            FunctionCounter.builder("cache.gets", profileCache, ProfileCache::getMissCount)
+                    .tags("cache", "profile", "result", "miss").register(registry);
+            FunctionCounter.builder("cache.loads", profileCache, ProfileCache::getLoadCount)
+                    .tag("cache", "profile").register(registry);
+            FunctionCounter.builder("cache.evictions", profileCache, ProfileCache::getEvictionCount)
+                    .tag("cache", "profile").register(registry);
+            Gauge.builder("cache.size", profileCache, ProfileCache::size)
+                    .tag("cache", "profile").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder kakaoClientMetrics(KakaoClient kakaoClient) {
+        return registry -> {
+            // 0: CLOSED, 1: OPEN, 2: HALF_OPEN
+            Gauge.builder("kakao.circuit.state", kakaoClient, client -> client.getCircuitState().ordinal())
+                    .register(registry);
+            FunctionCounter.builder("kakao.circuit.opened", kakaoClient, KakaoClient::getCircuitOpenedCount)
+                    .register(registry);
+            FunctionCounter.builder("kakao.circuit.rejected", kakaoClient, KakaoClient::getCircuitRejectedCount)
+                    .register(registry);
+            FunctionCounter.builder("kakao.bulkhead.rejected", kakaoClient, KakaoClient::getBulkheadRejectedCount)
+                    .register(registry);
+            Gauge.builder("kakao.bulkhead.active", kakaoClient, KakaoClient::getActiveCalls)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder profilePictureUploaderMetrics(ProfilePictureUploader profilePictureUploader) {
+        return registry -> Gauge.builder("profile.upload.pending", profilePictureUploader,
+                        ProfilePictureUploader::getPendingCount)
+                .description("임시 저장 후 업로드를 기다리거나 진행 중인 프로필 사진 수")
+                .register(registry);
+    }
+
+    // 커넥션 풀 자체(hikaricp.*)는 Spring Boot 와 DataSourceConfig 에서 등록
+    @Bean
+    public MeterBinder readWriteRoutingMetrics(ReadWriteRoutingDataSource routingDataSource) {
+        return registry -> {
+            routeCounter(registry, routingDataSource, "primary", ReadWriteRoutingDataSource::getPrimaryRouteCount);
+            routeCounter(registry, routingDataSource, "replica", ReadWriteRoutingDataSource::getReplicaRouteCount);
+            routeCounter(registry, routingDataSource, "sticky", ReadWriteRoutingDataSource::getStickyRouteCount);
+            routeCounter(registry, routingDataSource, "pinned", ReadWriteRoutingDataSource::getPinnedRouteCount);
+            routeCounter(registry, routingDataSource, "fallback", ReadWriteRoutingDataSource::getFallbackRouteCount);
+            for (ReplicaDataSource replica : routingDataSource.getReplicas()) {
+                Gauge.builder("datasource.replica.lag", replica, ReplicaDataSource::getLagSeconds)
+                        .tag("replica", replica.getName()).baseUnit("seconds").register(registry);
+                Gauge.builder("datasource.replica.healthy", replica, r -> r.isHealthy() ? 1 : 0)
+                        .tag("replica", replica.getName()).register(registry);
+            }
+        };
+    }
+
+    private static void routeCounter(MeterRegistry registry, ReadWriteRoutingDataSource routingDataSource, String route,
+                                     ToDoubleFunction<ReadWriteRoutingDataSource> count) {
+        FunctionCounter.builder("datasource.routes", routingDataSource, count)
+                .description("커넥션을 가져온 대상별 횟수")
+                .tag("route", route)
+                .register(registry);
+    }
+}
@@ -1,15 +1,57 @@
 package com.sparta.springtrello.config;
 
+import com.sparta.springtrello.auth.BCryptCostCalibrator;
+import com.sparta.springtrello.auth.BoundedPasswordEncoder;
+import com.sparta.springtrello.common.tracing.TraceSpans;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Map;
+
+@Slf4j(topic = "비밀번호 해시 설정")
 @Configuration
 public class PasswordConfig {
 
+    private static final String BCRYPT_ID = "bcrypt";
+
+    // 해시 전용 스레드 수, 0 이하이면 CPU 코어 수의 절반 사용
+    @Value("${password-hashing.threads:0}")
+    private int threads;
+
+    // 해시 대기열 길이, 초과 요청은 즉시 거절
+    @Value("${password-hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    // 해시 1회당 목표 지연 시간과 BCrypt cost 범위
+    @Value("${password-hashing.target-millis:250}")
+    private long targetMillis;
+
+    @Value("${password-hashing.min-strength:10}")
+    private int minStrength;
+
+    @Value("${password-hashing.max-strength:14}")
+    private int maxStrength;
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry, TraceSpans traceSpans) {
+        BCryptCostCalibrator.Result calibration = BCryptCostCalibrator.calibrate(targetMillis, minStrength, maxStrength);
+        log.info("BCrypt cost 측정 결과: strength={}, 해시 1회 {}ms (목표 {}ms)",
+                calibration.strength(), calibration.measuredMillis(), calibration.targetMillis());
+
+        // 새 해시는 {bcrypt}$2a$<cost>$... 형식으로 알고리즘과 cost 를 함께 저장
+        DelegatingPasswordEncoder delegatingEncoder = new DelegatingPasswordEncoder(
+                BCRYPT_ID, Map.of(BCRYPT_ID, new BCryptPasswordEncoder(calibration.strength()))
+        );
+        // 접두사가 없는 기존 해시도 검증하고, 로그인 시 upgradeEncoding 으로 재해시 대상이 된다
+        delegatingEncoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(delegatingEncoder, poolSize, queueCapacity, meterRegistry, traceSpans);
     }
 }
@@ -0,0 +1,49 @@
+package com.sparta.springtrello.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 읽기 전용 복제본 목록과 라우팅 설정 (datasource.*)
+// 복제본 목록은 @Value 로 바인딩할 수 없어 ConfigurationProperties 사용
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "datasource")
+public class ReplicaDataSourceProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+    private Routing routing = new Routing();
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+
+    @Getter
+    @Setter
+    public static class Routing {
+        private double maxLagSeconds = 5;
+        // 복제본은 최대 maxLagSeconds 만큼 늦을 수 있고, 지연 측정값은 healthCheckIntervalMs 만큼 오래됐을 수 있다
+        private long stickyWindowMs = 8000;
+        private int stickyMaxUsers = 100000;
+        private String lagQuery = "SHOW REPLICA STATUS";
+        private int checkTimeoutSeconds = 2;
+        private long healthCheckIntervalMs = 2000;
+
+        // 쓰기 직후 복제본이 따라잡기 전에 sticky 가 풀리면 자신이 쓴 값을 못 읽으므로 기동 시 거부
+        public void validate() {
+            long minStickyWindowMs = (long) Math.ceil(maxLagSeconds * 1000) + healthCheckIntervalMs;
+            if (stickyWindowMs < minStickyWindowMs) {
+                throw new IllegalArgumentException("datasource.routing.sticky-window-ms must be at least "
+                        + "max-lag-seconds + health-check-interval-ms (" + minStickyWindowMs + "ms): " + stickyWindowMs);
+            }
+        }
+    }
+}
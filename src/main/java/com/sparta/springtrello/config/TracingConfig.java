@@ -0,0 +1,87 @@
+package com.sparta.springtrello.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sparta.springtrello.common.tracing.JsonLinesFileSpanExporter;
+import com.sparta.springtrello.common.tracing.TailSamplingSpanProcessor;
+import com.sparta.springtrello.common.tracing.TraceIdResponseFilter;
+import com.sparta.springtrello.common.tracing.TraceSpans;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.opentelemetry.exporter.otlp.http.trace.OtlpHttpSpanExporter;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+// 요청 추적: Micrometer Tracing(OpenTelemetry) 이 요청 span 과 MDC(traceId, spanId)를 만들고,
+// 여기서는 trace id 응답 헤더와 tail sampling + exporter 를 구성한다
+// 모든 span 을 기록(management.tracing.sampling.probability=1.0)한 뒤 TailSamplingSpanProcessor 가 보낼 trace 를 고른다
+// exporter 는 SpanExporter 빈으로 등록하지 않는다, 빈으로 등록하면 Spring Boot 의 기본 processor 가 표본 없이 모두 보낸다
+@Configuration
+public class TracingConfig {
+
+    // none | file | otlp
+    @Value("${tracing.exporter:none}")
+    private String exporterType;
+
+    @Value("${tracing.file:./traces.jsonl}")
+    private String file;
+
+    @Value("${tracing.otlp-endpoint:http://localhost:4318/v1/traces}")
+    private String otlpEndpoint;
+
+    @Value("${tracing.tail-sampling.slow-threshold-ms:500}")
+    private long slowThresholdMillis;
+
+    @Value("${tracing.tail-sampling.sample-rate:0.01}")
+    private double sampleRate;
+
+    @Value("${tracing.tail-sampling.max-buffered-traces:10000}")
+    private int maxBufferedTraces;
+
+    @Value("${tracing.tail-sampling.max-trace-age-ms:30000}")
+    private long maxTraceAgeMillis;
+
+    // 요청 span 을 여는 ServerHttpObservationFilter(HIGHEST_PRECEDENCE + 1) 다음, 접근 로그 필터보다 먼저
+    @Bean
+    public FilterRegistrationBean<TraceIdResponseFilter> traceIdResponseFilter(TraceSpans traceSpans) {
+        FilterRegistrationBean<TraceIdResponseFilter> registration = new FilterRegistrationBean<>(new TraceIdResponseFilter(traceSpans));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnExpression("'${tracing.exporter:none}' != 'none'")
+    public TailSamplingSpanProcessor tailSamplingSpanProcessor(ObjectMapper objectMapper) throws IOException {
+        SpanExporter exporter = switch (exporterType) {
+            case "file" -> new JsonLinesFileSpanExporter(objectMapper, Paths.get(file));
+            case "otlp" -> OtlpHttpSpanExporter.builder().setEndpoint(otlpEndpoint).build();
+            default -> throw new IllegalArgumentException("지원하지 않는 tracing.exporter: " + exporterType);
+        };
+        return new TailSamplingSpanProcessor(BatchSpanProcessor.builder(exporter).build(),
+                slowThresholdMillis, sampleRate, maxBufferedTraces, maxTraceAgeMillis);
+    }
+
+    @Bean
+    @ConditionalOnExpression("'${tracing.exporter:none}' != 'none'")
+    public MeterBinder tailSamplingMetrics(TailSamplingSpanProcessor processor) {
+        return registry -> {
+            FunctionCounter.builder("tracing.traces", processor, TailSamplingSpanProcessor::getKeptTraceCount)
+                    .tag("decision", "kept").register(registry);
+            FunctionCounter.builder("tracing.traces", processor, TailSamplingSpanProcessor::getDroppedTraceCount)
+                    .tag("decision", "dropped").register(registry);
+            FunctionCounter.builder("tracing.spans.overflow", processor, TailSamplingSpanProcessor::getOverflowSpanCount)
+                    .description("버퍼가 가득 차 버린 span 수").register(registry);
+            Gauge.builder("tracing.traces.buffered", processor, TailSamplingSpanProcessor::getBufferedTraceCount)
+                    .register(registry);
+        };
+    }
+}
@@ -5,12 +5,20 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sparta.springtrello.auth.JwtAuthenticationFilter;
 import com.sparta.springtrello.auth.JwtAuthorizationFilter;
 import com.sparta.springtrello.auth.JwtProvider;
+import com.sparta.springtrello.auth.LoginThrottle;
+import com.sparta.springtrello.auth.SessionTable;
+import com.sparta.springtrello.auth.TokenVersionTable;
 import com.sparta.springtrello.auth.UserDetailsServiceImpl;
+import com.sparta.springtrello.common.ResponseBodyWriter;
+import com.sparta.springtrello.common.tracing.TraceSpans;
+import com.sparta.springtrello.domain.user.repository.RefreshTokenStore;
 import com.sparta.springtrello.domain.user.repository.UserAdapter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -32,6 +40,22 @@ public class WebSecurityConfig {
     private final UserAdapter userAdapter;
     private final ObjectMapper objectMapper;
     private final PasswordEncoder passwordEncoder;
+    private final TokenVersionTable tokenVersionTable;
+    private final SessionTable sessionTable;
+    private final RefreshTokenStore refreshTokenStore;
+    private final LoginThrottle loginThrottle;
+    private final ResponseBodyWriter responseBodyWriter;
+    private final TraceSpans traceSpans;
+
+    // 액세스 토큰 클레임만으로 인증 처리(요청당 DB 조회 없음)
+    @Value("${jwt-claims-principal:false}")
+    private boolean claimsPrincipalEnabled;
+
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    @Value("${management.server.port:${server.port:8080}}")
+    private int managementPort;
 
     // 사용자 인증을 처리하는 컴포넌트
     @Bean
@@ -43,7 +67,8 @@ public class WebSecurityConfig {
     // 사용자 로그인 시 JWT를 생성하고 반환하는 필터
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() throws Exception {
-        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtProvider, userAdapter, objectMapper,passwordEncoder);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtProvider, userAdapter, objectMapper, passwordEncoder,
+                refreshTokenStore, loginThrottle, responseBodyWriter, traceSpans);
         filter.setAuthenticationManager(authenticationManager(authenticationConfiguration));
         return filter;
     }
@@ -51,7 +76,13 @@ public class WebSecurityConfig {
     // 모든 요청에 대해 JWT의 유효성을 검사하고, 유효한 토큰일 경우 사용자를 인증 상태로 설정하는 필터
     @Bean
     public JwtAuthorizationFilter jwtAuthorizationFilter() {
-        return new JwtAuthorizationFilter(jwtProvider, userDetailsService, userAdapter, objectMapper);
+        return new JwtAuthorizationFilter(jwtProvider, userDetailsService, responseBodyWriter,
+                tokenVersionTable, sessionTable, refreshTokenStore, traceSpans, claimsPrincipalEnabled, isMetricsPortSeparate());
+    }
+
+    // 메트릭이 공개하지 않는 별도 관리 포트로만 제공되는지, 앱 포트와 같으면 메트릭 수집에도 인증을 요구한다
+    private boolean isMetricsPortSeparate() {
+        return managementPort != serverPort;
     }
 
     // 위에 정의된 필터를 사용하여 필터 체인을 구성
@@ -65,12 +96,19 @@ public class WebSecurityConfig {
                 sessionManagement.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
         );
 
-        http.authorizeHttpRequests((authorizeHttpRequests) ->
-                authorizeHttpRequests
-                        .requestMatchers(PathRequest.toStaticResources().atCommonLocations()).permitAll() // resources 접근 허용 설정
-                        .requestMatchers("/", "/error", "/users/signup", "/users/login", "/users/kakao/authorize", "/users/kakao/callback").permitAll() // 메인 페이지, 에러 페이지, 회원가입, 로그인, 카카오 요청 허가
-                        .anyRequest().authenticated() // 그 외 모든 요청 인증처리
-        );
+        http.authorizeHttpRequests((authorizeHttpRequests) -> {
+            if (isMetricsPortSeparate()) {
+                authorizeHttpRequests.requestMatchers(HttpMethod.GET, "/actuator/prometheus").permitAll(); // 관리 포트의 메트릭 수집
+            }
+            authorizeHttpRequests
+                    .requestMatchers(PathRequest.toStaticResources().atCommonLocations()).permitAll() // resources 접근 허용 설정
+                    .requestMatchers("/", "/error", "/users/signup", "/users/login", "/users/kakao/authorize", "/users/kakao/callback").permitAll() // 메인 페이지, 에러 페이지, 회원가입, 로그인, 카카오 요청 허가
+                    .requestMatchers(HttpMethod.GET, "/files/**").permitAll() // 로컬 저장소 파일
+                    .requestMatchers(HttpMethod.HEAD, "/files/**").permitAll()
+                    .requestMatchers(HttpMethod.PUT, "/files/**").permitAll() // 서명된 URL 업로드, 서명은 LocalFileController 에서 검증
+                    .requestMatchers(HttpMethod.GET, "/actuator/health/**").permitAll() // 헬스 체크
+                    .anyRequest().authenticated(); // 그 외 모든 요청 인증처리
+        });
 
         // 필터 체인 구성
         http.addFilterBefore(jwtAuthorizationFilter(), UsernamePasswordAuthenticationFilter.class);
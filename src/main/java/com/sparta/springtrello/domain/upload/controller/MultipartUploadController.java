@@ -0,0 +1,79 @@
+package com.sparta.springtrello.domain.upload.controller;
+
+import com.sparta.springtrello.auth.UserDetailsImpl;
+import com.sparta.springtrello.common.HttpResponseDto;
+import com.sparta.springtrello.common.ResponseUtils;
+import com.sparta.springtrello.domain.upload.dto.MultipartUploadInitiateRequestDto;
+import com.sparta.springtrello.domain.upload.dto.MultipartUploadPartsResponseDto;
+import com.sparta.springtrello.domain.upload.dto.MultipartUploadResponseDto;
+import com.sparta.springtrello.domain.upload.dto.UploadedPartResponseDto;
+import com.sparta.springtrello.domain.upload.service.MultipartUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/uploads")
+public class MultipartUploadController {
+    private final MultipartUploadService multipartUploadService;
+
+    // 멀티파트 업로드 시작 -> 파트 크기와 개수 응답
+    @PostMapping
+    public ResponseEntity<HttpResponseDto<MultipartUploadResponseDto>> initiate(
+            @Validated @RequestBody MultipartUploadInitiateRequestDto requestDto,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        return ResponseUtils.success(HttpStatus.CREATED, multipartUploadService.initiate(userDetails.getId(), requestDto));
+    }
+
+    // 업로드 상태 조회, 완료되면 파일 URL 포함
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<HttpResponseDto<MultipartUploadResponseDto>> getUpload(
+            @PathVariable Long uploadId,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        return ResponseUtils.success(HttpStatus.OK, multipartUploadService.getUpload(userDetails.getId(), uploadId));
+    }
+
+    // 파트 업로드, 요청 본문이 파트 내용(Content-Length 필수)이며 여러 파트를 동시에 보내도 된다
+    @PutMapping("/{uploadId}/parts/{partNumber}")
+    public ResponseEntity<HttpResponseDto<UploadedPartResponseDto>> uploadPart(
+            @PathVariable Long uploadId,
+            @PathVariable int partNumber,
+            HttpServletRequest request,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) throws IOException {
+        UploadedPartResponseDto part = multipartUploadService.uploadPart(userDetails.getId(), uploadId, partNumber,
+                request.getInputStream(), request.getContentLengthLong());
+        return ResponseUtils.success(HttpStatus.OK, part);
+    }
+
+    // 받은 파트와 아직 받지 못한 파트 번호 조회
+    @GetMapping("/{uploadId}/parts")
+    public ResponseEntity<HttpResponseDto<MultipartUploadPartsResponseDto>> listParts(
+            @PathVariable Long uploadId,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        return ResponseUtils.success(HttpStatus.OK, multipartUploadService.listParts(userDetails.getId(), uploadId));
+    }
+
+    // 업로드 완료 -> 파트를 합쳐 하나의 파일로 만든다
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<HttpResponseDto<MultipartUploadResponseDto>> complete(
+            @PathVariable Long uploadId,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        return ResponseUtils.success(HttpStatus.OK, multipartUploadService.complete(userDetails.getId(), uploadId));
+    }
+
+    // 업로드 취소 -> 받은 파트를 버린다
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<HttpResponseDto<Void>> abort(
+            @PathVariable Long uploadId,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        multipartUploadService.abort(userDetails.getId(), uploadId);
+        return ResponseUtils.success(HttpStatus.OK);
+    }
+}
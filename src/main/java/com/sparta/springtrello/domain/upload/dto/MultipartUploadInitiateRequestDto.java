@@ -0,0 +1,22 @@
+package com.sparta.springtrello.domain.upload.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class MultipartUploadInitiateRequestDto {
+
+    @NotBlank(message = "파일 이름을 입력해주세요.")
+    @Size(max = 255, message = "파일 이름은 255자 이하로 입력해주세요.")
+    private String fileName;
+
+    @NotBlank(message = "업로드할 파일의 타입을 입력해주세요.")
+    private String contentType;
+
+    @Positive(message = "파일 크기를 입력해주세요.")
+    private long size;
+}
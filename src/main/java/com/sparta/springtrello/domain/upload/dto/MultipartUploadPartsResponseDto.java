@@ -0,0 +1,15 @@
+package com.sparta.springtrello.domain.upload.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class MultipartUploadPartsResponseDto {
+    private Long uploadId;
+    private int partCount;
+    private List<UploadedPartResponseDto> parts; // 받은 파트
+    private List<Integer> missingPartNumbers; // 이어서 올려야 할 파트 번호
+}
@@ -0,0 +1,28 @@
+package com.sparta.springtrello.domain.upload.dto;
+
+import com.sparta.springtrello.domain.upload.entity.MultipartUpload;
+import com.sparta.springtrello.domain.upload.entity.MultipartUploadStatusEnum;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class MultipartUploadResponseDto {
+    private Long uploadId;
+    private String fileName;
+    private String contentType;
+    private long size;
+    private long partSize; // 마지막 파트를 제외한 모든 파트의 크기
+    private int partCount; // 파트 번호는 1 ~ partCount
+    private MultipartUploadStatusEnum status;
+    private LocalDateTime expiresAt; // 이때까지 완료하지 않으면 받은 파트를 버린다
+    private String url; // 완료된 경우에만
+
+    public static MultipartUploadResponseDto of(MultipartUpload upload, String url) {
+        return new MultipartUploadResponseDto(upload.getId(), upload.getFileName(), upload.getContentType(),
+                upload.getSize(), upload.getPartSize(), upload.getPartCount(), upload.getStatus(),
+                upload.getExpiresAt(), url);
+    }
+}
@@ -0,0 +1,17 @@
+package com.sparta.springtrello.domain.upload.dto;
+
+import com.sparta.springtrello.common.storage.ObjectStorage;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class UploadedPartResponseDto {
+    private int partNumber;
+    private long size;
+    private String etag;
+
+    public static UploadedPartResponseDto of(ObjectStorage.UploadedPart part) {
+        return new UploadedPartResponseDto(part.partNumber(), part.size(), part.etag());
+    }
+}
@@ -0,0 +1,77 @@
+package com.sparta.springtrello.domain.upload.entity;
+
+import com.sparta.springtrello.common.Timestamped;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 재개 가능한 멀티파트 업로드 세션
+// 받은 파트 목록은 저장소가 관리하므로 여기에는 파트 크기와 개수, 저장소 업로드 ID 만 보관
+@Getter
+@Entity
+@NoArgsConstructor
+@Table(name = "multipart_uploads", indexes = {
+        @Index(name = "idx_multipart_uploads_status_expires_at", columnList = "status, expires_at")
+})
+public class MultipartUpload extends Timestamped {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "object_key", nullable = false, length = 512)
+    private String objectKey;
+
+    @Column(name = "storage_upload_id", nullable = false, length = 1024)
+    private String storageUploadId;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    @Column(nullable = false)
+    private String contentType;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(nullable = false)
+    private long partSize;
+
+    @Column(nullable = false)
+    private int partCount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private MultipartUploadStatusEnum status;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public MultipartUpload(Long userId, String objectKey, String storageUploadId, String fileName, String contentType,
+                           long size, long partSize, LocalDateTime expiresAt) {
+        this.userId = userId;
+        this.objectKey = objectKey;
+        this.storageUploadId = storageUploadId;
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.size = size;
+        this.partSize = partSize;
+        this.partCount = (int) ((size + partSize - 1) / partSize);
+        this.status = MultipartUploadStatusEnum.IN_PROGRESS;
+        this.expiresAt = expiresAt;
+    }
+
+    // 마지막 파트만 나머지 크기, 나머지 파트는 모두 partSize
+    public long expectedPartSize(int partNumber) {
+        return partNumber < partCount ? partSize : size - partSize * (partCount - 1);
+    }
+
+    public boolean isOpen(LocalDateTime now) {
+        return status == MultipartUploadStatusEnum.IN_PROGRESS && expiresAt.isAfter(now);
+    }
+}
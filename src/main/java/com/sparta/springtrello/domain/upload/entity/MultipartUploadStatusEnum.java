@@ -0,0 +1,8 @@
+package com.sparta.springtrello.domain.upload.entity;
+
+public enum MultipartUploadStatusEnum {
+    IN_PROGRESS, // 파트 업로드 중
+    COMPLETED, // 파트를 합쳐 객체 생성 완료
+    ABORTED, // 사용자가 취소
+    EXPIRED, // 기한 안에 완료되지 않아 정리됨
+}
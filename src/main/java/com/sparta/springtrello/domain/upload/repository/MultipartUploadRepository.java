@@ -0,0 +1,29 @@
+package com.sparta.springtrello.domain.upload.repository;
+
+import com.sparta.springtrello.domain.upload.entity.MultipartUpload;
+import com.sparta.springtrello.domain.upload.entity.MultipartUploadStatusEnum;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface MultipartUploadRepository extends JpaRepository<MultipartUpload, Long> {
+    Optional<MultipartUpload> findByIdAndUserId(Long id, Long userId);
+
+    @Query("select m from MultipartUpload m where m.status = :status and m.expiresAt <= :now order by m.expiresAt")
+    List<MultipartUpload> findExpired(@Param("status") MultipartUploadStatusEnum status,
+                                      @Param("now") LocalDateTime now, Pageable pageable);
+
+    // 상태가 from 일 때만 변경, 완료/취소/정리가 동시에 일어나도 하나만 성공
+    @Transactional
+    @Modifying
+    @Query("update MultipartUpload m set m.status = :to, m.modifiedAt = :now where m.id = :id and m.status = :from")
+    int transition(@Param("id") Long id, @Param("from") MultipartUploadStatusEnum from,
+                   @Param("to") MultipartUploadStatusEnum to, @Param("now") LocalDateTime now);
+}
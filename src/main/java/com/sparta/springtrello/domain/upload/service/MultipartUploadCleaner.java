@@ -0,0 +1,27 @@
+package com.sparta.springtrello.domain.upload.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 기한 안에 완료되지 않은 멀티파트 업로드의 파트를 주기적으로 정리
+@Slf4j(topic = "멀티파트 업로드 정리")
+@Component
+@RequiredArgsConstructor
+public class MultipartUploadCleaner {
+    private final MultipartUploadService multipartUploadService;
+
+    @Scheduled(fixedDelayString = "${multipart-upload.cleanup-interval-ms:600000}")
+    public void abortExpiredUploads() {
+        int total = 0;
+        int aborted;
+        do {
+            aborted = multipartUploadService.abortExpired();
+            total += aborted;
+        } while (aborted >= multipartUploadService.getCleanupBatchSize());
+        if (total > 0) {
+            log.info("기한이 지난 멀티파트 업로드 {}개 정리", total);
+        }
+    }
+}
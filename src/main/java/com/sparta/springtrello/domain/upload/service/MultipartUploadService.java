@@ -0,0 +1,236 @@
+package com.sparta.springtrello.domain.upload.service;
+
+import com.sparta.springtrello.common.ResponseCodeEnum;
+import com.sparta.springtrello.common.storage.ObjectStorage;
+import com.sparta.springtrello.common.storage.ObjectStorageMetrics;
+import com.sparta.springtrello.domain.upload.dto.MultipartUploadInitiateRequestDto;
+import com.sparta.springtrello.domain.upload.dto.MultipartUploadPartsResponseDto;
+import com.sparta.springtrello.domain.upload.dto.MultipartUploadResponseDto;
+import com.sparta.springtrello.domain.upload.dto.UploadedPartResponseDto;
+import com.sparta.springtrello.domain.upload.entity.MultipartUpload;
+import com.sparta.springtrello.domain.upload.entity.MultipartUploadStatusEnum;
+import com.sparta.springtrello.domain.upload.repository.MultipartUploadRepository;
+import com.sparta.springtrello.exception.custom.common.UploadException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// 재개 가능한 멀티파트 업로드
+// 시작 -> 번호가 붙은 파트를 병렬로 업로드(실패한 파트만 다시) -> 받은 파트 조회 -> 완료 또는 취소
+// 파트는 요청 본문을 그대로 저장소로 흘려보내므로 서버는 파트 하나 크기만큼도 메모리에 모으지 않는다
+// 저장소 호출 동안 DB 커넥션을 잡지 않도록 트랜잭션 없이 처리하고, 상태 변경은 조건부 UPDATE 한 번으로 한다
+@Slf4j(topic = "멀티파트 업로드")
+@Service
+public class MultipartUploadService {
+
+    private static final String KEY_PREFIX = "attachments/";
+    // S3 멀티파트 업로드의 최대 파트 수
+    private static final int MAX_PART_COUNT = 10000;
+
+    private final ObjectStorage objectStorage;
+    private final ObjectStorageMetrics objectStorageMetrics;
+    private final MultipartUploadRepository multipartUploadRepository;
+    private final long partSize;
+    private final long maxBytes;
+    private final long ttlHours;
+    private final int cleanupBatchSize;
+
+    public MultipartUploadService(ObjectStorage objectStorage, ObjectStorageMetrics objectStorageMetrics,
+                                  MultipartUploadRepository multipartUploadRepository,
+                                  @Value("${multipart-upload.part-size:8388608}") long partSize,
+                                  @Value("${multipart-upload.max-bytes:1073741824}") long maxBytes,
+                                  @Value("${multipart-upload.ttl-hours:24}") long ttlHours,
+                                  @Value("${multipart-upload.cleanup-batch-size:100}") int cleanupBatchSize) {
+        if (partSize <= 0 || cleanupBatchSize <= 0) {
+            throw new IllegalArgumentException("partSize and cleanupBatchSize must be positive");
+        }
+        this.objectStorage = objectStorage;
+        this.objectStorageMetrics = objectStorageMetrics;
+        this.multipartUploadRepository = multipartUploadRepository;
+        this.partSize = partSize;
+        this.maxBytes = maxBytes;
+        this.ttlHours = ttlHours;
+        this.cleanupBatchSize = cleanupBatchSize;
+    }
+
+    public MultipartUploadResponseDto initiate(Long userId, MultipartUploadInitiateRequestDto requestDto) {
+        String contentType = normalizeContentType(requestDto.getContentType());
+        long size = requestDto.getSize();
+        if (size > maxBytes) {
+            throw new UploadException(ResponseCodeEnum.UPLOAD_TOO_LARGE);
+        }
+        // 파트 수 제한을 넘지 않도록 큰 파일은 파트 크기를 키운다
+        long uploadPartSize = Math.max(partSize, (size + MAX_PART_COUNT - 1) / MAX_PART_COUNT);
+
+        String key = KEY_PREFIX + userId + "/" + UUID.randomUUID();
+        String storageUploadId = callStorage(() -> objectStorage.initiateMultipart(key, contentType));
+        try {
+            MultipartUpload upload = multipartUploadRepository.save(new MultipartUpload(userId, key, storageUploadId,
+                    requestDto.getFileName(), contentType, size, uploadPartSize, LocalDateTime.now().plusHours(ttlHours)));
+            return MultipartUploadResponseDto.of(upload, null);
+        } catch (RuntimeException e) {
+            abortQuietly(key, storageUploadId);
+            throw e;
+        }
+    }
+
+    public MultipartUploadResponseDto getUpload(Long userId, Long uploadId) {
+        MultipartUpload upload = findUpload(userId, uploadId);
+        return MultipartUploadResponseDto.of(upload, urlOf(upload));
+    }
+
+    // 같은 번호의 파트를 다시 올리면 덮어쓰므로 끊긴 파트만 다시 보내면 된다
+    public UploadedPartResponseDto uploadPart(Long userId, Long uploadId, int partNumber, InputStream content,
+                                              long contentLength) {
+        MultipartUpload upload = findOpenUpload(userId, uploadId);
+        if (partNumber < 1 || partNumber > upload.getPartCount()
+                || contentLength != upload.expectedPartSize(partNumber)) {
+            throw new UploadException(ResponseCodeEnum.INVALID_UPLOAD_PART);
+        }
+        ObjectStorage.UploadedPart part = callStorage(() -> objectStorageMetrics.recordUpload("part", contentLength,
+                () -> objectStorage.uploadPart(upload.getObjectKey(), upload.getStorageUploadId(), partNumber, content, contentLength)));
+        return UploadedPartResponseDto.of(part);
+    }
+
+    // 재개할 때 어떤 파트부터 다시 올려야 하는지 확인
+    public MultipartUploadPartsResponseDto listParts(Long userId, Long uploadId) {
+        MultipartUpload upload = findOpenUpload(userId, uploadId);
+        Map<Integer, ObjectStorage.UploadedPart> received = receivedParts(upload);
+
+        List<Integer> missing = new ArrayList<>();
+        for (int partNumber = 1; partNumber <= upload.getPartCount(); partNumber++) {
+            if (!received.containsKey(partNumber)) {
+                missing.add(partNumber);
+            }
+        }
+        List<UploadedPartResponseDto> parts = received.values().stream().map(UploadedPartResponseDto::of).toList();
+        return new MultipartUploadPartsResponseDto(upload.getId(), upload.getPartCount(), parts, missing);
+    }
+
+    // 모든 파트가 기대한 크기로 도착했을 때만 합친다
+    public MultipartUploadResponseDto complete(Long userId, Long uploadId) {
+        MultipartUpload upload = findOpenUpload(userId, uploadId);
+        Map<Integer, ObjectStorage.UploadedPart> received = receivedParts(upload);
+
+        List<ObjectStorage.UploadedPart> parts = new ArrayList<>(upload.getPartCount());
+        for (int partNumber = 1; partNumber <= upload.getPartCount(); partNumber++) {
+            ObjectStorage.UploadedPart part = received.get(partNumber);
+            if (part == null || part.size() != upload.expectedPartSize(partNumber)) {
+                throw new UploadException(ResponseCodeEnum.UPLOAD_INCOMPLETE);
+            }
+            parts.add(part);
+        }
+        runStorage(() -> objectStorage.completeMultipart(upload.getObjectKey(), upload.getStorageUploadId(), parts));
+
+        if (transition(upload, MultipartUploadStatusEnum.COMPLETED) == 0) {
+            // 합치는 동안 취소되거나 기한이 지나 정리됨
+            objectStorage.delete(upload.getObjectKey());
+            throw new UploadException(ResponseCodeEnum.UPLOAD_CLOSED);
+        }
+        return getUpload(userId, uploadId);
+    }
+
+    public void abort(Long userId, Long uploadId) {
+        MultipartUpload upload = findUpload(userId, uploadId);
+        if (transition(upload, MultipartUploadStatusEnum.ABORTED) == 0) {
+            throw new UploadException(ResponseCodeEnum.UPLOAD_CLOSED);
+        }
+        abortQuietly(upload.getObjectKey(), upload.getStorageUploadId());
+    }
+
+    // 기한이 지난 진행 중 업로드의 파트를 버린다, 정리한 건수 반환
+    public int abortExpired() {
+        List<MultipartUpload> expired = multipartUploadRepository.findExpired(MultipartUploadStatusEnum.IN_PROGRESS,
+                LocalDateTime.now(), PageRequest.of(0, cleanupBatchSize));
+        int aborted = 0;
+        for (MultipartUpload upload : expired) {
+            if (transition(upload, MultipartUploadStatusEnum.EXPIRED) > 0) {
+                abortQuietly(upload.getObjectKey(), upload.getStorageUploadId());
+                aborted++;
+            }
+        }
+        return aborted;
+    }
+
+    public int getCleanupBatchSize() {
+        return cleanupBatchSize;
+    }
+
+    private MultipartUpload findUpload(Long userId, Long uploadId) {
+        return multipartUploadRepository.findByIdAndUserId(uploadId, userId)
+                .orElseThrow(() -> new UploadException(ResponseCodeEnum.UPLOAD_NOT_FOUND));
+    }
+
+    private MultipartUpload findOpenUpload(Long userId, Long uploadId) {
+        MultipartUpload upload = findUpload(userId, uploadId);
+        if (!upload.isOpen(LocalDateTime.now())) {
+            throw new UploadException(ResponseCodeEnum.UPLOAD_CLOSED);
+        }
+        return upload;
+    }
+
+    private Map<Integer, ObjectStorage.UploadedPart> receivedParts(MultipartUpload upload) {
+        List<ObjectStorage.UploadedPart> parts = callStorage(
+                () -> objectStorage.listParts(upload.getObjectKey(), upload.getStorageUploadId()));
+        return parts.stream().collect(Collectors.toMap(ObjectStorage.UploadedPart::partNumber, Function.identity(),
+                (first, second) -> second, TreeMap::new));
+    }
+
+    private int transition(MultipartUpload upload, MultipartUploadStatusEnum to) {
+        return multipartUploadRepository.transition(upload.getId(), MultipartUploadStatusEnum.IN_PROGRESS, to,
+                LocalDateTime.now());
+    }
+
+    private String urlOf(MultipartUpload upload) {
+        return upload.getStatus() == MultipartUploadStatusEnum.COMPLETED
+                ? objectStorage.getUrl(upload.getObjectKey())
+                : null;
+    }
+
+    private static String normalizeContentType(String contentType) {
+        try {
+            return MediaType.parseMediaType(contentType).toString();
+        } catch (InvalidMediaTypeException e) {
+            throw new UploadException(ResponseCodeEnum.INVALID_UPLOAD);
+        }
+    }
+
+    // 저장소 오류는 응답 코드로 바꾸고, 원인은 로그로 남긴다
+    private static <T> T callStorage(Supplier<T> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            log.error("저장소 호출 실패", e);
+            throw new UploadException(ResponseCodeEnum.UPLOAD_FAILED);
+        }
+    }
+
+    private static void runStorage(Runnable call) {
+        callStorage(() -> {
+            call.run();
+            return null;
+        });
+    }
+
+    private void abortQuietly(String key, String storageUploadId) {
+        try {
+            objectStorage.abortMultipart(key, storageUploadId);
+        } catch (RuntimeException e) {
+            log.warn("멀티파트 업로드 취소 실패, 저장소 수명 주기 규칙으로 정리 필요: key={}", key, e);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.sparta.springtrello.domain.user.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sparta.springtrello.common.CircuitBreaker;
+import com.sparta.springtrello.common.ResponseCodeEnum;
+import com.sparta.springtrello.common.tracing.TraceSpans;
+import com.sparta.springtrello.domain.user.dto.KakaoTokenResponseDto;
+import com.sparta.springtrello.domain.user.dto.KakaoUserResponseDto;
+import com.sparta.springtrello.exception.custom.user.KakaoException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// 카카오 OAuth / 사용자 정보 API 클라이언트
+// JDK HttpClient 가 keep-alive 커넥션을 재사용하고, 응답 대기 중에는 스레드를 점유하지 않는다
+// 응답은 공용 ObjectMapper 로 바로 record 에 바인딩
+// 동시 호출 수(벌크헤드)와 서킷 브레이커로 카카오 장애가 API 전체로 번지지 않게 한다
+// 호출 시간은 API 와 결과별로 kakao.request 에 기록, 벌크헤드/서킷 브레이커에 막힌 호출은 rejected
+// 호출마다 kakao.<api> span 을 만들고 응답이 끝나는 시점에 닫는다
+@Slf4j(topic = "KAKAO Client")
+@Component
+public class KakaoClient {
+
+    private final ObjectMapper objectMapper;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+    private final URI tokenUri;
+    private final URI userInfoUri;
+    private final String clientId;
+    private final String redirectUri;
+    private final Duration responseTimeout;
+    private final int maxConcurrentCalls;
+    private final Semaphore bulkhead;
+    private final LongAdder bulkheadRejected = new LongAdder();
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    // "api:outcome" -> 타이머, 호출마다 Timer 를 새로 만들지 않도록 한 번만 등록
+    private final ConcurrentHashMap<String, Timer> requestTimers = new ConcurrentHashMap<>();
+    private final TraceSpans traceSpans;
+
+    @Autowired
+    public KakaoClient(ObjectMapper objectMapper, MeterRegistry meterRegistry, TraceSpans traceSpans,
+                       @Value("${kakao.auth-uri:https://kauth.kakao.com}") String authUri,
+                       @Value("${kakao.api-uri:https://kapi.kakao.com}") String apiUri,
+                       @Value("${kakao.client-id}") String clientId,
+                       @Value("${kakao.redirect-uri}") String redirectUri,
+                       @Value("${kakao.connect-timeout-ms:2000}") long connectTimeoutMillis,
+                       @Value("${kakao.response-timeout-ms:5000}") long responseTimeoutMillis,
+                       @Value("${kakao.threads:4}") int threads,
+                       @Value("${kakao.bulkhead.max-concurrent-calls:20}") int maxConcurrentCalls,
+                       @Value("${kakao.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                       @Value("${kakao.circuit-breaker.open-duration-ms:10000}") long openDurationMillis,
+                       @Value("${kakao.circuit-breaker.half-open-max-calls:1}") int halfOpenMaxCalls) {
+        this(objectMapper, meterRegistry, traceSpans, authUri, apiUri, clientId, redirectUri, connectTimeoutMillis,
+                responseTimeoutMillis, threads, maxConcurrentCalls, failureThreshold, openDurationMillis, halfOpenMaxCalls,
+                System::currentTimeMillis);
+    }
+
+    // 테스트에서 서킷 브레이커의 시계를 주입할 때 사용
+    KakaoClient(ObjectMapper objectMapper, MeterRegistry meterRegistry, TraceSpans traceSpans, String authUri,
+                String apiUri, String clientId, String redirectUri, long connectTimeoutMillis, long responseTimeoutMillis,
+                int threads, int maxConcurrentCalls, int failureThreshold, long openDurationMillis, int halfOpenMaxCalls,
+                LongSupplier clock) {
+        this.objectMapper = objectMapper;
+        // HTTP 응답 수신과 JSON 바인딩만 실행하는 스레드 풀, DB 를 쓰는 이후 단계는 KakaoService 의 스레드 풀에서 실행
+        this.executor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("kakao-client-"));
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .executor(executor)
+                .build();
+        this.tokenUri = URI.create(authUri + "/oauth/token");
+        this.userInfoUri = URI.create(apiUri + "/v2/user/me");
+        this.clientId = clientId;
+        this.redirectUri = redirectUri;
+        this.responseTimeout = Duration.ofMillis(responseTimeoutMillis);
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.circuitBreaker = new CircuitBreaker("kakao", failureThreshold, openDurationMillis, halfOpenMaxCalls, clock);
+        this.meterRegistry = meterRegistry;
+        this.traceSpans = traceSpans;
+    }
+
+    // "인가 코드"로 "액세스 토큰" 요청
+    public CompletableFuture<KakaoTokenResponseDto> requestToken(String code) {
+        String form = "grant_type=authorization_code"
+                + "&client_id=" + encode(clientId)
+                + "&redirect_uri=" + encode(redirectUri)
+                + "&code=" + encode(code);
+
+        HttpRequest request = HttpRequest.newBuilder(tokenUri)
+                .timeout(responseTimeout)
+                .header("Content-type", "application/x-www-form-urlencoded;charset=utf-8")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+        return send("token", request, KakaoTokenResponseDto.class);
+    }
+
+    // "액세스 토큰"으로 "카카오 사용자 정보" 요청
+    public CompletableFuture<KakaoUserResponseDto> requestUserInfo(String accessToken) {
+        HttpRequest request = HttpRequest.newBuilder(userInfoUri)
+                .timeout(responseTimeout)
+                .header("Authorization", "Bearer " + accessToken)
+                .header("Content-type", "application/x-www-form-urlencoded;charset=utf-8")
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        return send("user_info", request, KakaoUserResponseDto.class);
+    }
+
+    private <T> CompletableFuture<T> send(String api, HttpRequest request, Class<T> responseType) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Span span = traceSpans.start("kakao." + api);
+        // 대기하지 않고 바로 거절하여 요청이 카카오 응답을 기다리며 쌓이지 않게 한다
+        if (!bulkhead.tryAcquire()) {
+            bulkheadRejected.increment();
+            sample.stop(requestTimer(api, "rejected"));
+            span.tag("outcome", "rejected").end();
+            log.warn("카카오 API 동시 호출 한도 초과: {}", request.uri());
+            return CompletableFuture.failedFuture(new KakaoException(ResponseCodeEnum.KAKAO_UNAVAILABLE));
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            bulkhead.release();
+            sample.stop(requestTimer(api, "rejected"));
+            span.tag("outcome", "rejected").end();
+            return CompletableFuture.failedFuture(new KakaoException(ResponseCodeEnum.KAKAO_UNAVAILABLE));
+        }
+
+        CompletableFuture<HttpResponse<byte[]>> call;
+        try {
+            call = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (RuntimeException e) {
+            bulkhead.release();
+            circuitBreaker.onFailure();
+            sample.stop(requestTimer(api, "error"));
+            span.error(e);
+            span.end();
+            log.warn("카카오 API 호출 실패: {} {}", request.uri(), e.toString());
+            return CompletableFuture.failedFuture(new KakaoException(ResponseCodeEnum.KAKAO_LOGIN_FAILED));
+        }
+
+        return call
+                .whenComplete((response, throwable) -> {
+                    bulkhead.release();
+                    String outcome = throwable != null ? "error" : outcome(response.statusCode());
+                    sample.stop(requestTimer(api, outcome));
+                    span.tag("outcome", outcome);
+                    if (throwable != null) {
+                        span.error(throwable);
+                    } else {
+                        span.tag("http.status_code", String.valueOf(response.statusCode()));
+                    }
+                    span.end();
+                    // 연결 실패, 타임아웃, 5xx, 429 만 장애로 본다. 잘못된 인가 코드 같은 4xx 는 카카오 장애가 아님
+                    if (throwable != null || response.statusCode() >= 500 || response.statusCode() == 429) {
+                        circuitBreaker.onFailure();
+                    } else {
+                        circuitBreaker.onSuccess();
+                    }
+                })
+                .thenApply(response -> {
+                    if (response.statusCode() / 100 != 2) {
+                        log.warn("카카오 API 오류 응답: {} {}", request.uri(), response.statusCode());
+                        throw new KakaoException(ResponseCodeEnum.KAKAO_LOGIN_FAILED);
+                    }
+                    try {
+                        return objectMapper.readValue(response.body(), responseType);
+                    } catch (IOException e) {
+                        log.warn("카카오 API 응답 파싱 실패: {} {}", request.uri(), e.getMessage());
+                        throw new KakaoException(ResponseCodeEnum.KAKAO_LOGIN_FAILED);
+                    }
+                })
+                .exceptionally(throwable -> {
+                    // 연결 실패, 타임아웃 등도 카카오 로그인 실패 응답으로 변환
+                    Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                            ? throwable.getCause() : throwable;
+                    if (cause instanceof KakaoException kakaoException) {
+                        throw kakaoException;
+                    }
+                    log.warn("카카오 API 호출 실패: {} {}", request.uri(), cause.toString());
+                    throw new KakaoException(ResponseCodeEnum.KAKAO_LOGIN_FAILED);
+                });
+    }
+
+    private Timer requestTimer(String api, String outcome) {
+        return requestTimers.computeIfAbsent(api + ":" + outcome, key -> Timer.builder("kakao.request")
+                .description("카카오 API 호출 시간")
+                .tag("api", api)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    private static String outcome(int statusCode) {
+        return switch (statusCode / 100) {
+            case 2 -> "success";
+            case 4 -> "client_error";
+            default -> "server_error";
+        };
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    public long getCircuitRejectedCount() {
+        return circuitBreaker.getRejectedCount();
+    }
+
+    public long getCircuitOpenedCount() {
+        return circuitBreaker.getOpenedCount();
+    }
+
+    public long getBulkheadRejectedCount() {
+        return bulkheadRejected.sum();
+    }
+
+    public int getActiveCalls() {
+        return maxConcurrentCalls - bulkhead.availablePermits();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -1,30 +1,40 @@
 package com.sparta.springtrello.domain.user.controller;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.sparta.springtrello.auth.JwtProvider;
 import com.sparta.springtrello.auth.UserDetailsImpl;
 import com.sparta.springtrello.common.HttpResponseDto;
 import com.sparta.springtrello.common.ResponseUtils;
+import com.sparta.springtrello.domain.user.dto.PictureUploadConfirmRequestDto;
+import com.sparta.springtrello.domain.user.dto.PictureUploadUrlRequestDto;
+import com.sparta.springtrello.domain.user.dto.PictureUploadUrlResponseDto;
+import com.sparta.springtrello.domain.user.dto.ProfilePictureStatusResponseDto;
 import com.sparta.springtrello.domain.user.dto.ProfileResponseDto;
+import com.sparta.springtrello.domain.user.dto.ProfilesResponseDto;
 import com.sparta.springtrello.domain.user.dto.SignupRequestDto;
 import com.sparta.springtrello.domain.user.dto.UpdatePasswordRequestDto;
 import com.sparta.springtrello.domain.user.dto.UpdateProfileRequestDto;
-import com.sparta.springtrello.domain.user.entity.User;
 import com.sparta.springtrello.domain.user.service.KakaoService;
+import com.sparta.springtrello.domain.user.service.ProfilePictureDirectUploadService;
 import com.sparta.springtrello.domain.user.service.UserService;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @RestController
@@ -33,6 +43,7 @@ import java.io.IOException;
 public class UserController {
     private final UserService userService;
     private final KakaoService kakaoService;
+    private final ProfilePictureDirectUploadService profilePictureDirectUploadService;
 
     @Value("${kakao.client-id}")
     private String clientId;
@@ -40,6 +51,9 @@ public class UserController {
     @Value("${kakao.redirect-uri}")
     private String redirectUri;
 
+    @Value("${kakao.auth-uri:https://kauth.kakao.com}")
+    private String kakaoAuthUri;
+
     // 회원가입
     @PostMapping("/signup")
     public ResponseEntity<HttpResponseDto<Void>> signup(@Validated @RequestBody SignupRequestDto requestDto) {
@@ -47,15 +61,39 @@ public class UserController {
         return ResponseUtils.success(HttpStatus.CREATED);
     }
 
-    // 프로필 업로드
+    // 프로필 업로드 -> 사진이 있으면 업로드는 비동기로 진행되므로 202 와 업로드 상태 응답
     @PutMapping("/profile")
-    public ResponseEntity<HttpResponseDto<Void>> updateProfile(
+    public ResponseEntity<HttpResponseDto<ProfilePictureStatusResponseDto>> updateProfile(
             @Validated @RequestPart("updateProfileRequestDto") UpdateProfileRequestDto requestDto,
             @RequestPart(value = "profilePicture", required = false) MultipartFile profilePicture,
             @AuthenticationPrincipal UserDetailsImpl userDetails) {
-        User user = userDetails.getUser();
-        userService.updateProfile(user, requestDto, profilePicture);
-        return ResponseUtils.success(HttpStatus.OK);
+        ProfilePictureStatusResponseDto upload = userService.updateProfile(userDetails.getId(), requestDto, profilePicture);
+        return ResponseUtils.success(upload == null ? HttpStatus.OK : HttpStatus.ACCEPTED, upload);
+    }
+
+    // 프로필 사진 업로드 상태 조회
+    @GetMapping("/profile/picture")
+    public ResponseEntity<HttpResponseDto<ProfilePictureStatusResponseDto>> getProfilePictureStatus(
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        return ResponseUtils.success(HttpStatus.OK, userService.getProfilePictureStatus(userDetails.getId()));
+    }
+
+    // 프로필 사진 직접 업로드 URL 발급
+    @PostMapping("/profile/picture/upload-url")
+    public ResponseEntity<HttpResponseDto<PictureUploadUrlResponseDto>> createPictureUploadUrl(
+            @Validated @RequestBody PictureUploadUrlRequestDto requestDto,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        return ResponseUtils.success(HttpStatus.OK,
+                profilePictureDirectUploadService.createUploadUrl(userDetails.getId(), requestDto));
+    }
+
+    // 직접 업로드한 프로필 사진 확인 및 반영
+    @PostMapping("/profile/picture/confirm")
+    public ResponseEntity<HttpResponseDto<ProfilePictureStatusResponseDto>> confirmPictureUpload(
+            @Validated @RequestBody PictureUploadConfirmRequestDto requestDto,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        return ResponseUtils.success(HttpStatus.OK,
+                profilePictureDirectUploadService.confirm(userDetails.getId(), requestDto));
     }
 
     // 비밀번호 변경
@@ -64,21 +102,43 @@ public class UserController {
             @AuthenticationPrincipal UserDetailsImpl loginUser,
             @Validated @RequestBody UpdatePasswordRequestDto requestDto
     ) {
-        userService.updatePassword(loginUser.getUser(), requestDto);
+        userService.updatePassword(loginUser.getId(), requestDto);
         return ResponseUtils.success(HttpStatus.OK);
     }
 
-    // 프로필 조회
+    // 여러 사용자 프로필 한 번에 조회 (예: /users/profiles?ids=3,1,2) -> 요청한 순서대로 응답
+    @GetMapping("/profiles")
+    public ResponseEntity<HttpResponseDto<ProfilesResponseDto>> getProfiles(@RequestParam("ids") List<Long> userIds) {
+        return ResponseUtils.success(HttpStatus.OK, userService.getProfiles(userIds));
+    }
+
+    // 프로필 조회 -> 응답 본문의 해시로 ETag 를, 프로필 수정 시각으로 Last-Modified 를 만들고, 바뀌지 않았으면 본문 없이 304
+    // 캐시된 프로필로 판단하므로 캐시 적중 시 DB 를 조회하지 않고, 로그아웃이나 비밀번호 변경처럼 본문과 무관한 수정에는 둘 다 바뀌지 않는다
+    // If-None-Match 가 있으면 ETag 로, 없으면 If-Modified-Since 로 판단한다
+    // 다른 인스턴스에서 수정한 프로필은 ProfileCache TTL 이 지난 뒤에 반영된다
     @GetMapping("/{userId}")
-    public ResponseEntity<HttpResponseDto<ProfileResponseDto>> getProfile(@PathVariable Long userId) {
+    public ResponseEntity<HttpResponseDto<ProfileResponseDto>> getProfile(@PathVariable Long userId,
+                                                                          WebRequest webRequest) {
         ProfileResponseDto profile = userService.getProfile(userId);
-        return ResponseUtils.success(HttpStatus.OK, profile);
+        String eTag = profileETag(userId, profile);
+        long lastModified = toEpochMillis(profile.getModifiedAt());
+        if (webRequest.checkNotModified(eTag, lastModified)) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK)
+                .cacheControl(CacheControl.noCache()) // 캐시하되 매번 재검증
+                .eTag(eTag);
+        if (lastModified >= 0) {
+            response.lastModified(lastModified);
+        }
+        return response.body(HttpResponseDto.of(HttpStatus.OK, "success", profile));
     }
 
-    // 로그아웃
+    // 로그아웃 -> 기본은 현재 기기만, allDevices=true 이면 모든 기기
     @PostMapping("/logout")
-    public ResponseEntity<HttpResponseDto<Void>> logout(@AuthenticationPrincipal UserDetailsImpl userDetails) {
-        userService.logout(userDetails.getUser());
+    public ResponseEntity<HttpResponseDto<Void>> logout(@AuthenticationPrincipal UserDetailsImpl userDetails,
+                                                        @RequestParam(defaultValue = "false") boolean allDevices) {
+        userService.logout(userDetails.getId(), userDetails.getSessionId(), allDevices);
         SecurityContextHolder.clearContext();
         return ResponseUtils.success(HttpStatus.OK);
     }
@@ -86,8 +146,7 @@ public class UserController {
     // 회원 탈퇴
     @DeleteMapping("/withdraw")
     public ResponseEntity<HttpResponseDto<Void>> deleteUser(@AuthenticationPrincipal UserDetailsImpl userDetails) {
-        User user = userDetails.getUser();
-        userService.deleteUser(user);
+        userService.deleteUser(userDetails.getId());
         SecurityContextHolder.clearContext();  // 보안 컨텍스트 초기화
         return ResponseUtils.success(HttpStatus.OK);
     }
@@ -96,22 +155,35 @@ public class UserController {
     @GetMapping("/kakao/authorize")
     public void redirectToKakaoAuthorize(HttpServletResponse response) throws IOException {
         String requestUrl = String.format(
-                "https://kauth.kakao.com/oauth/authorize?client_id=%s&redirect_uri=%s&response_type=code",
-                clientId, redirectUri
+                "%s/oauth/authorize?client_id=%s&redirect_uri=%s&response_type=code",
+                kakaoAuthUri, clientId, redirectUri
         );
         response.sendRedirect(requestUrl);
     }
 
-    // 카카오 콜백 처리
+    // 카카오 콜백 처리 -> 카카오 API 응답을 기다리는 동안 요청 스레드를 반환하도록 비동기 응답
     @GetMapping("/kakao/callback")
-    public ResponseEntity<HttpResponseDto<Void>> kakaoLogin(@RequestParam String code, HttpServletResponse response) throws JsonProcessingException {
-        String token = kakaoService.kakaoLogin(code);
-        log.info("Generated token: " + token);
-        // Bearer 접두사 확인 및 추가
-        if (!token.startsWith("Bearer ")) {
-            token = "Bearer " + token;
-        }
-        response.setHeader(JwtProvider.AUTHORIZATION_HEADER, token);
-        return ResponseUtils.success(HttpStatus.OK);
+    public CompletableFuture<ResponseEntity<HttpResponseDto<Void>>> kakaoLogin(@RequestParam String code) {
+        return kakaoService.kakaoLogin(code).thenApply(tokens -> {
+            // Bearer 접두사 확인 및 추가
+            String token = tokens.accessToken();
+            if (!token.startsWith(JwtProvider.BEARER_PREFIX)) {
+                token = JwtProvider.BEARER_PREFIX + token;
+            }
+            return ResponseEntity.status(HttpStatus.OK)
+                    .header(JwtProvider.AUTHORIZATION_HEADER, token)
+                    .header(JwtProvider.REFRESH_TOKEN_HEADER, tokens.refreshToken())
+                    .body(HttpResponseDto.<Void>of(HttpStatus.OK, "success", null));
+        });
+    }
+
+    // 강한 ETag, 본문 해시가 같으면 본문도 같다
+    private static String profileETag(Long userId, ProfileResponseDto profile) {
+        return "\"" + Long.toHexString(userId) + "-" + profile.getContentHash() + "\"";
+    }
+
+    // 수정 시각을 모르면 -1, checkNotModified 는 음수면 Last-Modified 를 비교하지 않는다
+    private static long toEpochMillis(LocalDateTime modifiedAt) {
+        return modifiedAt == null ? -1 : modifiedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
     }
 }
@@ -0,0 +1,9 @@
+package com.sparta.springtrello.domain.user.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// 카카오 토큰 발급 응답 (https://kauth.kakao.com/oauth/token)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record KakaoTokenResponseDto(@JsonProperty("access_token") String accessToken) {
+}
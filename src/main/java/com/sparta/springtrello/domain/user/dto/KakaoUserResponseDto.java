@@ -0,0 +1,19 @@
+package com.sparta.springtrello.domain.user.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// 카카오 사용자 정보 응답 (https://kapi.kakao.com/v2/user/me)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record KakaoUserResponseDto(Long id, Properties properties) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Properties(String nickname, @JsonProperty("profile_image") String profileImage) {
+    }
+
+    public KakaoUserInfoDto toUserInfo() {
+        String nickname = properties == null ? null : properties.nickname();
+        String pictureUrl = properties == null ? null : properties.profileImage();
+        return new KakaoUserInfoDto(id, nickname, pictureUrl);
+    }
+}
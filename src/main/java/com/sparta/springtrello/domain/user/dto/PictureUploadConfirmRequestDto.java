@@ -0,0 +1,13 @@
+package com.sparta.springtrello.domain.user.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class PictureUploadConfirmRequestDto {
+
+    @NotBlank(message = "업로드한 파일의 키를 입력해주세요.")
+    private String key;
+}
@@ -0,0 +1,13 @@
+package com.sparta.springtrello.domain.user.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class PictureUploadUrlRequestDto {
+
+    @NotBlank(message = "업로드할 파일의 타입을 입력해주세요.")
+    private String contentType;
+}
@@ -0,0 +1,16 @@
+package com.sparta.springtrello.domain.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class PictureUploadUrlResponseDto {
+    private String key; // 업로드 후 확인 요청에 사용
+    private String uploadUrl; // 이 URL 로 Content-Type 헤더와 함께 PUT
+    private String contentType;
+    private long maxBytes;
+    private Instant expiresAt;
+}
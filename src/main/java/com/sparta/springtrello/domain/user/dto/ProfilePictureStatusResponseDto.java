@@ -0,0 +1,17 @@
+package com.sparta.springtrello.domain.user.dto;
+
+import com.sparta.springtrello.domain.user.entity.UploadStatusEnum;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class ProfilePictureStatusResponseDto {
+    private String uploadId;
+    private UploadStatusEnum status;
+    private int attempts;
+    private String pictureUrl;
+    private Map<Integer, String> pictureVariants;
+}
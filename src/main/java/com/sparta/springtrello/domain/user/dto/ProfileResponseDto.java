@@ -1,12 +1,57 @@
 package com.sparta.springtrello.domain.user.dto;
 
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Getter;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
 @Getter
-@AllArgsConstructor
 public class ProfileResponseDto {
-    private String nickname;
-    private String introduce;
-    private String pictureUrl;
-}
\ No newline at end of file
+    private final String nickname;
+    private final String introduce;
+    private final String pictureUrl;
+    private final Map<Integer, String> pictureVariants;
+    @JsonIgnore
+    private final String contentHash; // ETag 용 응답 본문 해시, 응답 본문에는 포함하지 않음
+    @JsonIgnore
+    private final LocalDateTime modifiedAt; // Last-Modified 용 프로필 수정 시각, 모르면 null
+
+    // ProfileCache 에 저장되므로 해시는 캐시를 채울 때 한 번만 계산된다
+    public ProfileResponseDto(String nickname, String introduce, String pictureUrl, Map<Integer, String> pictureVariants,
+                              LocalDateTime modifiedAt) {
+        this.nickname = nickname;
+        this.introduce = introduce;
+        this.pictureUrl = pictureUrl;
+        this.pictureVariants = pictureVariants;
+        this.modifiedAt = modifiedAt;
+        this.contentHash = hash(nickname, introduce, pictureUrl,
+                pictureVariants == null ? null : new TreeMap<>(pictureVariants).toString());
+    }
+
+    // 값 사이와 null 을 구분자로 표시하여 ("ab", "c") 와 ("a", "bc") 가 같은 해시가 되지 않게 한다
+    private static String hash(String... values) {
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+        for (String value : values) {
+            if (value == null) {
+                sha256.update((byte) 0);
+            } else {
+                sha256.update((byte) 1);
+                sha256.update(value.getBytes(StandardCharsets.UTF_8));
+                sha256.update((byte) 0);
+            }
+        }
+        // 128 비트면 충돌 가능성은 무시할 수 있다
+        return HexFormat.of().formatHex(sha256.digest(), 0, 16);
+    }
+}
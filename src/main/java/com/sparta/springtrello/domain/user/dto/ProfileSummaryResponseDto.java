@@ -0,0 +1,22 @@
+package com.sparta.springtrello.domain.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+// 여러 사용자 프로필 조회 결과, UserRepository 의 생성자 프로젝션으로 필요한 컬럼만 읽는다
+@Getter
+@AllArgsConstructor
+public class ProfileSummaryResponseDto {
+    private Long userId;
+    private String nickname;
+    private String introduce;
+    private String pictureUrl;
+    private Map<Integer, String> pictureVariants;
+
+    public static ProfileSummaryResponseDto of(Long userId, ProfileResponseDto profile) {
+        return new ProfileSummaryResponseDto(userId, profile.getNickname(), profile.getIntroduce(),
+                profile.getPictureUrl(), profile.getPictureVariants());
+    }
+}
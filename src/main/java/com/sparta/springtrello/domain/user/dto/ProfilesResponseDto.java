@@ -0,0 +1,13 @@
+package com.sparta.springtrello.domain.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ProfilesResponseDto {
+    private List<ProfileSummaryResponseDto> profiles; // 요청한 id 순서, 중복 id 는 한 번만
+    private List<Long> missingUserIds; // 존재하지 않는 사용자 id
+}
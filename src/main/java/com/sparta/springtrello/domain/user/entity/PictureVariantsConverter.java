@@ -0,0 +1,49 @@
+package com.sparta.springtrello.domain.user.entity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+// 크기(px) -> URL 맵을 JSON 문자열 한 컬럼으로 저장
+// Hibernate 가 Spring 빈 컨테이너로 생성하므로 애플리케이션의 ObjectMapper 를 주입받아 쓴다
+@Converter
+public class PictureVariantsConverter implements AttributeConverter<Map<Integer, String>, String> {
+
+    private static final TypeReference<TreeMap<Integer, String>> TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+
+    public PictureVariantsConverter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String convertToDatabaseColumn(Map<Integer, String> variants) {
+        if (variants == null || variants.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(new TreeMap<>(variants));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("프로필 사진 변환본 직렬화 실패", e);
+        }
+    }
+
+    @Override
+    public Map<Integer, String> convertToEntityAttribute(String json) {
+        if (json == null || json.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("프로필 사진 변환본 역직렬화 실패", e);
+        }
+    }
+}
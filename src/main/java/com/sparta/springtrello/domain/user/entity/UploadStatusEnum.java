@@ -0,0 +1,15 @@
+package com.sparta.springtrello.domain.user.entity;
+
+public enum UploadStatusEnum {
+    PENDING, // 임시 저장 완료, 커밋 또는 업로드 스레드 대기
+    UPLOADING, // 업로드 중
+    RETRYING, // 실패 후 재시도 대기
+    COMPLETED, // 업로드 및 pictureUrl 반영 완료
+    SUPERSEDED, // 이후 요청된 사진으로 대체되어 반영하지 않음
+    FAILED, // 재시도 횟수 초과 또는 트랜잭션 롤백
+    ;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == SUPERSEDED || this == FAILED;
+    }
+}
@@ -9,6 +9,9 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+import java.util.Map;
+
 
 @Getter
 @Entity
@@ -41,10 +44,6 @@ public class User extends Timestamped {
     @Column
     private UserRoleEnum userRole;
 
-    @Setter
-    @Column
-    private String refreshToken;
-
     @Setter
     @Column
     private String nickname;
@@ -53,13 +52,28 @@ public class User extends Timestamped {
     @Column
     private String introduce;
 
+    // 대표 사진 URL, 업로드한 사진은 가장 큰 변환본 / 카카오 사용자는 카카오 프로필 URL
     @Setter
     @Column
     private String pictureUrl;
 
-    @Column
+    // 업로드한 사진의 크기(px)별 URL
+    @Convert(converter = PictureVariantsConverter.class)
+    @Column(length = 1024)
+    private Map<Integer, String> pictureVariants;
+
+    @Column(unique = true)
     private Long kakaoId;
 
+    // 프로필(닉네임, 소개, 사진)이 마지막으로 바뀐 시각, 프로필 조회의 Last-Modified 로 사용
+    // modifiedAt 과 달리 비밀번호 변경, 로그아웃(토큰 버전 증가) 등에는 바뀌지 않는다
+    @Column
+    private LocalDateTime profileModifiedAt;
+
+    // 액세스 토큰 무효화를 위한 버전, 로그아웃/탈퇴/비밀번호 변경 시 증가
+    @Column
+    private int tokenVersion;
+
     public User(String username, String password, UserStatusEnum userStatus) {
         this.username = username;
         this.password = password;
@@ -74,4 +88,14 @@ public class User extends Timestamped {
         this.userStatus = UserStatusEnum.STATUS_NORMAL;
     }
 
+    // 프로필이 바뀐 적 없는 사용자(컬럼 추가 이전에 가입한 사용자 포함)는 수정 시각으로 대신한다
+    public LocalDateTime getProfileModifiedAt() {
+        return profileModifiedAt != null ? profileModifiedAt : getModifiedAt();
+    }
+
+    // 이전에 발급된 액세스 토큰을 모두 무효화
+    public void increaseTokenVersion() {
+        this.tokenVersion++;
+    }
+
 }
\ No newline at end of file
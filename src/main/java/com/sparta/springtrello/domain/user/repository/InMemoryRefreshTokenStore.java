@@ -0,0 +1,71 @@
+package com.sparta.springtrello.domain.user.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 단일 인스턴스 배포 및 테스트용 메모리 저장소, 재시작 시 모든 리프레시 토큰이 사라진다
+@Component
+@ConditionalOnProperty(name = "refresh-token.store", havingValue = "memory")
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private final ConcurrentHashMap<String, Entry> tokens = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<String>> tokenIdsByUser = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(Long userId, String refreshToken, LocalDateTime expiresAt) {
+        String tokenId = RefreshTokenStore.tokenId(refreshToken);
+        tokens.put(tokenId, new Entry(userId, expiresAt));
+        tokenIdsByUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(tokenId);
+    }
+
+    @Override
+    public boolean isActive(Long userId, String tokenId) {
+        Entry entry = tokens.get(tokenId);
+        return entry != null && entry.userId().equals(userId) && entry.expiresAt().isAfter(LocalDateTime.now());
+    }
+
+    @Override
+    public boolean deleteSession(Long userId, String tokenId) {
+        Entry entry = tokens.get(tokenId);
+        if (entry == null || !entry.userId().equals(userId) || !tokens.remove(tokenId, entry)) {
+            return false;
+        }
+        removeFromUserIndex(userId, tokenId);
+        return true;
+    }
+
+    @Override
+    public void deleteAllByUserId(Long userId) {
+        Set<String> tokenIds = tokenIdsByUser.remove(userId);
+        if (tokenIds != null) {
+            tokenIds.forEach(tokens::remove);
+        }
+    }
+
+    @Override
+    public int deleteExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int[] deleted = {0};
+        tokens.forEach((tokenId, entry) -> {
+            if (!entry.expiresAt().isAfter(now) && tokens.remove(tokenId, entry)) {
+                removeFromUserIndex(entry.userId(), tokenId);
+                deleted[0]++;
+            }
+        });
+        return deleted[0];
+    }
+
+    private void removeFromUserIndex(Long userId, String tokenId) {
+        tokenIdsByUser.computeIfPresent(userId, (id, tokenIds) -> {
+            tokenIds.remove(tokenId);
+            return tokenIds.isEmpty() ? null : tokenIds;
+        });
+    }
+
+    private record Entry(Long userId, LocalDateTime expiresAt) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.sparta.springtrello.domain.user.repository;
+
+import com.sparta.springtrello.common.datasource.PrimaryRead;
+import com.sparta.springtrello.domain.user.entity.RefreshToken;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "refresh-token.store", havingValue = "jpa", matchIfMissing = true)
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Override
+    @Transactional
+    public void save(Long userId, String refreshToken, LocalDateTime expiresAt) {
+        refreshTokenRepository.save(new RefreshToken(RefreshTokenStore.tokenId(refreshToken), userId, expiresAt));
+    }
+
+    // 토큰 확인은 복제 지연 중에도 로그아웃/재발급을 바로 반영해야 하므로 primary 에서 읽는다
+    @Override
+    public boolean isActive(Long userId, String tokenId) {
+        return PrimaryRead.call(() -> refreshTokenRepository.findById(tokenId))
+                .filter(token -> token.getUserId().equals(userId))
+                .filter(token -> token.getExpiresAt().isAfter(LocalDateTime.now()))
+                .isPresent();
+    }
+
+    @Override
+    @Transactional
+    public boolean deleteSession(Long userId, String tokenId) {
+        return refreshTokenRepository.deleteByTokenIdAndUserId(tokenId, userId) > 0;
+    }
+
+    @Override
+    @Transactional
+    public void deleteAllByUserId(Long userId) {
+        refreshTokenRepository.deleteAllByUserId(userId);
+    }
+
+    @Override
+    @Transactional
+    public int deleteExpired() {
+        return refreshTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+}
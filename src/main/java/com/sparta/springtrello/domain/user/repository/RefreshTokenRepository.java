@@ -0,0 +1,23 @@
+package com.sparta.springtrello.domain.user.repository;
+
+import com.sparta.springtrello.domain.user.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+    @Modifying
+    @Query("delete from RefreshToken r where r.tokenId = :tokenId and r.userId = :userId")
+    int deleteByTokenIdAndUserId(@Param("tokenId") String tokenId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.userId = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
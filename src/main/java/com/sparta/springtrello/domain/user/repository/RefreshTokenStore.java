@@ -0,0 +1,46 @@
+package com.sparta.springtrello.domain.user.repository;
+
+import com.sparta.springtrello.auth.JwtProvider;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+
+// 리프레시 토큰 저장소, refresh-token.store 설정으로 jpa(기본) 또는 memory 구현 선택
+// 리프레시 토큰 하나가 로그인한 기기 하나의 세션이고, tokenId 가 액세스 토큰의 세션 클레임(sid)이 된다
+public interface RefreshTokenStore {
+
+    // 로그인한 기기의 리프레시 토큰 저장
+    void save(Long userId, String refreshToken, LocalDateTime expiresAt);
+
+    // 해당 사용자에게 발급되었고 만료되지 않은 토큰인지 확인
+    default boolean isValid(Long userId, String refreshToken) {
+        return isActive(userId, tokenId(refreshToken));
+    }
+
+    // 해당 사용자의 세션이 로그아웃되지 않았고 만료되지 않았는지 확인
+    boolean isActive(Long userId, String tokenId);
+
+    // 해당 사용자의 세션만 삭제, 삭제했으면 true
+    boolean deleteSession(Long userId, String tokenId);
+
+    void deleteAllByUserId(Long userId);
+
+    // 만료된 토큰 일괄 삭제, 삭제된 개수 반환
+    int deleteExpired();
+
+    // "Bearer " 접두사 유무와 관계없이 같은 토큰은 같은 키를 가지도록 정규화 후 SHA-256
+    static String tokenId(String refreshToken) {
+        String token = refreshToken.startsWith(JwtProvider.BEARER_PREFIX)
+                ? refreshToken.substring(JwtProvider.BEARER_PREFIX.length())
+                : refreshToken;
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
+}
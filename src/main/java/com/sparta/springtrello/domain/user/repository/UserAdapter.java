@@ -1,48 +1,135 @@
 package com.sparta.springtrello.domain.user.repository;
 
+import com.sparta.springtrello.common.datasource.PrimaryRead;
+import com.sparta.springtrello.common.tracing.TraceSpans;
+import com.sparta.springtrello.domain.user.dto.ProfileSummaryResponseDto;
 import com.sparta.springtrello.domain.user.entity.User;
+import com.sparta.springtrello.domain.user.entity.UserRoleEnum;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 import com.sparta.springtrello.exception.custom.user.UserException;
 import com.sparta.springtrello.common.ResponseCodeEnum;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
+// 사용자 조회/저장마다 db.user.* span 을 만들어 요청 trace 에서 쿼리 구간을 구분한다
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class UserAdapter {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TraceSpans traceSpans;
+    // kakaoId -> 진행 중인 사용자 조회/생성 작업
+    private final ConcurrentHashMap<Long, CompletableFuture<User>> kakaoProvisioning = new ConcurrentHashMap<>();
 
     public User findById(Long id) {
-        return userRepository.findById(id)
+        return traceSpans.inSpan("db.user.findById", () -> userRepository.findById(id))
                 .orElseThrow(() -> new UserException(ResponseCodeEnum.USER_NOT_FOUND));
     }
 
+    // 로그인/인증용 조회는 가입 직후나 비밀번호 변경, 탈퇴 직후에도 최신 값을 봐야 하므로 primary 에서 읽는다
     public User findByUsername(String username) {
-        return userRepository.findByUsername(username)
+        return traceSpans.inSpan("db.user.findByUsername", () -> PrimaryRead.call(() -> userRepository.findByUsername(username)))
                 .orElseThrow(() -> new UserException(ResponseCodeEnum.USER_NOT_FOUND));
     }
 
+    // 토큰 버전은 로그아웃 전체/탈퇴 직후 이전 토큰을 바로 거부해야 하므로 primary 에서 읽는다
+    public int findTokenVersionById(Long id) {
+        return traceSpans.inSpan("db.user.findTokenVersionById", () -> PrimaryRead.call(() -> userRepository.findTokenVersionById(id)))
+                .orElseThrow(() -> new UserException(ResponseCodeEnum.USER_NOT_FOUND));
+    }
+
+    public List<ProfileSummaryResponseDto> findProfilesByIds(Collection<Long> ids) {
+        return traceSpans.inSpan("db.user.findProfilesByIds", () -> userRepository.findProfilesByIdIn(ids));
+    }
+
     public boolean existsByUsername(String username) {
-        return userRepository.findByUsername(username).isPresent();
+        return traceSpans.inSpan("db.user.existsByUsername", () -> userRepository.findByUsername(username)).isPresent();
     }
 
     public User save(User user) {
-        return userRepository.save(user);
+        return traceSpans.inSpan("db.user.save", () -> userRepository.save(user));
+    }
+
+    // 닉네임/자기소개 컬럼만 UPDATE, 엔티티를 읽지 않으므로 다른 컬럼의 동시 변경을 덮어쓰지 않는다
+    @Transactional
+    public void updateProfile(Long id, String nickname, String introduce) {
+        int updated = traceSpans.inSpan("db.user.updateProfile", () -> userRepository.updateProfile(id, nickname, introduce, LocalDateTime.now()));
+        if (updated == 0) {
+            throw new UserException(ResponseCodeEnum.USER_NOT_FOUND);
+        }
     }
 
+    // 비밀번호 컬럼만 UPDATE
+    @Transactional
+    public void updatePassword(Long id, String encodedPassword) {
+        traceSpans.inSpan("db.user.updatePassword", () -> userRepository.updatePassword(id, encodedPassword, LocalDateTime.now()));
+    }
+
+    // 프로필 사진 컬럼만 UPDATE
+    @Transactional
+    public void updatePicture(Long id, String pictureUrl, Map<Integer, String> pictureVariants) {
+        traceSpans.inSpan("db.user.updatePicture", () -> userRepository.updatePicture(id, pictureUrl, pictureVariants, LocalDateTime.now()));
+    }
+
+    // 같은 카카오 계정의 콜백이 동시에 들어오면 먼저 들어온 요청만 조회/생성하고 나머지는 그 결과를 기다린다
     public User createKakaoUser(Long kakaoId, String nickname, String pictureUrl) {
-        return userRepository.findByKakaoId(kakaoId).orElseGet(() -> {
-            String password = UUID.randomUUID().toString();
-            String encodedPassword = passwordEncoder.encode(password);
-            User newUser = new User(kakaoId, "kakao_" + kakaoId, pictureUrl, encodedPassword);
-            newUser.setNickname(nickname);
-            userRepository.save(newUser);
-            return newUser;
-        });
+        CompletableFuture<User> provisioning = new CompletableFuture<>();
+        CompletableFuture<User> inFlight = kakaoProvisioning.putIfAbsent(kakaoId, provisioning);
+        if (inFlight != null) {
+            try {
+                return inFlight.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        try {
+            User user = traceSpans.inSpan("db.user.findOrInsertKakaoUser", () -> findOrInsertKakaoUser(kakaoId, nickname, pictureUrl));
+            provisioning.complete(user);
+            return user;
+        } catch (RuntimeException e) {
+            provisioning.completeExceptionally(e);
+            throw e;
+        } finally {
+            kakaoProvisioning.remove(kakaoId, provisioning);
+        }
+    }
+
+    // kakaoId 유니크 제약으로 다른 인스턴스와 경쟁해도 한 명만 생성되고, 진 쪽은 저장된 사용자를 다시 조회
+    // 방금 다른 쪽이 저장한 사용자를 놓치지 않도록 조회는 primary 에서
+    private User findOrInsertKakaoUser(Long kakaoId, String nickname, String pictureUrl) {
+        Optional<User> existing = PrimaryRead.call(() -> userRepository.findByKakaoId(kakaoId));
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        String password = UUID.randomUUID().toString();
+        String encodedPassword = passwordEncoder.encode(password);
+        User newUser = new User(kakaoId, "kakao_" + kakaoId, pictureUrl, encodedPassword);
+        newUser.setNickname(nickname);
+        newUser.setUserRole(UserRoleEnum.ROLE_USER);
+        try {
+            return userRepository.saveAndFlush(newUser);
+        } catch (DataIntegrityViolationException e) {
+            log.info("이미 생성된 카카오 사용자 재조회: kakaoId={}", kakaoId);
+            return PrimaryRead.call(() -> userRepository.findByKakaoId(kakaoId)).orElseThrow(() -> e);
+        }
     }
 }
@@ -3,13 +3,47 @@ package com.sparta.springtrello.domain.user.repository;
 
 
 
+import com.sparta.springtrello.domain.user.dto.ProfileSummaryResponseDto;
 import com.sparta.springtrello.domain.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByKakaoId(Long kakaoId);
     Optional<User> findByUsername(String username);
+
+    @Query("select u.tokenVersion from User u where u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
+    // 프로필 컬럼만 한 번의 IN 쿼리로 조회, 비밀번호/토큰 컬럼은 읽지 않는다
+    @Query("select new com.sparta.springtrello.domain.user.dto.ProfileSummaryResponseDto(" +
+            "u.id, u.nickname, u.introduce, u.pictureUrl, u.pictureVariants) from User u where u.id in :ids")
+    List<ProfileSummaryResponseDto> findProfilesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update User u set u.nickname = :nickname, u.introduce = :introduce, u.modifiedAt = :now, " +
+            "u.profileModifiedAt = :now where u.id = :id")
+    int updateProfile(@Param("id") Long id, @Param("nickname") String nickname, @Param("introduce") String introduce,
+                      @Param("now") LocalDateTime now);
+
+    // 비밀번호는 프로필 응답에 포함되지 않으므로 profileModifiedAt 은 갱신하지 않는다
+    @Modifying
+    @Query("update User u set u.password = :password, u.modifiedAt = :now where u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password, @Param("now") LocalDateTime now);
+
+    // 벌크 UPDATE 는 Auditing 을 거치지 않으므로 수정 시각을 직접 갱신
+    @Modifying
+    @Query("update User u set u.pictureUrl = :pictureUrl, u.pictureVariants = :pictureVariants, u.modifiedAt = :now, " +
+            "u.profileModifiedAt = :now where u.id = :id")
+    int updatePicture(@Param("id") Long id, @Param("pictureUrl") String pictureUrl,
+                      @Param("pictureVariants") Map<Integer, String> pictureVariants, @Param("now") LocalDateTime now);
 }
\ No newline at end of file
@@ -1,133 +1,122 @@
 package com.sparta.springtrello.domain.user.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sparta.springtrello.auth.IssuedTokens;
 import com.sparta.springtrello.auth.JwtProvider;
+import com.sparta.springtrello.common.ResponseCodeEnum;
+import com.sparta.springtrello.common.tracing.TraceSpans;
+import com.sparta.springtrello.domain.user.client.KakaoClient;
 import com.sparta.springtrello.domain.user.dto.KakaoUserInfoDto;
+import com.sparta.springtrello.domain.user.dto.KakaoUserResponseDto;
 import com.sparta.springtrello.domain.user.entity.User;
+import com.sparta.springtrello.domain.user.repository.RefreshTokenStore;
 import com.sparta.springtrello.domain.user.repository.UserAdapter;
-import lombok.RequiredArgsConstructor;
+import com.sparta.springtrello.exception.custom.user.KakaoException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.RequestEntity;
-import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
 
-import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j(topic = "KAKAO Login")
 @Service
-@RequiredArgsConstructor
 public class KakaoService {
 
     private final UserAdapter userAdapter;
-    private final RestTemplate restTemplate;
+    private final KakaoClient kakaoClient;
     private final JwtProvider jwtProvider;
+    private final RefreshTokenStore refreshTokenStore;
+    private final MeterRegistry meterRegistry;
+    private final TraceSpans traceSpans;
+    private final Timer loginSuccessTimer;
+    private final Timer loginFailureTimer;
+    // 사용자 저장과 JWT 발급 전용 스레드 풀, 카카오 HTTP 응답 스레드가 DB 를 기다리지 않게 한다
+    private final ThreadPoolExecutor loginExecutor;
+
+    public KakaoService(UserAdapter userAdapter, KakaoClient kakaoClient, JwtProvider jwtProvider,
+                        RefreshTokenStore refreshTokenStore, MeterRegistry meterRegistry, TraceSpans traceSpans,
+                        @Value("${kakao.login.threads:4}") int threads,
+                        @Value("${kakao.login.queue-capacity:100}") int queueCapacity) {
+        this.userAdapter = userAdapter;
+        this.kakaoClient = kakaoClient;
+        this.jwtProvider = jwtProvider;
+        this.refreshTokenStore = refreshTokenStore;
+        this.meterRegistry = meterRegistry;
+        this.traceSpans = traceSpans;
+        this.loginSuccessTimer = loginTimer("success");
+        this.loginFailureTimer = loginTimer("failure");
+        this.loginExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("kakao-login-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
 
-    @Value("${kakao.client-id}")
-    private String clientId;
-
-    @Value("${kakao.redirect-uri}")
-    private String redirectUri;
-
-    public String kakaoLogin(String code) throws JsonProcessingException {
+    // 카카오 API 응답을 기다리는 동안 요청 스레드를 점유하지 않도록 비동기로 처리
+    // 카카오 API 두 번과 사용자 저장, JWT 발급까지 걸린 시간은 kakao.login 에 기록
+    // 사용자 저장과 JWT 발급은 loginExecutor 에서 실행하고, 스레드가 바뀌므로 kakao.login span 을 직접 이어 붙여 같은 trace 로 묶는다
+    public CompletableFuture<IssuedTokens> kakaoLogin(String code) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Span span = traceSpans.start("kakao.login");
         // 1. "인가 코드"로 "액세스 토큰" 요청
-        String accessToken = getToken(code);
-        log.info("Kakao access token: {}", accessToken);
-
-        // 2. 토큰으로 카카오 API 호출 : "액세스 토큰"으로 "카카오 사용자 정보" 가져오기
-        KakaoUserInfoDto kakaoUserInfo = getKakaoUserInfo(accessToken);
-        log.info("Kakao user info: {}", kakaoUserInfo);
-
-        // 3. JWT 토큰 생성
-        return createJwtToken(kakaoUserInfo);
+        return traceSpans.inScope(span, () -> kakaoClient.requestToken(code))
+                // 2. 토큰으로 카카오 API 호출 : "액세스 토큰"으로 "카카오 사용자 정보" 가져오기
+                .thenCompose(token -> traceSpans.inScope(span, () -> kakaoClient.requestUserInfo(token.accessToken())))
+                .thenApply(KakaoUserResponseDto::toUserInfo)
+                // 3. JWT 토큰 생성
+                .thenCompose(kakaoUserInfo -> provision(span, kakaoUserInfo))
+                .whenComplete((tokens, throwable) -> {
+                    sample.stop(throwable == null ? loginSuccessTimer : loginFailureTimer);
+                    if (throwable != null) {
+                        span.error(throwable);
+                    }
+                    span.end();
+                });
     }
 
-    private String getToken(String code) throws JsonProcessingException {
-        // 요청 URL 만들기
-        URI uri = UriComponentsBuilder
-                .fromUriString("https://kauth.kakao.com")
-                .path("/oauth/token")
-                .encode()
-                .build()
-                .toUri();
-
-        // HTTP Header 생성
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("Content-type", "application/x-www-form-urlencoded;charset=utf-8");
-
-        // HTTP Body 생성
-        MultiValueMap<String, String> body = new LinkedMultiValueMap<>();
-        body.add("grant_type", "authorization_code");
-        body.add("client_id", clientId);
-        body.add("redirect_uri", redirectUri);
-        body.add("code", code);
-
-        RequestEntity<MultiValueMap<String, String>> requestEntity = RequestEntity
-                .post(uri)
-                .headers(headers)
-                .body(body);
-
-        // HTTP 요청 보내기
-        ResponseEntity<String> response = restTemplate.exchange(
-                requestEntity,
-                String.class
-        );
-
-        // HTTP 응답 (JSON) -> 액세스 토큰 파싱
-        JsonNode jsonNode = new ObjectMapper().readTree(response.getBody());
-        return jsonNode.get("access_token").asText();
+    // 대기열이 가득 차면 카카오 응답 스레드에서 대신 실행하지 않고 바로 503
+    private CompletableFuture<IssuedTokens> provision(Span span, KakaoUserInfoDto kakaoUserInfo) {
+        try {
+            return CompletableFuture.supplyAsync(() -> traceSpans.inScope(span, () -> {
+                log.debug("Kakao user id: {}", kakaoUserInfo.getId());
+                return createJwtToken(kakaoUserInfo);
+            }), loginExecutor);
+        } catch (RejectedExecutionException e) {
+            log.warn("카카오 로그인 처리 대기열 초과");
+            return CompletableFuture.failedFuture(new KakaoException(ResponseCodeEnum.KAKAO_UNAVAILABLE));
+        }
     }
 
-    private KakaoUserInfoDto getKakaoUserInfo(String accessToken) throws JsonProcessingException {
-        // 요청 URL 만들기
-        URI uri = UriComponentsBuilder
-                .fromUriString("https://kapi.kakao.com")
-                .path("/v2/user/me")
-                .encode()
-                .build()
-                .toUri();
-
-        // HTTP Header 생성
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("Authorization", "Bearer " + accessToken);
-        headers.add("Content-type", "application/x-www-form-urlencoded;charset=utf-8");
-
-        RequestEntity<MultiValueMap<String, String>> requestEntity = RequestEntity
-                .post(uri)
-                .headers(headers)
-                .body(new LinkedMultiValueMap<>());
-
-        // HTTP 요청 보내기
-        ResponseEntity<String> response = restTemplate.exchange(
-                requestEntity,
-                String.class
-        );
+    @PreDestroy
+    public void shutdown() {
+        loginExecutor.shutdown();
+    }
 
-        JsonNode jsonNode = new ObjectMapper().readTree(response.getBody());
-        Long id = jsonNode.get("id").asLong();
-        String nickname = jsonNode.get("properties")
-                .get("nickname").asText();
-        String pictureUrl = jsonNode.get("properties")
-                .get("profile_image").asText();
-        return new KakaoUserInfoDto(id, nickname, pictureUrl);
+    private Timer loginTimer(String outcome) {
+        return Timer.builder("kakao.login")
+                .description("카카오 로그인 전체 처리 시간")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
-    private String createJwtToken(KakaoUserInfoDto kakaoUserInfo) {
+    private IssuedTokens createJwtToken(KakaoUserInfoDto kakaoUserInfo) {
         User user = userAdapter.createKakaoUser(kakaoUserInfo.getId(), kakaoUserInfo.getNickname(), kakaoUserInfo.getPictureUrl());
 
-        String accessToken = jwtProvider.createAccessToken(user.getUsername());
+        // 일반 로그인과 같이 액세스 토큰을 리프레시 토큰의 세션에 묶는다
         String refreshToken = jwtProvider.createRefreshToken(user.getUsername());
+        String accessToken = jwtProvider.createAccessToken(user, RefreshTokenStore.tokenId(refreshToken));
 
-        user.setRefreshToken(refreshToken);
-        userAdapter.save(user);
+        LocalDateTime expiresAt = LocalDateTime.now().plus(Duration.ofMillis(JwtProvider.REFRESH_TOKEN_TIME));
+        refreshTokenStore.save(user.getId(), refreshToken, expiresAt);
 
-        return accessToken;
+        return new IssuedTokens(accessToken, refreshToken);
     }
 }
@@ -0,0 +1,71 @@
+package com.sparta.springtrello.domain.user.service;
+
+import com.sparta.springtrello.common.ExpiringCache;
+import com.sparta.springtrello.domain.user.dto.ProfileResponseDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Function;
+
+// userId -> ProfileResponseDto 캐시, 크기와 TTL 로 제한
+// 같은 사용자를 동시에 조회하면 DB 는 한 번만 읽는다
+@Component
+public class ProfileCache {
+
+    private final ExpiringCache<Long, ProfileResponseDto> cache;
+    private final long ttlMillis;
+
+    public ProfileCache(@Value("${profile-cache.max-size:10000}") int maxSize,
+                        @Value("${profile-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.cache = new ExpiringCache<>(maxSize);
+        this.ttlMillis = ttlSeconds * 1000L;
+    }
+
+    public ProfileResponseDto get(Long userId) {
+        return cache.get(userId);
+    }
+
+    public ProfileResponseDto getOrLoad(Long userId, Function<Long, ProfileResponseDto> loader) {
+        return cache.getOrLoad(userId, loader, ttlMillis);
+    }
+
+    // 프로필이 바뀌면 즉시 제거하고, 트랜잭션 중이면 커밋 이후에 한 번 더 제거
+    // 커밋 전에 다른 요청이 이전 값을 다시 캐시에 올리는 경우를 막기 위함
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    public long getLoadCount() {
+        return cache.getLoadCount();
+    }
+
+    public long getEvictionCount() {
+        return cache.getEvictionCount();
+    }
+
+    public double getHitRatio() {
+        return cache.getHitRatio();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+}
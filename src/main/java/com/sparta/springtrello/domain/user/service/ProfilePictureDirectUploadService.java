@@ -0,0 +1,113 @@
+package com.sparta.springtrello.domain.user.service;
+
+import com.sparta.springtrello.common.ResponseCodeEnum;
+import com.sparta.springtrello.common.storage.ObjectStorage;
+import com.sparta.springtrello.domain.user.dto.PictureUploadConfirmRequestDto;
+import com.sparta.springtrello.domain.user.dto.PictureUploadUrlRequestDto;
+import com.sparta.springtrello.domain.user.dto.PictureUploadUrlResponseDto;
+import com.sparta.springtrello.domain.user.dto.ProfilePictureStatusResponseDto;
+import com.sparta.springtrello.exception.custom.common.UploadException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+// 프로필 사진 직접 업로드
+// 1. 사용자 전용 경로의 서명된 PUT URL 발급 -> 클라이언트가 저장소에 바로 업로드
+// 2. 확인 요청 시 저장된 객체의 크기와 타입만 확인하고 사용자에 연결, 서버는 이미지 내용을 받거나 읽지 않는다
+@Slf4j(topic = "프로필 사진 직접 업로드")
+@Service
+public class ProfilePictureDirectUploadService {
+
+    private static final String KEY_PREFIX = "profile-pictures/direct/";
+    // 허용하는 타입 -> 확장자
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            MediaType.IMAGE_JPEG_VALUE, "jpg",
+            MediaType.IMAGE_PNG_VALUE, "png",
+            "image/webp", "webp"
+    );
+
+    private final ObjectStorage objectStorage;
+    private final ProfilePictureUploader profilePictureUploader;
+    private final Duration urlTtl;
+    private final long maxBytes;
+
+    public ProfilePictureDirectUploadService(ObjectStorage objectStorage, ProfilePictureUploader profilePictureUploader,
+                                             @Value("${profile-upload.direct.url-ttl-seconds:300}") long urlTtlSeconds,
+                                             @Value("${profile-upload.direct.max-bytes:5242880}") long maxBytes) {
+        this.objectStorage = objectStorage;
+        this.profilePictureUploader = profilePictureUploader;
+        this.urlTtl = Duration.ofSeconds(urlTtlSeconds);
+        this.maxBytes = maxBytes;
+    }
+
+    // 서명된 업로드 URL 발급, 서명은 로컬에서 계산되므로 저장소 호출 없음
+    public PictureUploadUrlResponseDto createUploadUrl(Long userId, PictureUploadUrlRequestDto requestDto) {
+        String contentType = requestDto.getContentType();
+        String extension = EXTENSIONS.get(contentType);
+        if (extension == null) {
+            throw new UploadException(ResponseCodeEnum.INVALID_UPLOAD);
+        }
+
+        String key = keyPrefixOf(userId) + UUID.randomUUID() + "." + extension;
+        Instant expiresAt = Instant.now().plus(urlTtl);
+        String uploadUrl = objectStorage.presignPut(key, contentType, expiresAt);
+        return new PictureUploadUrlResponseDto(key, uploadUrl, contentType, maxBytes, expiresAt);
+    }
+
+    // 업로드된 객체 확인 후 사용자 프로필 사진으로 연결
+    // 저장소 조회 동안 DB 커넥션을 잡지 않도록 트랜잭션 없이 확인한 뒤 사진 컬럼만 UPDATE
+    // 반영은 비동기 업로드와 같은 경로로 처리하여 진행 중인 업로드가 나중에 덮어쓰지 못하게 한다
+    public ProfilePictureStatusResponseDto confirm(Long userId, PictureUploadConfirmRequestDto requestDto) {
+        String key = requestDto.getKey();
+        if (!key.startsWith(keyPrefixOf(userId)) || key.contains("..")) {
+            throw new UploadException(ResponseCodeEnum.INVALID_UPLOAD);
+        }
+        String expectedType = expectedContentType(key);
+        if (expectedType == null) {
+            throw new UploadException(ResponseCodeEnum.INVALID_UPLOAD);
+        }
+
+        ObjectStorage.StoredObject stored = objectStorage.stat(key);
+        if (stored == null) {
+            throw new UploadException(ResponseCodeEnum.UPLOAD_NOT_FOUND);
+        }
+        if (stored.size() <= 0 || stored.size() > maxBytes || !isSameType(expectedType, stored.contentType())) {
+            log.info("조건에 맞지 않는 직접 업로드 삭제: userId={}, size={}, type={}", userId, stored.size(), stored.contentType());
+            objectStorage.delete(key);
+            throw new UploadException(ResponseCodeEnum.INVALID_UPLOAD);
+        }
+
+        return profilePictureUploader.completeDirectUpload(userId, key, objectStorage.getUrl(key));
+    }
+
+    private static String keyPrefixOf(Long userId) {
+        return KEY_PREFIX + userId + "/";
+    }
+
+    private static String expectedContentType(String key) {
+        String extension = key.substring(key.lastIndexOf('.') + 1);
+        return EXTENSIONS.entrySet().stream()
+                .filter(entry -> entry.getValue().equals(extension))
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static boolean isSameType(String expected, String actual) {
+        if (actual == null) {
+            return false;
+        }
+        try {
+            return MediaType.parseMediaType(expected).equalsTypeAndSubtype(MediaType.parseMediaType(actual));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+}
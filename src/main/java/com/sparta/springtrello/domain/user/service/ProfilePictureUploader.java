@@ -0,0 +1,429 @@
+package com.sparta.springtrello.domain.user.service;
+
+import com.sparta.springtrello.common.ImageVariantGenerator;
+import com.sparta.springtrello.common.ResponseCodeEnum;
+import com.sparta.springtrello.common.datasource.WriteOwner;
+import com.sparta.springtrello.common.storage.ObjectStorage;
+import com.sparta.springtrello.common.storage.ObjectStorageMetrics;
+import com.sparta.springtrello.common.tracing.TraceSpans;
+import com.sparta.springtrello.domain.user.dto.ProfilePictureStatusResponseDto;
+import com.sparta.springtrello.domain.user.entity.UploadStatusEnum;
+import com.sparta.springtrello.domain.user.repository.UserAdapter;
+import com.sparta.springtrello.exception.custom.common.UploadException;
+import io.micrometer.tracing.Span;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 프로필 사진 비동기 업로드
+// 요청 스레드는 파일을 로컬 디스크에 임시 저장만 하고, 트랜잭션 커밋 이후 업로드 스레드가 저장소에 올린 뒤 사진 컬럼만 UPDATE
+// DB 커넥션을 네트워크 업로드 동안 잡고 있지 않기 위함
+// 원본은 저장하지 않고 아바타 크기별 변환본만 원본 SHA-256 을 키로 올리므로, 같은 사진을 다시 올리면 업로드가 생략된다
+@Slf4j(topic = "프로필 사진 업로드")
+@Component
+public class ProfilePictureUploader {
+
+    private static final String DIR_NAME = "profile-pictures";
+    private static final int APPLY_LOCK_STRIPES = 64; // 동시에 사진을 반영할 수 있는 사용자 묶음 수
+
+    private final ObjectStorage objectStorage;
+    private final ObjectStorageMetrics objectStorageMetrics;
+    private final ImageVariantGenerator imageVariantGenerator;
+    private final UserAdapter userAdapter;
+    private final ProfileCache profileCache;
+    private final TraceSpans traceSpans;
+    private final Path spoolDir;
+    private final int maxPending;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final long statusRetentionMillis;
+
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService retryScheduler;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Object idleLock = new Object(); // pending 이 0 이 되면 알림
+    // userId -> 가장 최근 업로드, 이전 업로드가 늦게 끝나도 최신 사진을 덮어쓰지 않게 한다
+    // 직접 업로드로 확인된 사진도 여기에 등록되어 진행 중인 업로드를 밀어낸다
+    private final ConcurrentHashMap<Long, UploadJob> latestJobs = new ConcurrentHashMap<>();
+    // 최신 업로드 등록과 사진 컬럼 반영의 순서를 사용자별로 맞추는 잠금, 사용자 수만큼 만들지 않도록 id 로 나눠 쓴다
+    // latestJobs.compute 안에서 UPDATE 하면 같은 bin 의 다른 사용자 조회까지 DB 응답을 기다리므로 맵 밖에서 잠근다
+    private final Object[] applyLocks = new Object[APPLY_LOCK_STRIPES];
+
+    public ProfilePictureUploader(ObjectStorage objectStorage, ObjectStorageMetrics objectStorageMetrics,
+                                  ImageVariantGenerator imageVariantGenerator,
+                                  UserAdapter userAdapter, ProfileCache profileCache, TraceSpans traceSpans,
+                                  @Value("${profile-upload.spool-dir:}") String spoolDir,
+                                  @Value("${profile-upload.threads:4}") int threads,
+                                  @Value("${profile-upload.max-pending:200}") int maxPending,
+                                  @Value("${profile-upload.max-attempts:5}") int maxAttempts,
+                                  @Value("${profile-upload.initial-backoff-ms:500}") long initialBackoffMillis,
+                                  @Value("${profile-upload.max-backoff-ms:30000}") long maxBackoffMillis,
+                                  @Value("${profile-upload.status-retention-ms:3600000}") long statusRetentionMillis) throws IOException {
+        this.objectStorage = objectStorage;
+        this.objectStorageMetrics = objectStorageMetrics;
+        this.imageVariantGenerator = imageVariantGenerator;
+        this.userAdapter = userAdapter;
+        this.profileCache = profileCache;
+        this.traceSpans = traceSpans;
+        this.spoolDir = StringUtils.hasText(spoolDir)
+                ? Files.createDirectories(Paths.get(spoolDir))
+                : Files.createTempDirectory("profile-upload");
+        this.maxPending = maxPending;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.statusRetentionMillis = statusRetentionMillis;
+        // 대기 건수는 maxPending 으로 먼저 제한하므로 큐가 가득 차는 일은 없다
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxPending), new CustomizableThreadFactory("profile-upload-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("profile-upload-retry-"));
+        for (int i = 0; i < applyLocks.length; i++) {
+            applyLocks[i] = new Object();
+        }
+    }
+
+    // 파일을 임시 저장하고 업로드를 예약, 트랜잭션 중이면 커밋된 뒤에 업로드 시작
+    public ProfilePictureStatusResponseDto submit(Long userId, MultipartFile file) {
+        return submit(prepare(userId, file));
+    }
+
+    // 파일을 임시 저장하면서 해시를 계산하고 이미지인지 확인
+    // 트랜잭션을 시작하기 전에 호출하여 DB 커넥션을 잡은 채 파일을 쓰거나 읽지 않게 한다
+    // 반환한 업로드는 submit 으로 예약하거나 discard 로 정리해야 한다
+    public PreparedUpload prepare(Long userId, MultipartFile file) {
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            throw new UploadException(ResponseCodeEnum.UPLOAD_BUSY);
+        }
+
+        Path spooled = null;
+        String contentHash;
+        try {
+            spooled = Files.createTempFile(spoolDir, "upload-", ".tmp");
+            contentHash = spool(file, spooled);
+            imageVariantGenerator.validate(spooled);
+        } catch (IOException | UncheckedIOException e) {
+            discard(spooled);
+            log.warn("프로필 사진 임시 저장 실패: userId={}, {}", userId, e.getMessage());
+            throw new UploadException(ResponseCodeEnum.UPLOAD_FAILED);
+        } catch (RuntimeException e) {
+            discard(spooled);
+            throw e;
+        }
+        return new PreparedUpload(userId, spooled, contentHash);
+    }
+
+    // 준비한 업로드를 예약, 트랜잭션 중이면 커밋된 뒤에 업로드 시작
+    public ProfilePictureStatusResponseDto submit(PreparedUpload upload) {
+        // 같은 사진을 올리는 중이면 아무것도 하지 않는다
+        // 끝난 업로드와는 비교하지 않는다, 그 사이 다른 경로로 사진이 바뀌었을 수 있고 다시 올려도 객체는 재사용된다
+        UploadJob latest = latestJobs.get(upload.userId);
+        if (latest != null && !latest.status.isFinished() && upload.contentHash.equals(latest.contentHash)) {
+            discard(upload);
+            return latest.toDto();
+        }
+
+        // 업로드 스레드에서 만드는 span 이 요청과 같은 trace 에 묶이도록 요청 span 을 붙잡아 둔다
+        UploadJob job = new UploadJob(UUID.randomUUID().toString(), upload.userId, upload.file, upload.contentHash,
+                traceSpans.currentSpan());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        start(job);
+                    } else {
+                        finish(job, UploadStatusEnum.FAILED);
+                    }
+                }
+            });
+        } else {
+            start(job);
+        }
+        return job.toDto();
+    }
+
+    // 예약하지 않을 준비한 업로드 정리
+    public void discard(PreparedUpload upload) {
+        discard(upload.file);
+    }
+
+    // 디스크에 복사하면서 SHA-256 을 함께 계산, 파일을 다시 읽지 않는다
+    private static String spool(MultipartFile file, Path target) throws IOException {
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+        try (InputStream input = new DigestInputStream(file.getInputStream(), sha256);
+             OutputStream output = Files.newOutputStream(target)) {
+            input.transferTo(output);
+        }
+        return HexFormat.of().formatHex(sha256.digest());
+    }
+
+    // 임시 저장 실패 시 정리
+    private void discard(Path spooled) {
+        pending.decrementAndGet();
+        deleteSpooled(spooled);
+    }
+
+    // 클라이언트가 저장소에 직접 올리고 확인된 사진을 반영
+    // 대기 중이거나 진행 중인 업로드는 최신이 아니게 되어 다음 확인 시점에 SUPERSEDED 로 끝난다
+    public ProfilePictureStatusResponseDto completeDirectUpload(Long userId, String key, String pictureUrl) {
+        UploadJob job = new UploadJob(key, userId, null, null, null);
+        job.attempts = 1;
+        job.pictureUrl = pictureUrl;
+        job.status = UploadStatusEnum.COMPLETED;
+        job.finishedAt = System.currentTimeMillis();
+        applyPicture(job, pictureUrl, null, true);
+        return job.toDto();
+    }
+
+    // 가장 최근 업로드 상태, 없으면 null
+    public ProfilePictureStatusResponseDto getStatus(Long userId) {
+        UploadJob job = latestJobs.get(userId);
+        return job == null ? null : job.toDto();
+    }
+
+    // 커밋된 요청만 최신 업로드로 등록, 롤백된 요청이 진행 중인 이전 업로드를 밀어내지 않게 한다
+    private void start(UploadJob job) {
+        synchronized (applyLock(job.userId)) {
+            latestJobs.put(job.userId, job);
+        }
+        dispatch(job);
+    }
+
+    private void dispatch(UploadJob job) {
+        try {
+            workers.execute(() -> traceSpans.inScope(job.parentSpan, () -> attempt(job)));
+        } catch (RejectedExecutionException e) {
+            if (workers.isShutdown()) {
+                finish(job, UploadStatusEnum.FAILED);
+                return;
+            }
+            retryScheduler.schedule(() -> dispatch(job), initialBackoffMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void attempt(UploadJob job) {
+        if (isSuperseded(job)) {
+            finish(job, UploadStatusEnum.SUPERSEDED);
+            return;
+        }
+
+        // 디코딩과 변환은 한 번만, 재시도 때는 만들어 둔 변환본을 다시 올린다
+        if (job.variants == null) {
+            try {
+                job.variants = imageVariantGenerator.generate(job.file);
+            } catch (IOException | RuntimeException e) {
+                log.warn("프로필 사진 변환 실패: userId={}, {}", job.userId, e.toString());
+                finish(job, UploadStatusEnum.FAILED);
+                return;
+            }
+            deleteSpooled(job.file);
+        }
+
+        job.attempts++;
+        job.status = UploadStatusEnum.UPLOADING;
+        Map<Integer, String> pictureVariants = new TreeMap<>();
+        try {
+            for (ImageVariantGenerator.Variant variant : job.variants) {
+                String key = DIR_NAME + "/" + job.contentHash + "/" + variant.size() + "." + ImageVariantGenerator.EXTENSION;
+                pictureVariants.put(variant.size(), objectStorageMetrics.recordUpload("put", variant.content().length,
+                        () -> objectStorage.putIfAbsent(key, variant.content(), ImageVariantGenerator.CONTENT_TYPE)));
+            }
+        } catch (RuntimeException e) {
+            if (job.attempts >= maxAttempts) {
+                log.warn("프로필 사진 업로드 실패: userId={}, attempts={}, {}", job.userId, job.attempts, e.toString());
+                finish(job, UploadStatusEnum.FAILED);
+                return;
+            }
+            long backoff = backoffMillis(job.attempts);
+            log.info("프로필 사진 업로드 재시도 예약: userId={}, attempts={}, backoffMs={}", job.userId, job.attempts, backoff);
+            job.status = UploadStatusEnum.RETRYING;
+            retryScheduler.schedule(() -> dispatch(job), backoff, TimeUnit.MILLISECONDS);
+            return;
+        }
+
+        // 업로드 도중 새 사진이 요청됐으면 반영하지 않는다
+        // 같은 내용의 사진을 다른 사용자가 쓰고 있을 수 있으므로 올린 객체는 지우지 않음
+        String pictureUrl = pictureVariants.get(job.variants.get(0).size());
+        try {
+            if (!applyPicture(job, pictureUrl, pictureVariants, false)) {
+                finish(job, UploadStatusEnum.SUPERSEDED);
+                return;
+            }
+        } catch (RuntimeException e) {
+            log.warn("프로필 사진 반영 실패: userId={}, {}", job.userId, e.toString());
+            finish(job, UploadStatusEnum.FAILED);
+            return;
+        }
+        job.pictureUrl = pictureUrl;
+        job.pictureVariants = pictureVariants;
+        finish(job, UploadStatusEnum.COMPLETED);
+    }
+
+    // 최신 업로드 확인과 사진 컬럼 UPDATE 를 사용자별로 묶어, 먼저 확인한 이전 업로드가 나중에 덮어쓰지 못하게 한다
+    // replaceLatest 면 진행 중인 업로드와 관계없이 반영하고 최신 업로드로 등록, 아니면 job 이 최신일 때만 반영
+    // 잠금은 같은 stripe 의 반영과 등록만 기다리게 하고, 상태 조회(latestJobs.get)는 막지 않는다
+    private boolean applyPicture(UploadJob job, String pictureUrl, Map<Integer, String> pictureVariants, boolean replaceLatest) {
+        Long userId = job.userId;
+        synchronized (applyLock(userId)) {
+            if (!replaceLatest && latestJobs.get(userId) != job) {
+                return false;
+            }
+            // 업로드 작업 스레드에는 보안 컨텍스트가 없으므로 사용자를 직접 알려 이후 읽기가 primary 로 가게 한다
+            WriteOwner.run(userId, () -> userAdapter.updatePicture(userId, pictureUrl, pictureVariants));
+            if (replaceLatest) {
+                latestJobs.put(userId, job);
+            }
+        }
+        profileCache.evict(userId);
+        return true;
+    }
+
+    private Object applyLock(Long userId) {
+        return applyLocks[Math.floorMod(Long.hashCode(userId), applyLocks.length)];
+    }
+
+    // 지수 백오프, 동시에 실패한 업로드가 한꺼번에 재시도하지 않도록 지터 적용
+    private long backoffMillis(int attempts) {
+        long backoff = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempts - 1, 20));
+        return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+    }
+
+    private boolean isSuperseded(UploadJob job) {
+        return latestJobs.get(job.userId) != job;
+    }
+
+    private void finish(UploadJob job, UploadStatusEnum status) {
+        job.status = status;
+        job.finishedAt = System.currentTimeMillis();
+        job.variants = null;
+        deleteSpooled(job.file);
+        if (pending.decrementAndGet() == 0) {
+            synchronized (idleLock) {
+                idleLock.notifyAll();
+            }
+        }
+    }
+
+    private static void deleteSpooled(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("임시 파일 삭제 실패: {}", file);
+        }
+    }
+
+    // 끝난 업로드 상태를 보관 기간이 지나면 제거
+    @Scheduled(fixedDelayString = "${profile-upload.status-cleanup-interval-ms:600000}")
+    public void removeFinishedStatuses() {
+        long threshold = System.currentTimeMillis() - statusRetentionMillis;
+        latestJobs.values().removeIf(job -> job.status.isFinished() && job.finishedAt < threshold);
+    }
+
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    // 대기 중이거나 진행 중인 업로드가 모두 끝날 때까지 대기, 테스트에서 사용
+    boolean awaitIdle(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (idleLock) {
+            while (pending.get() > 0) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                idleLock.wait(remaining);
+            }
+            return true;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+        workers.shutdown();
+    }
+
+    // 임시 저장과 확인을 마치고 예약을 기다리는 업로드
+    public static final class PreparedUpload {
+        private final Long userId;
+        private final Path file;
+        private final String contentHash;
+
+        private PreparedUpload(Long userId, Path file, String contentHash) {
+            this.userId = userId;
+            this.file = file;
+            this.contentHash = contentHash;
+        }
+    }
+
+    private static final class UploadJob {
+        private final String uploadId;
+        private final Long userId;
+        private final Path file; // 직접 업로드는 null
+        private final String contentHash; // 직접 업로드는 null
+        private final Span parentSpan; // 요청한 쪽의 span, 추적 중이 아니었으면 null
+        private volatile List<ImageVariantGenerator.Variant> variants; // 큰 크기부터
+        private volatile UploadStatusEnum status = UploadStatusEnum.PENDING;
+        private volatile int attempts;
+        private volatile String pictureUrl;
+        private volatile Map<Integer, String> pictureVariants;
+        private volatile long finishedAt;
+
+        private UploadJob(String uploadId, Long userId, Path file, String contentHash, Span parentSpan) {
+            this.uploadId = uploadId;
+            this.userId = userId;
+            this.file = file;
+            this.contentHash = contentHash;
+            this.parentSpan = parentSpan;
+        }
+
+        private ProfilePictureStatusResponseDto toDto() {
+            return new ProfilePictureStatusResponseDto(uploadId, status, attempts, pictureUrl, pictureVariants);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.sparta.springtrello.domain.user.service;
+
+import com.sparta.springtrello.domain.user.repository.RefreshTokenStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 만료된 리프레시 토큰을 주기적으로 일괄 삭제
+@Slf4j(topic = "리프레시 토큰 정리")
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenCleaner {
+    private final RefreshTokenStore refreshTokenStore;
+
+    @Scheduled(fixedDelayString = "${refresh-token.cleanup-interval-ms:3600000}")
+    public void deleteExpiredTokens() {
+        int deleted = refreshTokenStore.deleteExpired();
+        if (deleted > 0) {
+            log.info("만료된 리프레시 토큰 {}개 삭제", deleted);
+        }
+    }
+}
@@ -1,17 +1,25 @@
 package com.sparta.springtrello.domain.user.service;
 
-import com.sparta.springtrello.common.S3Uploader;
+import com.sparta.springtrello.auth.SessionTable;
+import com.sparta.springtrello.auth.TokenVersionTable;
+import com.sparta.springtrello.auth.UserDetailsCache;
+import com.sparta.springtrello.domain.user.dto.ProfilePictureStatusResponseDto;
 import com.sparta.springtrello.domain.user.dto.ProfileResponseDto;
+import com.sparta.springtrello.domain.user.dto.ProfileSummaryResponseDto;
+import com.sparta.springtrello.domain.user.dto.ProfilesResponseDto;
 import com.sparta.springtrello.domain.user.dto.SignupRequestDto;
 import com.sparta.springtrello.domain.user.dto.UpdatePasswordRequestDto;
 import com.sparta.springtrello.domain.user.dto.UpdateProfileRequestDto;
 import com.sparta.springtrello.domain.user.entity.User;
 import com.sparta.springtrello.domain.user.entity.UserRoleEnum;
 import com.sparta.springtrello.domain.user.entity.UserStatusEnum;
+import com.sparta.springtrello.domain.user.repository.RefreshTokenStore;
 import com.sparta.springtrello.domain.user.repository.UserAdapter;
+import com.sparta.springtrello.exception.custom.common.UploadException;
 import com.sparta.springtrello.exception.custom.user.UserException;
 import com.sparta.springtrello.exception.custom.user.PasswordException;
 import com.sparta.springtrello.common.ResponseCodeEnum;
+import com.sparta.springtrello.common.datasource.PrimaryRead;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -19,7 +27,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 public class UserService {
@@ -28,13 +42,27 @@ public class UserService {
     private final PasswordEncoder passwordEncoder;
     @Value("${manager-password}")
     private String managerPassword;
-    private final S3Uploader s3Uploader;
+    @Value("${profile-batch.max-size:100}")
+    private int maxProfileBatchSize;
+    private final ProfilePictureUploader profilePictureUploader;
+    private final TokenVersionTable tokenVersionTable;
+    private final SessionTable sessionTable;
+    private final UserDetailsCache userDetailsCache;
+    private final RefreshTokenStore refreshTokenStore;
+    private final ProfileCache profileCache;
 
     @Autowired
-    public UserService(UserAdapter userAdapter, PasswordEncoder passwordEncoder, S3Uploader s3Uploader) {
+    public UserService(UserAdapter userAdapter, PasswordEncoder passwordEncoder, ProfilePictureUploader profilePictureUploader,
+                       TokenVersionTable tokenVersionTable, SessionTable sessionTable, UserDetailsCache userDetailsCache,
+                       RefreshTokenStore refreshTokenStore, ProfileCache profileCache) {
         this.userAdapter = userAdapter;
         this.passwordEncoder = passwordEncoder;
-        this.s3Uploader = s3Uploader;
+        this.profilePictureUploader = profilePictureUploader;
+        this.tokenVersionTable = tokenVersionTable;
+        this.sessionTable = sessionTable;
+        this.userDetailsCache = userDetailsCache;
+        this.refreshTokenStore = refreshTokenStore;
+        this.profileCache = profileCache;
     }
 
     // 회원가입
@@ -67,61 +95,138 @@ public class UserService {
 
     // 비밀번호 변경
     @Transactional
-    public void updatePassword(User loginUser, UpdatePasswordRequestDto requestDto) {
-        User user = userAdapter.findById(loginUser.getId());
+    public void updatePassword(Long userId, UpdatePasswordRequestDto requestDto) {
+        User user = userAdapter.findById(userId);
 
         // 현재 비밀번호 확인
         if (!passwordEncoder.matches(requestDto.getCurrentPassword(), user.getPassword())) {
             throw new PasswordException(ResponseCodeEnum.PASSWORD_INCORRECT);
         }
 
-        // 새로운 비밀번호가 현재 비밀번호와 다른지 확인
-        if (passwordEncoder.matches(requestDto.getNewPassword(), user.getPassword())) {
+        // 새로운 비밀번호가 현재 비밀번호와 다른지 확인 -> 현재 비밀번호는 위에서 검증되었으므로 해시 없이 비교
+        if (requestDto.getNewPassword().equals(requestDto.getCurrentPassword())) {
             throw new PasswordException(ResponseCodeEnum.SAME_AS_OLD_PASSWORD);
         }
 
         // 비밀번호 업데이트
         String encodedNewPassword = passwordEncoder.encode(requestDto.getNewPassword());
         user.setPassword(encodedNewPassword);
+        revokeAccessTokens(user);
         userAdapter.save(user);
+        userDetailsCache.evict(user.getUsername());
     }
 
-    // 프로필 업로드
-    @Transactional
-    public void updateProfile(User user, UpdateProfileRequestDto requestDto, MultipartFile profilePicture) {
-        user.setNickname(requestDto.getNickname());
-        user.setIntroduce(requestDto.getIntroduce());
-
-        if (profilePicture != null && !profilePicture.isEmpty()) {
-            try {
-                String pictureUrl = s3Uploader.upload(profilePicture, "profile-pictures");
-                user.setPictureUrl(pictureUrl);
-            } catch (IOException e) {
-                throw new UserException(ResponseCodeEnum.UPLOAD_FAILED);
+    // 프로필 업로드 -> 텍스트는 바로 커밋하고, 사진은 커밋 이후에 비동기로 업로드
+    // 사진의 임시 저장/검증/해시 계산은 트랜잭션 전에 끝내 DB 커넥션을 잡은 채 파일 I/O 를 하지 않는다
+    // 사진이 없으면 null 반환
+    public ProfilePictureStatusResponseDto updateProfile(Long userId, UpdateProfileRequestDto requestDto, MultipartFile profilePicture) {
+        ProfilePictureUploader.PreparedUpload upload = profilePicture != null && !profilePicture.isEmpty()
+                ? profilePictureUploader.prepare(userId, profilePicture)
+                : null;
+        try {
+            userAdapter.updateProfile(userId, requestDto.getNickname(), requestDto.getIntroduce());
+        } catch (RuntimeException e) {
+            if (upload != null) {
+                profilePictureUploader.discard(upload);
             }
+            throw e;
         }
-        userAdapter.save(user);
+        profileCache.evict(userId);
+
+        return upload == null ? null : profilePictureUploader.submit(upload);
+    }
+
+    // 가장 최근 프로필 사진 업로드 상태 조회
+    public ProfilePictureStatusResponseDto getProfilePictureStatus(Long userId) {
+        ProfilePictureStatusResponseDto status = profilePictureUploader.getStatus(userId);
+        if (status == null) {
+            throw new UploadException(ResponseCodeEnum.UPLOAD_NOT_FOUND);
+        }
+        return status;
     }
 
-    // 프로필 조회
-    @Transactional(readOnly = true)
+    // 프로필 조회 -> 캐시에 없을 때만 DB 조회, 캐시 적중 시 트랜잭션/커넥션을 쓰지 않도록 트랜잭션 없이 처리
+    // 캐시에 올린 값은 ttl 동안 모든 요청이 보므로, 무효화 직후 지연된 복제본의 이전 값을 올리지 않도록 primary 에서 읽는다
     public ProfileResponseDto getProfile(Long userId) {
-        User user = userAdapter.findById(userId);
-        return new ProfileResponseDto(user.getNickname(), user.getIntroduce(), user.getPictureUrl());
+        return profileCache.getOrLoad(userId, id -> {
+            User user = PrimaryRead.call(() -> userAdapter.findById(id));
+            return new ProfileResponseDto(user.getNickname(), user.getIntroduce(), user.getPictureUrl(),
+                    user.getPictureVariants(), user.getProfileModifiedAt());
+        });
     }
 
-    // 로그아웃
+    // 여러 사용자 프로필 조회 -> 캐시에 있는 프로필은 그대로 쓰고, 나머지는 한 번의 IN 쿼리로 필요한 컬럼만 조회
+    // 요청한 id 순서를 유지하고, 없는 사용자 id 는 따로 응답
+    public ProfilesResponseDto getProfiles(List<Long> userIds) {
+        Set<Long> ids = new LinkedHashSet<>();
+        userIds.stream().filter(Objects::nonNull).forEach(ids::add);
+        if (ids.size() > maxProfileBatchSize) {
+            throw new UserException(ResponseCodeEnum.TOO_MANY_USER_IDS);
+        }
+
+        Map<Long, ProfileSummaryResponseDto> found = new HashMap<>();
+        List<Long> uncached = new ArrayList<>();
+        for (Long id : ids) {
+            ProfileResponseDto cached = profileCache.get(id);
+            if (cached != null) {
+                found.put(id, ProfileSummaryResponseDto.of(id, cached));
+            } else {
+                uncached.add(id);
+            }
+        }
+        if (!uncached.isEmpty()) {
+            for (ProfileSummaryResponseDto profile : userAdapter.findProfilesByIds(uncached)) {
+                found.put(profile.getUserId(), profile);
+            }
+        }
+
+        List<ProfileSummaryResponseDto> profiles = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            ProfileSummaryResponseDto profile = found.get(id);
+            if (profile != null) {
+                profiles.add(profile);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new ProfilesResponseDto(profiles, missing);
+    }
+
+    // 로그아웃 -> 요청한 액세스 토큰의 세션만 삭제, allDevices 이면 모든 기기에서 로그아웃
+    // 기기별 로그아웃은 토큰 버전을 올리지 않으므로 다른 기기의 액세스 토큰은 그대로 유효하다
+    // 모든 기기 로그아웃은 토큰 버전으로 거부되므로 세션 캐시는 비우지 않는다
     @Transactional
-    public void logout(User user) {
-        user.setRefreshToken(null);  // 리프레시 토큰을 무효화
+    public void logout(Long userId, String sessionId, boolean allDevices) {
+        if (!allDevices) {
+            // 세션이 삭제되면 같은 세션의 액세스 토큰과 리프레시 토큰이 함께 거부된다
+            refreshTokenStore.deleteSession(userId, sessionId);
+            sessionTable.revoke(sessionId);
+            return;
+        }
+
+        User user = userAdapter.findById(userId);
+        refreshTokenStore.deleteAllByUserId(userId);
+        revokeAccessTokens(user);
         userAdapter.save(user);
+        userDetailsCache.evict(user.getUsername());
     }
 
     // 회원 탈퇴
     @Transactional
-    public void deleteUser(User user) {
+    public void deleteUser(Long userId) {
+        User user = userAdapter.findById(userId);
         user.setUserStatus(UserStatusEnum.STATUS_DELETED);
-        user.setRefreshToken(null);
+        refreshTokenStore.deleteAllByUserId(userId);
+        revokeAccessTokens(user);
         userAdapter.save(user);
+        userDetailsCache.evict(user.getUsername());
+        profileCache.evict(userId);
+    }
+
+    // 토큰 버전을 올려 이전에 발급된 액세스 토큰을 무효화
+    private void revokeAccessTokens(User user) {
+        user.increaseTokenVersion();
+        tokenVersionTable.update(user.getId(), user.getTokenVersion());
     }
 }
@@ -3,12 +3,18 @@ package com.sparta.springtrello.exception;
 import com.sparta.springtrello.common.ResponseCodeEnum;
 import lombok.Getter;
 
+// 4xx 는 응답 코드로 처리되는 예상된 비즈니스 예외이므로 스택 트레이스를 수집하지 않는다
+// 5xx 는 원인을 찾아야 하는 서버 쪽 실패이므로 스택 트레이스를 남긴다
 @Getter
 public class CustomException extends RuntimeException {
     private final ResponseCodeEnum responseCode;
 
     public CustomException(ResponseCodeEnum responseCode) {
-        super(responseCode.getMessage());
+        this(responseCode, responseCode.getHttpStatus().is5xxServerError());
+    }
+
+    private CustomException(ResponseCodeEnum responseCode, boolean serverError) {
+        super(responseCode.getMessage(), null, serverError, serverError);
         this.responseCode = responseCode;
     }
 }
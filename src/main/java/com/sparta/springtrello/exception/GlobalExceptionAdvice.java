@@ -1,8 +1,10 @@
 package com.sparta.springtrello.exception;
 
 import com.sparta.springtrello.common.HttpResponseDto;
+import com.sparta.springtrello.common.ResponseCodeEnum;
 import com.sparta.springtrello.common.ResponseUtils;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -10,15 +12,31 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @RestControllerAdvice
 public class GlobalExceptionAdvice {
 
+    // 같은 응답 코드의 4xx 로그는 이 간격마다 한 번만 남기고 나머지는 건수만 집계
+    private final long logIntervalMillis;
+    private final Map<ResponseCodeEnum, AtomicLong> nextLogAt = new EnumMap<>(ResponseCodeEnum.class);
+    private final Map<ResponseCodeEnum, AtomicLong> suppressed = new EnumMap<>(ResponseCodeEnum.class);
+
+    public GlobalExceptionAdvice(@Value("${error-log.interval-seconds:10}") long logIntervalSeconds) {
+        this.logIntervalMillis = logIntervalSeconds * 1000L;
+        for (ResponseCodeEnum responseCode : ResponseCodeEnum.values()) {
+            nextLogAt.put(responseCode, new AtomicLong());
+            suppressed.put(responseCode, new AtomicLong());
+        }
+    }
+
     @ExceptionHandler(CustomException.class)
     public ResponseEntity<HttpResponseDto<Void>> handleUserException(CustomException e) {
-        log.error("에러 메세지: ", e);
+        logExpectedError(e);
         return ResponseUtils.error(e.getResponseCode());
     }
 
@@ -30,4 +48,24 @@ public class GlobalExceptionAdvice {
         log.error("유효성 검사 실패:\n\n{}", String.join(",\n", errorMessageList));
         return ResponseUtils.success(HttpStatus.BAD_REQUEST, errorMessageList);
     }
+
+    // 서버 쪽 실패는 건마다 원인이 다를 수 있으므로 항상 스택 트레이스와 함께 남기고, 클라이언트 오류만 간격을 둔다
+    private void logExpectedError(CustomException e) {
+        ResponseCodeEnum responseCode = e.getResponseCode();
+        if (responseCode.getHttpStatus().is5xxServerError()) {
+            log.error("에러 메세지: {} {}", responseCode, responseCode.getMessage(), e);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        AtomicLong next = nextLogAt.get(responseCode);
+        long scheduled = next.get();
+        if (now < scheduled || !next.compareAndSet(scheduled, now + logIntervalMillis)) {
+            suppressed.get(responseCode).incrementAndGet();
+            return;
+        }
+
+        long skipped = suppressed.get(responseCode).getAndSet(0);
+        log.warn("에러 메세지: {} {} (이전 로그 이후 {}건 생략)", responseCode, responseCode.getMessage(), skipped);
+    }
 }
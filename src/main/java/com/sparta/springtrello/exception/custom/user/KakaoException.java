@@ -0,0 +1,10 @@
+package com.sparta.springtrello.exception.custom.user;
+
+import com.sparta.springtrello.common.ResponseCodeEnum;
+import com.sparta.springtrello.exception.CustomException;
+
+public class KakaoException extends CustomException {
+    public KakaoException(ResponseCodeEnum responseCode) {
+        super(responseCode);
+    }
+}
@@ -0,0 +1,45 @@
+package com.sparta.springtrello.auth;
+
+import com.sparta.springtrello.domain.user.repository.RefreshTokenStore;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SessionTableTest {
+
+    private final RefreshTokenStore refreshTokenStore = mock(RefreshTokenStore.class);
+
+    @Test
+    void ttl_동안은_세션을_다시_조회하지_않는다() {
+        SessionTable table = new SessionTable(refreshTokenStore, 100, 60);
+        when(refreshTokenStore.isActive(1L, "session")).thenReturn(true);
+
+        assertThat(table.isActive(1L, "session")).isTrue();
+        assertThat(table.isActive(1L, "session")).isTrue();
+        verify(refreshTokenStore, times(1)).isActive(1L, "session");
+    }
+
+    @Test
+    void 이_인스턴스에서_로그아웃한_세션은_즉시_거부된다() {
+        SessionTable table = new SessionTable(refreshTokenStore, 100, 60);
+        when(refreshTokenStore.isActive(1L, "session")).thenReturn(true, false);
+        assertThat(table.isActive(1L, "session")).isTrue();
+
+        table.revoke("session");
+
+        assertThat(table.isActive(1L, "session")).isFalse();
+    }
+
+    @Test
+    void ttl_이_지나면_다른_인스턴스에서_삭제한_세션을_다시_읽는다() {
+        SessionTable table = new SessionTable(refreshTokenStore, 100, 0);
+        when(refreshTokenStore.isActive(1L, "session")).thenReturn(true, false);
+
+        assertThat(table.isActive(1L, "session")).isTrue();
+        assertThat(table.isActive(1L, "session")).isFalse();
+    }
+}
@@ -0,0 +1,64 @@
+package com.sparta.springtrello.auth;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTableTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    @Test
+    void 다른_키에_슬롯을_빼앗겨도_가득_찬_버킷을_새로_주지_않는다() {
+        // 슬롯 2개(한 묶음), 충전 없음
+        TokenBucketTable table = new TokenBucketTable(2, 1, 0, clock::get, 0);
+
+        assertThat(table.tryAcquire("a")).isTrue();
+        assertThat(table.tryAcquire("b")).isTrue();
+        // 세 번째 키는 빈 버킷을 이어받는다
+        assertThat(table.tryAcquire("c")).isFalse();
+        assertThat(table.tryAcquire("a")).isFalse();
+        assertThat(table.tryAcquire("b")).isFalse();
+    }
+
+    @Test
+    void 같은_묶음의_두_키는_서로_밀어내지_않는다() {
+        TokenBucketTable table = new TokenBucketTable(2, 1, 0, clock::get, 0);
+
+        assertThat(table.tryAcquire("a")).isTrue();
+        assertThat(table.tryAcquire("b")).isTrue();
+        assertThat(table.tryAcquire("a")).isFalse();
+        assertThat(table.tryAcquire("b")).isFalse();
+    }
+
+    @Test
+    void 토큰으로_바뀌지_않은_충전분은_다음_호출로_넘긴다() {
+        // 분당 3개 -> 20초에 1개, 10ms 마다 0.0005개
+        TokenBucketTable table = new TokenBucketTable(2, 2, 3, clock::get, 0);
+        assertThat(table.tryAcquire("key")).isTrue();
+
+        // 1 tick 뒤의 호출이 충전 시각을 앞당기면 20초 시점에 토큰이 모자란다
+        clock.addAndGet(15);
+        assertThat(table.tryAcquire("key")).isTrue();
+        assertThat(table.tryAcquire("key")).isFalse();
+
+        clock.set(1_000_000 + 20_000);
+        assertThat(table.tryAcquire("key")).isTrue();
+        assertThat(table.tryAcquire("key")).isFalse();
+    }
+
+    @Test
+    void 가득_찬_뒤의_충전분은_쌓이지_않는다() {
+        TokenBucketTable table = new TokenBucketTable(2, 2, 60, clock::get, 0);
+        assertThat(table.tryAcquire("key")).isTrue();
+        assertThat(table.tryAcquire("key")).isTrue();
+
+        // 1분 동안 60개가 충전되지만 용량은 2개
+        clock.addAndGet(60_000);
+        assertThat(table.tryAcquire("key")).isTrue();
+        assertThat(table.tryAcquire("key")).isTrue();
+        assertThat(table.tryAcquire("key")).isFalse();
+    }
+}
@@ -0,0 +1,57 @@
+package com.sparta.springtrello.auth;
+
+import com.sparta.springtrello.common.ResponseCodeEnum;
+import com.sparta.springtrello.domain.user.repository.UserAdapter;
+import com.sparta.springtrello.exception.custom.user.UserException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenVersionTableTest {
+
+    private final UserAdapter userAdapter = mock(UserAdapter.class);
+
+    @Test
+    void ttl_동안은_DB_를_다시_조회하지_않는다() {
+        TokenVersionTable table = new TokenVersionTable(userAdapter, 100, 60);
+        when(userAdapter.findTokenVersionById(1L)).thenReturn(3);
+
+        assertThat(table.isCurrent(1L, 3)).isTrue();
+        assertThat(table.isCurrent(1L, 2)).isFalse();
+        verify(userAdapter, times(1)).findTokenVersionById(1L);
+    }
+
+    @Test
+    void ttl_이_지나면_다른_인스턴스에서_올린_버전을_다시_읽는다() {
+        TokenVersionTable table = new TokenVersionTable(userAdapter, 100, 0);
+        when(userAdapter.findTokenVersionById(1L)).thenReturn(3, 4);
+
+        assertThat(table.isCurrent(1L, 3)).isTrue();
+        // 다른 인스턴스에서 로그아웃하여 DB 의 버전이 4 가 됨
+        assertThat(table.isCurrent(1L, 3)).isFalse();
+    }
+
+    @Test
+    void 이_인스턴스에서_올린_버전은_즉시_반영된다() {
+        TokenVersionTable table = new TokenVersionTable(userAdapter, 100, 60);
+        when(userAdapter.findTokenVersionById(1L)).thenReturn(3);
+        assertThat(table.isCurrent(1L, 3)).isTrue();
+
+        table.update(1L, 4);
+
+        assertThat(table.isCurrent(1L, 3)).isFalse();
+        assertThat(table.isCurrent(1L, 4)).isTrue();
+    }
+
+    @Test
+    void 없는_사용자의_토큰은_거부한다() {
+        TokenVersionTable table = new TokenVersionTable(userAdapter, 100, 60);
+        when(userAdapter.findTokenVersionById(1L)).thenThrow(new UserException(ResponseCodeEnum.USER_NOT_FOUND));
+
+        assertThat(table.isCurrent(1L, 0)).isFalse();
+    }
+}
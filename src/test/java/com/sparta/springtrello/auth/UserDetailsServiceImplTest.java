@@ -0,0 +1,73 @@
+package com.sparta.springtrello.auth;
+
+import com.sparta.springtrello.domain.user.entity.User;
+import com.sparta.springtrello.domain.user.entity.UserStatusEnum;
+import com.sparta.springtrello.domain.user.repository.UserAdapter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserDetailsServiceImplTest {
+
+    private final UserAdapter userAdapter = mock(UserAdapter.class);
+    private final UserDetailsServiceImpl userDetailsService =
+            new UserDetailsServiceImpl(userAdapter, new UserDetailsCache(10, 60));
+
+    @Test
+    void 캐시에는_비밀번호_해시_없이_사용자_스냅샷만_담는다() {
+        User user = new User("user1", "$2a$10$hash", UserStatusEnum.STATUS_NORMAL);
+        when(userAdapter.findByUsername("user1")).thenReturn(user);
+
+        UserDetailsImpl userDetails = (UserDetailsImpl) userDetailsService.loadUserByUsername("user1");
+        // 엔티티가 바뀌어도 캐시된 스냅샷에는 반영되지 않는다
+        user.setUserStatus(UserStatusEnum.STATUS_DELETED);
+
+        assertThat(userDetails.getPassword()).isNull();
+        assertThat(userDetails.getUsername()).isEqualTo("user1");
+        assertThat(userDetails.isDeleted()).isFalse();
+        assertThat(userDetailsService.loadUserByUsername("user1")).isSameAs(userDetails);
+        verify(userAdapter, times(1)).findByUsername("user1");
+    }
+
+    @Test
+    void 같은_사용자를_동시에_조회하면_DB_는_한_번만_읽는다() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userAdapter.findByUsername("user1")).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new User("user1", "password", UserStatusEnum.STATUS_NORMAL);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?> first = executor.submit(() -> userDetailsService.loadUserByUsername("user1"));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            List<Future<?>> waiting = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                waiting.add(executor.submit(() -> userDetailsService.loadUserByUsername("user1")));
+            }
+            release.countDown();
+
+            Object expected = first.get(5, TimeUnit.SECONDS);
+            for (Future<?> future : waiting) {
+                assertThat(future.get(5, TimeUnit.SECONDS)).isSameAs(expected);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(userAdapter, times(1)).findByUsername("user1");
+    }
+}
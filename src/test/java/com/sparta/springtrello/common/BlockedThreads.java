@@ -0,0 +1,25 @@
+package com.sparta.springtrello.common;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+// 동시성 테스트에서 스레드들이 다른 스레드의 작업 결과를 기다리며 멈출 때까지 대기
+// 시간을 두고 기다리는 대신 스레드 상태로 확인하므로 느린 환경에서도 순서가 보장된다
+public final class BlockedThreads {
+
+    private BlockedThreads() {
+    }
+
+    // 모든 스레드가 시간 제한 없이 대기(WAITING) 중이 될 때까지, 5초가 지나면 실패
+    public static void await(Collection<Thread> threads) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        for (Thread thread : threads) {
+            while (thread.getState() != Thread.State.WAITING) {
+                if (System.nanoTime() > deadline) {
+                    throw new AssertionError(thread.getName() + " 가 대기 상태가 되지 않았습니다: " + thread.getState());
+                }
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
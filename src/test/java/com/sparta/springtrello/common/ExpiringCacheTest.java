@@ -0,0 +1,143 @@
+package com.sparta.springtrello.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExpiringCacheTest {
+
+    @Test
+    void 같은_키를_동시에_요청하면_한_번만_읽는다() throws Exception {
+        ExpiringCache<Long, String> cache = new ExpiringCache<>(10);
+        AtomicInteger loads = new AtomicInteger();
+        AtomicReference<Thread> loaderThread = new AtomicReference<>();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        List<String> results = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            threads.add(new Thread(() -> results.add(cache.getOrLoad(1L, key -> {
+                loads.incrementAndGet();
+                loaderThread.set(Thread.currentThread());
+                loaderStarted.countDown();
+                await(release);
+                return "profile-" + key;
+            }, 60_000))));
+        }
+        threads.forEach(Thread::start);
+        assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        // 나머지 요청이 모두 진행 중인 로드에 합류해 멈춘 뒤에 로드를 끝낸다
+        List<Thread> waiters = new ArrayList<>(threads);
+        waiters.remove(loaderThread.get());
+        BlockedThreads.await(waiters);
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join(5_000);
+        }
+
+        assertThat(results).hasSize(8).containsOnly("profile-1");
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.getLoadCount()).isEqualTo(1);
+        assertThat(cache.getOrLoad(1L, key -> "reloaded", 60_000)).isEqualTo("profile-1");
+        assertThat(cache.getHitRatio()).isGreaterThan(0);
+    }
+
+    @Test
+    void 읽는_도중_무효화되면_읽은_값을_저장하지_않는다() {
+        ExpiringCache<Long, String> cache = new ExpiringCache<>(10);
+
+        String loaded = cache.getOrLoad(1L, key -> {
+            cache.invalidate(key); // 로드 중에 다른 요청이 값을 변경
+            return "stale";
+        }, 60_000);
+
+        assertThat(loaded).isEqualTo("stale");
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.getOrLoad(1L, key -> "fresh", 60_000)).isEqualTo("fresh");
+    }
+
+    @Test
+    void 로드가_실패하면_저장하지_않고_다음_요청이_다시_읽는다() {
+        ExpiringCache<Long, String> cache = new ExpiringCache<>(10);
+
+        assertThatThrownBy(() -> cache.getOrLoad(1L, key -> {
+            throw new IllegalStateException("db down");
+        }, 60_000)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.getOrLoad(1L, key -> "loaded", 60_000)).isEqualTo("loaded");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void 가득_차면_최근에_사용하지_않은_항목부터_제거한다() {
+        ExpiringCache<Integer, String> cache = new ExpiringCache<>(10);
+        for (int key = 0; key < 10; key++) {
+            cache.put(key, "value-" + key, System.currentTimeMillis() + 60_000);
+        }
+        for (int key = 0; key < 5; key++) {
+            cache.get(key);
+        }
+
+        cache.put(10, "value-10", System.currentTimeMillis() + 60_000);
+
+        assertThat(cache.size()).isEqualTo(10);
+        for (int key = 0; key < 5; key++) {
+            assertThat(cache.get(key)).isEqualTo("value-" + key);
+        }
+        assertThat(cache.get(10)).isEqualTo("value-10");
+    }
+
+    @Test
+    void 공간은_한_번에_여러_칸_비워_put_마다_전체를_훑지_않는다() {
+        ExpiringCache<Integer, String> cache = new ExpiringCache<>(100);
+        for (int key = 0; key < 100; key++) {
+            cache.put(key, "value", System.currentTimeMillis() + 60_000);
+        }
+
+        cache.put(100, "value", System.currentTimeMillis() + 60_000);
+        assertThat(cache.getEvictionCount()).isEqualTo(10);
+
+        // 비운 10칸을 다시 채우는 동안에는 제거하지 않는다
+        for (int key = 101; key < 110; key++) {
+            cache.put(key, "value", System.currentTimeMillis() + 60_000);
+        }
+        assertThat(cache.getEvictionCount()).isEqualTo(10);
+        assertThat(cache.size()).isEqualTo(100);
+    }
+
+    @Test
+    void 만료된_항목이_있으면_사용_중인_항목보다_먼저_제거한다() {
+        AtomicLong now = new AtomicLong(1_000);
+        ExpiringCache<Integer, String> cache = new ExpiringCache<>(10, now::get);
+        for (int key = 0; key < 10; key++) {
+            cache.put(key, "value", now.get() + (key < 3 ? 50 : 60_000));
+        }
+        now.addAndGet(100); // 앞의 세 항목이 만료되도록
+
+        cache.put(10, "value", now.get() + 60_000);
+
+        assertThat(cache.size()).isEqualTo(8);
+        for (int key = 3; key <= 10; key++) {
+            assertThat(cache.get(key)).isNotNull();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
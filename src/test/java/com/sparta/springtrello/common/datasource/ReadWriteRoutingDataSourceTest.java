@@ -0,0 +1,212 @@
+package com.sparta.springtrello.common.datasource;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 내장 H2 DB 두 개를 primary / 복제본으로 두고 트랜잭션 종류별로 어느 쪽에서 읽는지 확인
+// 애플리케이션과 같은 JpaTransactionManager 경로도 함께 확인한다
+class ReadWriteRoutingDataSourceTest {
+
+    private static final String LAG_QUERY = "select seconds from replica_lag";
+
+    private JdbcTemplate primaryJdbc;
+    private JdbcTemplate replicaJdbc;
+    private ReadWriteRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private TransactionTemplate jpaReadWrite;
+    private TransactionTemplate jpaReadOnly;
+    private final AtomicReference<Long> currentUserId = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = embedded("primary");
+        DataSource replica = embedded("replica");
+        primaryJdbc = new JdbcTemplate(primary);
+        replicaJdbc = new JdbcTemplate(replica);
+        for (JdbcTemplate template : List.of(primaryJdbc, replicaJdbc)) {
+            template.execute("create table marker (name varchar(16))");
+        }
+        primaryJdbc.update("insert into marker values ('primary')");
+        replicaJdbc.update("insert into marker values ('replica')");
+        replicaJdbc.execute("create table replica_lag (seconds double)");
+        replicaJdbc.update("insert into replica_lag values (0)");
+
+        routing = new ReadWriteRoutingDataSource(primary, List.of(new ReplicaDataSource("replica-1", replica)),
+                new ReadYourWritesTracker(100, 60_000), currentUserId::get, 5, LAG_QUERY, 1);
+        routing.afterPropertiesSet();
+        routing.checkReplicas();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan(ReadWriteRoutingDataSourceTest.class.getPackageName());
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of("hibernate.dialect", "org.hibernate.dialect.H2Dialect"));
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        JpaTransactionManager jpaTransactionManager = new JpaTransactionManager(entityManagerFactory);
+        jpaReadWrite = new TransactionTemplate(jpaTransactionManager);
+        jpaReadOnly = new TransactionTemplate(jpaTransactionManager);
+        jpaReadOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        entityManagerFactory.close();
+        primaryJdbc.execute("shutdown");
+        replicaJdbc.execute("shutdown");
+    }
+
+    @Test
+    void 읽기_전용_트랜잭션은_복제본으로_나머지는_primary_로_보낸다() {
+        assertThat(readOnly.execute(status -> whereAmI())).isEqualTo("replica");
+        assertThat(readWrite.execute(status -> whereAmI())).isEqualTo("primary");
+        assertThat(whereAmI()).isEqualTo("primary"); // 트랜잭션 밖
+        assertThat(routing.getReplicaRouteCount()).isEqualTo(1);
+    }
+
+    @Test
+    void 복제_지연이_기준을_넘으면_primary_에서_읽는다() {
+        replicaJdbc.update("update replica_lag set seconds = 30");
+        routing.checkReplicas();
+
+        assertThat(readOnly.execute(status -> whereAmI())).isEqualTo("primary");
+        assertThat(routing.getFallbackRouteCount()).isEqualTo(1);
+
+        replicaJdbc.update("update replica_lag set seconds = 1");
+        routing.checkReplicas();
+
+        assertThat(readOnly.execute(status -> whereAmI())).isEqualTo("replica");
+    }
+
+    @Test
+    void 상태_확인에_실패한_복제본은_사용하지_않는다() {
+        replicaJdbc.execute("drop table replica_lag");
+        routing.checkReplicas();
+
+        assertThat(routing.getReplicas().get(0).isHealthy()).isFalse();
+        assertThat(readOnly.execute(status -> whereAmI())).isEqualTo("primary");
+    }
+
+    @Test
+    void 쓰기를_커밋한_사용자는_잠시_동안_primary_에서_읽는다() {
+        currentUserId.set(1L);
+        readWrite.executeWithoutResult(status -> jdbc.update("insert into marker values ('written')"));
+
+        assertThat(readOnly.execute(status -> whereAmI())).isEqualTo("primary");
+        assertThat(routing.getStickyRouteCount()).isEqualTo(1);
+
+        currentUserId.set(2L);
+        assertThat(readOnly.execute(status -> whereAmI())).isEqualTo("replica");
+    }
+
+    @Test
+    void 보안_컨텍스트가_없는_작업_스레드의_쓰기는_WriteOwner_의_사용자로_기록한다() {
+        WriteOwner.run(1L, () -> readWrite.executeWithoutResult(
+                status -> jdbc.update("insert into marker values ('written')")));
+
+        currentUserId.set(1L);
+        assertThat(readOnly.execute(status -> whereAmI())).isEqualTo("primary");
+        assertThat(routing.getStickyRouteCount()).isEqualTo(1);
+    }
+
+    @Test
+    void 롤백된_쓰기는_기록하지_않는다() {
+        currentUserId.set(1L);
+        readWrite.executeWithoutResult(status -> {
+            jdbc.update("insert into marker values ('written')");
+            status.setRollbackOnly();
+        });
+
+        assertThat(readOnly.execute(status -> whereAmI())).isEqualTo("replica");
+    }
+
+    @Test
+    void JPA_트랜잭션도_readOnly_여부에_따라_나눈다() {
+        assertThat(jpaReadOnly.execute(status -> whereAmIByJpa())).isEqualTo("replica");
+        assertThat(jpaReadWrite.execute(status -> whereAmIByJpa())).isEqualTo("primary");
+    }
+
+    @Test
+    void JPA_쓰기를_커밋한_사용자는_primary_에서_읽는다() {
+        currentUserId.set(1L);
+        jpaReadWrite.executeWithoutResult(status ->
+                entityManager.createNativeQuery("insert into marker values ('written')").executeUpdate());
+
+        assertThat(jpaReadOnly.execute(status -> whereAmIByJpa())).isEqualTo("primary");
+
+        currentUserId.set(2L);
+        assertThat(jpaReadOnly.execute(status -> whereAmIByJpa())).isEqualTo("replica");
+    }
+
+    @Test
+    void 인증되지_않은_요청도_쓰기를_커밋한_뒤의_읽기는_primary_로_보낸다() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        jpaReadWrite.executeWithoutResult(status ->
+                entityManager.createNativeQuery("insert into marker values ('written')").executeUpdate());
+
+        assertThat(jpaReadOnly.execute(status -> whereAmIByJpa())).isEqualTo("primary");
+
+        // 다른 요청에는 적용되지 않는다
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertThat(jpaReadOnly.execute(status -> whereAmIByJpa())).isEqualTo("replica");
+    }
+
+    @Test
+    void PrimaryRead_안의_읽기는_primary_로_보내고_쓰기로_기록하지_않는다() {
+        currentUserId.set(1L);
+
+        assertThat(PrimaryRead.call(() -> jpaReadOnly.execute(status -> whereAmIByJpa()))).isEqualTo("primary");
+        assertThat(routing.getPinnedRouteCount()).isEqualTo(1);
+        assertThat(jpaReadOnly.execute(status -> whereAmIByJpa())).isEqualTo("replica");
+        assertThat(routing.getStickyRouteCount()).isZero();
+    }
+
+    private String whereAmIByJpa() {
+        return (String) entityManager.createNativeQuery("select name from marker where name in ('primary', 'replica')")
+                .getSingleResult();
+    }
+
+    private String whereAmI() {
+        return jdbc.queryForObject("select name from marker where name in ('primary', 'replica')", String.class);
+    }
+
+    private static DataSource embedded(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+    }
+}
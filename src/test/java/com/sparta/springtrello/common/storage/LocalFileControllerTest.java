@@ -0,0 +1,138 @@
+package com.sparta.springtrello.common.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalFileControllerTest {
+
+    private static final byte[] CONTENT = "0123456789abcdefghij".getBytes(StandardCharsets.US_ASCII);
+
+    @TempDir
+    Path tempDir;
+
+    private Path rootDir;
+    private LocalObjectStorage storage;
+    private LocalFileController controller;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        rootDir = tempDir.resolve("storage");
+        storage = new LocalObjectStorage(rootDir.toString(), "http://localhost/files/", "test-signing-key");
+        controller = new LocalFileController(storage, 1024);
+    }
+
+    @Test
+    void 저장한_파일을_URL_로_조회한다() throws IOException {
+        String url = storage.putIfAbsent("profile-pictures/abc/64.jpg", CONTENT, "image/jpeg");
+
+        MockHttpServletResponse response = get("/files/profile-pictures/abc/64.jpg", null);
+
+        assertThat(url).isEqualTo("http://localhost/files/profile-pictures/abc/64.jpg");
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(CONTENT);
+        assertThat(response.getContentType()).isEqualTo("image/jpeg");
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo(ObjectStorage.IMMUTABLE_CACHE_CONTROL);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNotBlank();
+    }
+
+    @Test
+    void 같은_키는_다시_쓰지_않는다() throws IOException {
+        storage.putIfAbsent("a/1.jpg", CONTENT, "image/jpeg");
+        storage.putIfAbsent("a/1.jpg", "other".getBytes(StandardCharsets.US_ASCII), "image/jpeg");
+
+        assertThat(Files.readAllBytes(rootDir.resolve("a/1.jpg"))).isEqualTo(CONTENT);
+        try (var files = Files.list(rootDir.resolve("a"))) {
+            assertThat(files.count()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void Range_요청은_해당_구간만_206_으로_응답한다() throws IOException {
+        storage.putIfAbsent("a/1.jpg", CONTENT, "image/jpeg");
+
+        MockHttpServletResponse middle = get("/files/a/1.jpg", "bytes=5-9");
+        MockHttpServletResponse suffix = get("/files/a/1.jpg", "bytes=-3");
+        MockHttpServletResponse open = get("/files/a/1.jpg", "bytes=15-");
+
+        assertThat(middle.getStatus()).isEqualTo(206);
+        assertThat(middle.getContentAsString()).isEqualTo("56789");
+        assertThat(middle.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 5-9/20");
+        assertThat(suffix.getContentAsString()).isEqualTo("hij");
+        assertThat(open.getContentAsString()).isEqualTo("fghij");
+    }
+
+    @Test
+    void 만족할_수_없는_Range_는_416() throws IOException {
+        storage.putIfAbsent("a/1.jpg", CONTENT, "image/jpeg");
+
+        MockHttpServletResponse response = get("/files/a/1.jpg", "bytes=50-60");
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */20");
+    }
+
+    @Test
+    void ETag_가_같으면_304() throws IOException {
+        storage.putIfAbsent("a/1.jpg", CONTENT, "image/jpeg");
+        String etag = get("/files/a/1.jpg", null).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/files/a/1.jpg");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.serve(request, response);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentLength()).isZero();
+    }
+
+    @Test
+    void 루트_밖의_경로와_임시_파일은_제공하지_않는다() throws IOException {
+        Files.writeString(tempDir.resolve("secret.txt"), "secret");
+        Files.createDirectories(rootDir.resolve("a"));
+        Files.writeString(rootDir.resolve("a/.upload-1.tmp"), "partial");
+
+        assertThat(get("/files/../secret.txt", null).getStatus()).isEqualTo(404);
+        assertThat(get("/files/a/.upload-1.tmp", null).getStatus()).isEqualTo(404);
+        assertThat(get("/files/a/none.jpg", null).getStatus()).isEqualTo(404);
+    }
+
+    @Test
+    void 인코딩된_상위_경로로_루트_밖의_파일을_읽을_수_없다() throws IOException {
+        Files.writeString(tempDir.resolve("secret.txt"), "secret");
+        Files.createDirectories(tempDir.resolve("storage-other"));
+        Files.writeString(tempDir.resolve("storage-other/secret.txt"), "secret");
+        storage.putIfAbsent("a/1.jpg", CONTENT, "image/jpeg");
+
+        assertThat(get("/files/a/%2e%2e/%2e%2e/secret.txt", null).getStatus()).isEqualTo(404);
+        assertThat(get("/files/a/%2E%2E%2F%2E%2E%2Fsecret.txt", null).getStatus()).isEqualTo(404);
+        assertThat(get("/files/%2e%2e/storage-other/secret.txt", null).getStatus()).isEqualTo(404);
+        assertThat(get("/files/a/%2e%2e/%2e%2e/secret.txt", null).getContentAsString()).doesNotContain("secret");
+
+        // 컨트롤러의 숨김 경로 검사와 별개로 저장소도 루트 밖을 가리키는 키는 찾지 않는다
+        assertThat(storage.find("a/../../secret.txt")).isNull();
+        assertThat(storage.find("../storage-other/secret.txt")).isNull();
+        assertThat(storage.find(tempDir.resolve("secret.txt").toString())).isNull();
+        assertThat(storage.find("a/../a/1.jpg")).isEqualTo(rootDir.resolve("a/1.jpg").toRealPath());
+    }
+
+    private MockHttpServletResponse get(String uri, String range) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (range != null) {
+            request.addHeader(HttpHeaders.RANGE, range);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.serve(request, response);
+        return response;
+    }
+}
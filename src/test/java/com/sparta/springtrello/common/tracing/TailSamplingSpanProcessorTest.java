@@ -0,0 +1,96 @@
+package com.sparta.springtrello.common.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TailSamplingSpanProcessorTest {
+
+    private static final long SLOW_MILLIS = 500;
+
+    private final InMemorySpanExporter exporter = new InMemorySpanExporter(100);
+    private final TailSamplingSpanProcessor processor =
+            new TailSamplingSpanProcessor(SimpleSpanProcessor.create(exporter), SLOW_MILLIS, 0.0, 100, 30_000);
+    private final SdkTracerProvider tracerProvider = SdkTracerProvider.builder().addSpanProcessor(processor).build();
+    private final Tracer tracer = tracerProvider.get("test");
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void 빠르고_성공한_trace_는_보내지_않는다() {
+        Span root = startRoot(0);
+        child(root, "db.user.findById").end();
+        root.end();
+
+        assertThat(exporter.getFinishedSpans()).isEmpty();
+        assertThat(processor.getDroppedTraceCount()).isEqualTo(1);
+        assertThat(processor.getBufferedTraceCount()).isZero();
+    }
+
+    @Test
+    void 느린_trace_는_자식_span_까지_모두_보낸다() {
+        Span root = startRoot(SLOW_MILLIS + 100);
+        child(root, "password.matches").end();
+        child(root, "db.user.findByUsername").end();
+        root.end();
+
+        List<SpanData> spans = exporter.getFinishedSpans();
+        assertThat(spans).extracting(SpanData::getName)
+                .containsExactlyInAnyOrder("http post /users/login", "password.matches", "db.user.findByUsername");
+        assertThat(processor.getKeptTraceCount()).isEqualTo(1);
+    }
+
+    @Test
+    void 자식_span_이_실패하면_빠른_trace_도_보낸다() {
+        Span root = startRoot(0);
+        Span failed = child(root, "kakao.token");
+        failed.setStatus(StatusCode.ERROR);
+        failed.end();
+        root.end();
+
+        assertThat(exporter.getFinishedSpans()).hasSize(2);
+    }
+
+    @Test
+    void 루트보다_늦게_끝난_span_은_이미_내린_결정을_따른다() {
+        Span keptRoot = startRoot(SLOW_MILLIS + 100);
+        Span keptLate = child(keptRoot, "storage.upload.put");
+        keptRoot.end();
+        keptLate.end();
+
+        Span droppedRoot = startRoot(0);
+        Span droppedLate = child(droppedRoot, "storage.upload.put");
+        droppedRoot.end();
+        droppedLate.end();
+
+        assertThat(exporter.getFinishedSpans()).hasSize(2)
+                .allMatch(span -> span.getTraceId().equals(keptRoot.getSpanContext().getTraceId()));
+        assertThat(processor.getBufferedTraceCount()).isZero();
+    }
+
+    // 시작 시각을 과거로 잡아 루트 span 의 소요 시간을 정한다
+    private Span startRoot(long elapsedMillis) {
+        return tracer.spanBuilder("http post /users/login")
+                .setNoParent()
+                .setStartTimestamp(System.currentTimeMillis() - elapsedMillis, TimeUnit.MILLISECONDS)
+                .startSpan();
+    }
+
+    private Span child(Span parent, String name) {
+        return tracer.spanBuilder(name).setParent(Context.root().with(parent)).startSpan();
+    }
+}
@@ -0,0 +1,26 @@
+package com.sparta.springtrello.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReplicaDataSourcePropertiesTest {
+
+    @Test
+    void 기본값은_최대_지연과_확인_주기를_덮는다() {
+        assertThatCode(() -> new ReplicaDataSourceProperties.Routing().validate()).doesNotThrowAnyException();
+    }
+
+    @Test
+    void sticky_시간이_최대_지연과_확인_주기보다_짧으면_거부한다() {
+        ReplicaDataSourceProperties.Routing routing = new ReplicaDataSourceProperties.Routing();
+        routing.setMaxLagSeconds(5);
+        routing.setHealthCheckIntervalMs(2000);
+        routing.setStickyWindowMs(3000);
+
+        assertThatThrownBy(routing::validate)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("7000ms");
+    }
+}
@@ -0,0 +1,194 @@
+package com.sparta.springtrello.domain.upload.service;
+
+import com.sparta.springtrello.common.ResponseCodeEnum;
+import com.sparta.springtrello.common.storage.LocalObjectStorage;
+import com.sparta.springtrello.common.storage.ObjectStorageMetrics;
+import com.sparta.springtrello.common.tracing.TraceSpans;
+import com.sparta.springtrello.domain.upload.dto.MultipartUploadInitiateRequestDto;
+import com.sparta.springtrello.domain.upload.dto.MultipartUploadResponseDto;
+import com.sparta.springtrello.domain.upload.entity.MultipartUpload;
+import com.sparta.springtrello.domain.upload.entity.MultipartUploadStatusEnum;
+import com.sparta.springtrello.domain.upload.repository.MultipartUploadRepository;
+import com.sparta.springtrello.exception.custom.common.UploadException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 로컬 저장소로 파트 업로드 -> 재개 -> 완료 / 정리 흐름 확인, 저장소 파일은 실제로 쓰고 DB 만 흉내
+class MultipartUploadServiceTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+    private static final long PART_SIZE = 4; // 4 + 4 + 2 바이트, 3개 파트
+
+    @TempDir
+    Path tempDir;
+
+    private Path rootDir;
+    private LocalObjectStorage storage;
+    private final MultipartUploadRepository repository = mock(MultipartUploadRepository.class);
+    private final Map<Long, MultipartUpload> rows = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        rootDir = tempDir.resolve("storage");
+        storage = new LocalObjectStorage(rootDir.toString(), "http://localhost/files/", "test-signing-key");
+
+        when(repository.save(any(MultipartUpload.class))).thenAnswer(invocation -> {
+            MultipartUpload upload = invocation.getArgument(0);
+            ReflectionTestUtils.setField(upload, "id", ids.incrementAndGet());
+            rows.put(upload.getId(), upload);
+            return upload;
+        });
+        when(repository.findByIdAndUserId(anyLong(), anyLong())).thenAnswer(invocation ->
+                Optional.ofNullable(rows.get(invocation.<Long>getArgument(0)))
+                        .filter(upload -> upload.getUserId().equals(invocation.getArgument(1))));
+        when(repository.transition(anyLong(), any(), any(), any())).thenAnswer(invocation -> {
+            MultipartUpload upload = rows.get(invocation.<Long>getArgument(0));
+            synchronized (upload) {
+                if (upload.getStatus() != invocation.getArgument(1)) {
+                    return 0;
+                }
+                ReflectionTestUtils.setField(upload, "status", invocation.getArgument(2));
+                return 1;
+            }
+        });
+    }
+
+    @Test
+    void 파트를_순서와_상관없이_병렬로_올리고_합친다() throws Exception {
+        MultipartUploadService service = service(24);
+        MultipartUploadResponseDto upload = service.initiate(1L, initiateRequest(CONTENT.length));
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int partNumber = upload.getPartCount(); partNumber >= 1; partNumber--) {
+                int number = partNumber;
+                futures.add(executor.submit(() -> uploadPart(service, upload.getUploadId(), number)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        MultipartUploadResponseDto completed = service.complete(1L, upload.getUploadId());
+
+        assertThat(upload.getPartCount()).isEqualTo(3);
+        assertThat(completed.getStatus()).isEqualTo(MultipartUploadStatusEnum.COMPLETED);
+        assertThat(Files.readAllBytes(rootDir.resolve(objectKeyOf(upload)))).isEqualTo(CONTENT);
+        assertThat(completed.getUrl()).isEqualTo("http://localhost/files/" + objectKeyOf(upload));
+        assertThat(rootDir.resolve(".multipart").toFile().list()).isEmpty();
+    }
+
+    @Test
+    void 받지_못한_파트만_다시_올려_이어서_완료한다() throws IOException {
+        MultipartUploadService service = service(24);
+        MultipartUploadResponseDto upload = service.initiate(1L, initiateRequest(CONTENT.length));
+        uploadPart(service, upload.getUploadId(), 1);
+        uploadPart(service, upload.getUploadId(), 3);
+
+        assertThat(service.listParts(1L, upload.getUploadId()).getMissingPartNumbers()).containsExactly(2);
+        assertThatThrownBy(() -> service.complete(1L, upload.getUploadId()))
+                .isInstanceOfSatisfying(UploadException.class,
+                        e -> assertThat(e.getResponseCode()).isEqualTo(ResponseCodeEnum.UPLOAD_INCOMPLETE));
+
+        uploadPart(service, upload.getUploadId(), 2);
+        service.complete(1L, upload.getUploadId());
+
+        assertThat(Files.readAllBytes(rootDir.resolve(objectKeyOf(upload)))).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void 파트_번호나_크기가_맞지_않으면_거절한다() throws IOException {
+        MultipartUploadService service = service(24);
+        MultipartUploadResponseDto upload = service.initiate(1L, initiateRequest(CONTENT.length));
+
+        assertThatThrownBy(() -> service.uploadPart(1L, upload.getUploadId(), 3,
+                new ByteArrayInputStream(new byte[4]), 4))
+                .isInstanceOfSatisfying(UploadException.class,
+                        e -> assertThat(e.getResponseCode()).isEqualTo(ResponseCodeEnum.INVALID_UPLOAD_PART));
+        assertThatThrownBy(() -> service.uploadPart(1L, upload.getUploadId(), 4,
+                new ByteArrayInputStream(new byte[2]), 2))
+                .isInstanceOf(UploadException.class);
+        assertThatThrownBy(() -> service.uploadPart(2L, upload.getUploadId(), 1,
+                new ByteArrayInputStream(new byte[4]), 4))
+                .isInstanceOfSatisfying(UploadException.class,
+                        e -> assertThat(e.getResponseCode()).isEqualTo(ResponseCodeEnum.UPLOAD_NOT_FOUND));
+    }
+
+    @Test
+    void 취소하면_받은_파트를_버리고_더_받지_않는다() throws IOException {
+        MultipartUploadService service = service(24);
+        MultipartUploadResponseDto upload = service.initiate(1L, initiateRequest(CONTENT.length));
+        uploadPart(service, upload.getUploadId(), 1);
+
+        service.abort(1L, upload.getUploadId());
+
+        assertThat(rootDir.resolve(".multipart").toFile().list()).isEmpty();
+        assertThatThrownBy(() -> uploadPart(service, upload.getUploadId(), 2))
+                .isInstanceOfSatisfying(UploadException.class,
+                        e -> assertThat(e.getResponseCode()).isEqualTo(ResponseCodeEnum.UPLOAD_CLOSED));
+    }
+
+    @Test
+    void 기한이_지난_업로드는_정리한다() throws IOException {
+        MultipartUploadService service = service(0);
+        MultipartUploadResponseDto upload = service.initiate(1L, initiateRequest(CONTENT.length));
+        when(repository.findExpired(any(), any(), any())).thenReturn(List.of(rows.get(upload.getUploadId())));
+
+        assertThat(service.abortExpired()).isEqualTo(1);
+        assertThat(service.abortExpired()).isZero();
+        assertThat(rows.get(upload.getUploadId()).getStatus()).isEqualTo(MultipartUploadStatusEnum.EXPIRED);
+        assertThat(rootDir.resolve(".multipart").toFile().list()).isEmpty();
+    }
+
+    private MultipartUploadService service(long ttlHours) {
+        return new MultipartUploadService(storage, new ObjectStorageMetrics(new SimpleMeterRegistry(), new TraceSpans(Tracer.NOOP), "local"), repository, PART_SIZE, 1024, ttlHours, 10);
+    }
+
+    private static MultipartUploadInitiateRequestDto initiateRequest(long size) {
+        MultipartUploadInitiateRequestDto requestDto = new MultipartUploadInitiateRequestDto();
+        requestDto.setFileName("attachment.bin");
+        requestDto.setContentType("application/octet-stream");
+        requestDto.setSize(size);
+        return requestDto;
+    }
+
+    private static void uploadPart(MultipartUploadService service, Long uploadId, int partNumber) {
+        int from = (int) ((partNumber - 1) * PART_SIZE);
+        byte[] part = Arrays.copyOfRange(CONTENT, from, (int) Math.min(CONTENT.length, from + PART_SIZE));
+        service.uploadPart(1L, uploadId, partNumber, new ByteArrayInputStream(part), part.length);
+    }
+
+    private String objectKeyOf(MultipartUploadResponseDto upload) {
+        return rows.get(upload.getUploadId()).getObjectKey();
+    }
+}
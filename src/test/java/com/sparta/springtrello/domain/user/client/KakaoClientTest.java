@@ -0,0 +1,205 @@
+package com.sparta.springtrello.domain.user.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sparta.springtrello.common.CircuitBreaker;
+import com.sparta.springtrello.common.ResponseCodeEnum;
+import com.sparta.springtrello.common.tracing.TraceSpans;
+import com.sparta.springtrello.domain.user.dto.KakaoTokenResponseDto;
+import com.sparta.springtrello.domain.user.dto.KakaoUserInfoDto;
+import com.sparta.springtrello.exception.custom.user.KakaoException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 로컬 스텁 HTTP 서버를 카카오 API 대신 사용, 장애 상황은 faultStatus / hold 로 주입
+class KakaoClientTest {
+
+    private static final long OPEN_DURATION_MS = 300;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private KakaoClient kakaoClient;
+    // 서킷 브레이커 대기 시간은 sleep 대신 이 시계를 움직여 흘려보낸다
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private final AtomicInteger tokenRequests = new AtomicInteger();
+    private volatile int faultStatus;
+    private volatile CountDownLatch hold;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/oauth/token", exchange -> {
+            tokenRequests.incrementAndGet();
+            CountDownLatch latch = hold;
+            if (latch != null) {
+                try {
+                    latch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (faultStatus != 0) {
+                respond(exchange, faultStatus, "{}");
+                return;
+            }
+            String form = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            if (form.contains("code=bad")) {
+                respond(exchange, 401, "{\"error\":\"invalid_grant\"}");
+            } else {
+                respond(exchange, 200, "{\"access_token\":\"kakao-access\",\"token_type\":\"bearer\",\"expires_in\":21599}");
+            }
+        });
+        server.createContext("/v2/user/me", exchange -> {
+            String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+            if (!"Bearer kakao-access".equals(authorization)) {
+                respond(exchange, 401, "{}");
+                return;
+            }
+            respond(exchange, 200, "{\"id\":1234,\"connected_at\":\"2024-01-01T00:00:00Z\","
+                    + "\"properties\":{\"nickname\":\"르탄\",\"profile_image\":\"http://img/1.jpg\"}}");
+        });
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        String baseUri = "http://127.0.0.1:" + server.getAddress().getPort();
+        kakaoClient = new KakaoClient(new ObjectMapper(), new SimpleMeterRegistry(), new TraceSpans(Tracer.NOOP), baseUri, baseUri, "client-id",
+                "http://localhost/callback", 1000, 2000, 2, 2, 3, OPEN_DURATION_MS, 1, now::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        kakaoClient.shutdown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void 인가_코드로_토큰과_사용자_정보를_조회한다() {
+        KakaoTokenResponseDto token = kakaoClient.requestToken("good").join();
+        KakaoUserInfoDto userInfo = kakaoClient.requestUserInfo(token.accessToken()).join().toUserInfo();
+
+        assertThat(token.accessToken()).isEqualTo("kakao-access");
+        assertThat(userInfo.getId()).isEqualTo(1234L);
+        assertThat(userInfo.getNickname()).isEqualTo("르탄");
+        assertThat(userInfo.getPictureUrl()).isEqualTo("http://img/1.jpg");
+    }
+
+    @Test
+    void 카카오_오류_응답은_KakaoException_으로_변환한다() {
+        assertThatThrownBy(() -> kakaoClient.requestToken("bad").join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(KakaoException.class);
+    }
+
+    @Test
+    void 잘못된_인가_코드는_서킷을_열지_않는다() {
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> kakaoClient.requestToken("bad").join())
+                    .hasCauseInstanceOf(KakaoException.class);
+        }
+
+        assertThat(kakaoClient.getCircuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void 연속_장애가_나면_서킷을_열고_카카오를_호출하지_않고_거절한다() {
+        faultStatus = 500;
+        for (int i = 0; i < 3; i++) {
+            assertThat(responseCodeOf(kakaoClient.requestToken("good"))).isEqualTo(ResponseCodeEnum.KAKAO_LOGIN_FAILED);
+        }
+        assertThat(kakaoClient.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        int requestsBefore = tokenRequests.get();
+        assertThat(responseCodeOf(kakaoClient.requestToken("good"))).isEqualTo(ResponseCodeEnum.KAKAO_UNAVAILABLE);
+        assertThat(tokenRequests.get()).isEqualTo(requestsBefore);
+        assertThat(kakaoClient.getCircuitRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void 대기_시간이_지나면_시험_호출이_성공해_서킷을_닫는다() {
+        faultStatus = 503;
+        for (int i = 0; i < 3; i++) {
+            responseCodeOf(kakaoClient.requestToken("good"));
+        }
+        assertThat(kakaoClient.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        faultStatus = 0;
+        now.addAndGet(OPEN_DURATION_MS - 1);
+        assertThat(responseCodeOf(kakaoClient.requestToken("good"))).isEqualTo(ResponseCodeEnum.KAKAO_UNAVAILABLE);
+
+        now.incrementAndGet();
+
+        assertThat(kakaoClient.requestToken("good").join().accessToken()).isEqualTo("kakao-access");
+        assertThat(kakaoClient.getCircuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void 시험_호출이_실패하면_서킷을_다시_연다() {
+        faultStatus = 500;
+        for (int i = 0; i < 3; i++) {
+            responseCodeOf(kakaoClient.requestToken("good"));
+        }
+        now.addAndGet(OPEN_DURATION_MS);
+
+        assertThat(responseCodeOf(kakaoClient.requestToken("good"))).isEqualTo(ResponseCodeEnum.KAKAO_LOGIN_FAILED);
+        assertThat(kakaoClient.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(kakaoClient.getCircuitOpenedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void 동시_호출_한도를_넘으면_즉시_거절한다() {
+        hold = new CountDownLatch(1);
+        CompletableFuture<KakaoTokenResponseDto> first = kakaoClient.requestToken("good");
+        CompletableFuture<KakaoTokenResponseDto> second = kakaoClient.requestToken("good");
+
+        assertThat(responseCodeOf(kakaoClient.requestToken("good"))).isEqualTo(ResponseCodeEnum.KAKAO_UNAVAILABLE);
+        assertThat(kakaoClient.getBulkheadRejectedCount()).isEqualTo(1);
+
+        hold.countDown();
+        first.join();
+        second.join();
+        assertThat(kakaoClient.getActiveCalls()).isZero();
+    }
+
+    private static ResponseCodeEnum responseCodeOf(CompletableFuture<?> future) {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof KakaoException kakaoException) {
+                return kakaoException.getResponseCode();
+            }
+            throw e;
+        }
+        throw new AssertionError("카카오 호출이 실패해야 합니다");
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+}
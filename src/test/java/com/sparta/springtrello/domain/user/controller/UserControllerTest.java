@@ -0,0 +1,132 @@
+package com.sparta.springtrello.domain.user.controller;
+
+import com.sparta.springtrello.domain.user.dto.ProfileResponseDto;
+import com.sparta.springtrello.domain.user.service.KakaoService;
+import com.sparta.springtrello.domain.user.service.ProfilePictureDirectUploadService;
+import com.sparta.springtrello.domain.user.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class UserControllerTest {
+
+    private static final LocalDateTime MODIFIED_AT = LocalDateTime.of(2024, 6, 1, 12, 0, 0);
+
+    private final UserService userService = mock(UserService.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        UserController controller = new UserController(userService, mock(KakaoService.class),
+                mock(ProfilePictureDirectUploadService.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void 프로필_조회는_본문과_ETag_를_함께_응답한다() throws Exception {
+        when(userService.getProfile(1L)).thenReturn(profile("nickname"));
+
+        String eTag = mockMvc.perform(get("/users/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(jsonPath("$.data.nickname").value("nickname"))
+                .andExpect(jsonPath("$.data.contentHash").doesNotExist())
+                .andExpect(jsonPath("$.data.modifiedAt").doesNotExist())
+                .andExpect(header().string(HttpHeaders.LAST_MODIFIED, httpDate(MODIFIED_AT)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(eTag).startsWith("\"1-").endsWith("\"");
+        // 캐시된 프로필만으로 응답하고 수정 시각 등 별도 조회는 하지 않는다
+        verify(userService).getProfile(1L);
+        verifyNoMoreInteractions(userService);
+    }
+
+    @Test
+    void If_None_Match_가_같으면_본문_없이_304() throws Exception {
+        when(userService.getProfile(1L)).thenReturn(profile("nickname"));
+        String eTag = mockMvc.perform(get("/users/1")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // 같은 내용으로 다시 만든 프로필(캐시 재적재)도 ETag 가 같다
+        when(userService.getProfile(1L)).thenReturn(profile("nickname"));
+        mockMvc.perform(get("/users/1").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void 프로필이_바뀌었으면_If_None_Match_가_있어도_새_본문을_응답한다() throws Exception {
+        when(userService.getProfile(1L)).thenReturn(profile("nickname"));
+        String staleETag = mockMvc.perform(get("/users/1")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        when(userService.getProfile(1L)).thenReturn(profile("renamed"));
+        String eTag = mockMvc.perform(get("/users/1").header(HttpHeaders.IF_NONE_MATCH, staleETag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.nickname").value("renamed"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(eTag).isNotEqualTo(staleETag);
+    }
+
+    @Test
+    void If_Modified_Since_이후로_수정되지_않았으면_본문_없이_304() throws Exception {
+        when(userService.getProfile(1L)).thenReturn(profile("nickname"));
+
+        mockMvc.perform(get("/users/1").header(HttpHeaders.IF_MODIFIED_SINCE, httpDate(MODIFIED_AT)))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void If_Modified_Since_이후에_수정됐으면_새_본문을_응답한다() throws Exception {
+        when(userService.getProfile(1L)).thenReturn(profile("renamed", MODIFIED_AT.plusMinutes(1)));
+
+        mockMvc.perform(get("/users/1").header(HttpHeaders.IF_MODIFIED_SINCE, httpDate(MODIFIED_AT)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.LAST_MODIFIED, httpDate(MODIFIED_AT.plusMinutes(1))))
+                .andExpect(jsonPath("$.data.nickname").value("renamed"));
+    }
+
+    @Test
+    void 수정_시각을_모르면_Last_Modified_없이_ETag_로만_판단한다() throws Exception {
+        when(userService.getProfile(1L)).thenReturn(profile("nickname", null));
+
+        mockMvc.perform(get("/users/1").header(HttpHeaders.IF_MODIFIED_SINCE, httpDate(MODIFIED_AT)))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED));
+    }
+
+    private static ProfileResponseDto profile(String nickname) {
+        return profile(nickname, MODIFIED_AT);
+    }
+
+    private static ProfileResponseDto profile(String nickname, LocalDateTime modifiedAt) {
+        return new ProfileResponseDto(nickname, "자기소개", "http://localhost/files/1/256.jpg",
+                Map.of(64, "http://localhost/files/1/64.jpg", 256, "http://localhost/files/1/256.jpg"), modifiedAt);
+    }
+
+    private static String httpDate(LocalDateTime time) {
+        return DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US).format(
+                ZonedDateTime.of(time, ZoneId.systemDefault()).withZoneSameInstant(ZoneId.of("GMT")));
+    }
+}
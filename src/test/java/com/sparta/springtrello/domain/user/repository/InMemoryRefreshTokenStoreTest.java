@@ -0,0 +1,42 @@
+package com.sparta.springtrello.domain.user.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRefreshTokenStoreTest {
+
+    private final InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore();
+
+    @Test
+    void 다른_사용자의_세션은_삭제하지_않는다() {
+        store.save(1L, "Bearer refresh", LocalDateTime.now().plusDays(1));
+        String sessionId = RefreshTokenStore.tokenId("refresh");
+
+        assertThat(store.deleteSession(2L, sessionId)).isFalse();
+        assertThat(store.isValid(1L, "Bearer refresh")).isTrue();
+
+        assertThat(store.deleteSession(1L, sessionId)).isTrue();
+        assertThat(store.isActive(1L, sessionId)).isFalse();
+    }
+
+    @Test
+    void 기기별_세션은_서로_독립적이다() {
+        store.save(1L, "Bearer phone", LocalDateTime.now().plusDays(1));
+        store.save(1L, "Bearer laptop", LocalDateTime.now().plusDays(1));
+
+        store.deleteSession(1L, RefreshTokenStore.tokenId("Bearer phone"));
+
+        assertThat(store.isActive(1L, RefreshTokenStore.tokenId("phone"))).isFalse();
+        assertThat(store.isActive(1L, RefreshTokenStore.tokenId("laptop"))).isTrue();
+    }
+
+    @Test
+    void 만료된_세션은_활성_상태가_아니다() {
+        store.save(1L, "Bearer refresh", LocalDateTime.now().minusSeconds(1));
+
+        assertThat(store.isActive(1L, RefreshTokenStore.tokenId("refresh"))).isFalse();
+    }
+}
@@ -0,0 +1,85 @@
+package com.sparta.springtrello.domain.user.repository;
+
+import com.sparta.springtrello.common.BlockedThreads;
+import com.sparta.springtrello.common.tracing.TraceSpans;
+import com.sparta.springtrello.domain.user.entity.User;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserAdapterTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final UserAdapter userAdapter = new UserAdapter(userRepository, passwordEncoder, new TraceSpans(Tracer.NOOP));
+
+    @Test
+    void 동시에_같은_카카오_계정으로_들어오면_한_번만_생성한다() throws Exception {
+        int threads = 16;
+        AtomicReference<Thread> savingThread = new AtomicReference<>();
+        CountDownLatch saving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(userRepository.findByKakaoId(1L)).thenReturn(Optional.empty());
+        when(passwordEncoder.encode(anyString())).thenReturn("{bcrypt}encoded");
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> {
+            savingThread.set(Thread.currentThread());
+            saving.countDown();
+            // 다른 요청들이 진행 중인 생성 작업에 합류할 때까지 INSERT 를 붙잡아 둔다
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+
+        List<Thread> requests = new ArrayList<>();
+        List<User> results = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            requests.add(new Thread(() -> results.add(userAdapter.createKakaoUser(1L, "nick", "picture"))));
+        }
+        requests.forEach(Thread::start);
+        assertThat(saving.await(5, TimeUnit.SECONDS)).isTrue();
+        List<Thread> waiters = new ArrayList<>(requests);
+        waiters.remove(savingThread.get());
+        BlockedThreads.await(waiters);
+        release.countDown();
+        for (Thread request : requests) {
+            request.join(5_000);
+        }
+
+        assertThat(results).hasSize(threads);
+        for (User user : results) {
+            assertThat(user).isSameAs(results.get(0));
+        }
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
+        verify(passwordEncoder, times(1)).encode(anyString());
+    }
+
+    @Test
+    void 다른_인스턴스가_먼저_생성했으면_저장된_사용자를_반환한다() {
+        User existing = new User(2L, "kakao_2", "picture", "{bcrypt}encoded");
+        when(userRepository.findByKakaoId(2L)).thenReturn(Optional.empty(), Optional.of(existing));
+        when(passwordEncoder.encode(anyString())).thenReturn("{bcrypt}encoded");
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate kakao_id"));
+
+        User user = userAdapter.createKakaoUser(2L, "nick", "picture");
+
+        assertThat(user).isSameAs(existing);
+    }
+}
@@ -0,0 +1,101 @@
+package com.sparta.springtrello.domain.user.service;
+
+import com.sparta.springtrello.auth.IssuedTokens;
+import com.sparta.springtrello.auth.JwtProvider;
+import com.sparta.springtrello.common.ResponseCodeEnum;
+import com.sparta.springtrello.common.tracing.TraceSpans;
+import com.sparta.springtrello.domain.user.client.KakaoClient;
+import com.sparta.springtrello.domain.user.dto.KakaoTokenResponseDto;
+import com.sparta.springtrello.domain.user.dto.KakaoUserResponseDto;
+import com.sparta.springtrello.domain.user.entity.User;
+import com.sparta.springtrello.domain.user.repository.RefreshTokenStore;
+import com.sparta.springtrello.domain.user.repository.UserAdapter;
+import com.sparta.springtrello.exception.custom.user.KakaoException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KakaoServiceTest {
+
+    private final UserAdapter userAdapter = mock(UserAdapter.class);
+    private final KakaoClient kakaoClient = mock(KakaoClient.class);
+    private final JwtProvider jwtProvider = mock(JwtProvider.class);
+    private KakaoService kakaoService;
+
+    @BeforeEach
+    void setUp() {
+        kakaoService = new KakaoService(userAdapter, kakaoClient, jwtProvider, mock(RefreshTokenStore.class),
+                new SimpleMeterRegistry(), new TraceSpans(Tracer.NOOP), 1, 1);
+        when(kakaoClient.requestToken(anyString()))
+                .thenReturn(CompletableFuture.completedFuture(new KakaoTokenResponseDto("kakao-token")));
+        when(kakaoClient.requestUserInfo("kakao-token"))
+                .thenReturn(CompletableFuture.completedFuture(new KakaoUserResponseDto(1L, null)));
+        when(jwtProvider.createAccessToken(any(User.class), anyString())).thenReturn("Bearer access");
+        when(jwtProvider.createRefreshToken(any())).thenReturn("Bearer refresh");
+    }
+
+    @AfterEach
+    void tearDown() {
+        kakaoService.shutdown();
+    }
+
+    @Test
+    void 사용자_저장과_JWT_발급은_로그인_전용_스레드에서_실행한다() throws Exception {
+        AtomicReference<String> provisioningThread = new AtomicReference<>();
+        when(userAdapter.createKakaoUser(anyLong(), any(), any())).thenAnswer(invocation -> {
+            provisioningThread.set(Thread.currentThread().getName());
+            return new User(1L, "kakao1", null, "password");
+        });
+
+        IssuedTokens tokens = kakaoService.kakaoLogin("code").get(5, TimeUnit.SECONDS);
+
+        assertThat(tokens).isEqualTo(new IssuedTokens("Bearer access", "Bearer refresh"));
+        // 액세스 토큰은 함께 발급한 리프레시 토큰의 세션에 묶인다
+        verify(jwtProvider).createAccessToken(any(User.class), eq(RefreshTokenStore.tokenId("Bearer refresh")));
+        assertThat(provisioningThread.get()).startsWith("kakao-login-");
+    }
+
+    @Test
+    void 처리_대기열이_가득_차면_바로_거절한다() throws Exception {
+        CountDownLatch provisioning = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userAdapter.createKakaoUser(anyLong(), any(), any())).thenAnswer(invocation -> {
+            provisioning.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new User(1L, "kakao1", null, "password");
+        });
+
+        // 스레드 1개가 처리 중이고 대기열 1칸이 찬 상태에서 세 번째 로그인
+        CompletableFuture<IssuedTokens> running = kakaoService.kakaoLogin("code");
+        assertThat(provisioning.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<IssuedTokens> queued = kakaoService.kakaoLogin("code");
+        CompletableFuture<IssuedTokens> rejected = kakaoService.kakaoLogin("code");
+
+        assertThatThrownBy(() -> rejected.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOfSatisfying(KakaoException.class,
+                        e -> assertThat(e.getResponseCode()).isEqualTo(ResponseCodeEnum.KAKAO_UNAVAILABLE));
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS).accessToken()).isEqualTo("Bearer access");
+        assertThat(queued.get(5, TimeUnit.SECONDS).accessToken()).isEqualTo("Bearer access");
+    }
+}
@@ -0,0 +1,183 @@
+package com.sparta.springtrello.domain.user.service;
+
+import com.sparta.springtrello.common.ImageVariantGenerator;
+import com.sparta.springtrello.common.ResponseCodeEnum;
+import com.sparta.springtrello.common.storage.ObjectStorageMetrics;
+import com.sparta.springtrello.common.storage.S3ObjectStorage;
+import com.sparta.springtrello.common.storage.S3StandIn;
+import com.sparta.springtrello.common.tracing.TraceSpans;
+import com.sparta.springtrello.domain.user.dto.PictureUploadConfirmRequestDto;
+import com.sparta.springtrello.domain.user.dto.PictureUploadUrlRequestDto;
+import com.sparta.springtrello.domain.user.dto.PictureUploadUrlResponseDto;
+import com.sparta.springtrello.domain.user.dto.ProfilePictureStatusResponseDto;
+import com.sparta.springtrello.domain.user.dto.ProfileResponseDto;
+import com.sparta.springtrello.domain.user.entity.UploadStatusEnum;
+import com.sparta.springtrello.domain.user.repository.UserAdapter;
+import com.sparta.springtrello.exception.custom.common.UploadException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 서명된 URL 로 로컬 S3 호환 스텁에 직접 PUT 한 뒤 확인
+class ProfilePictureDirectUploadServiceTest {
+
+    private static final long MAX_BYTES = 1024;
+
+    @TempDir
+    Path spoolDir;
+
+    private S3StandIn s3;
+    private S3ObjectStorage objectStorage;
+    private final UserAdapter userAdapter = mock(UserAdapter.class);
+    private final ProfileCache profileCache = new ProfileCache(10, 60);
+    private final ImageVariantGenerator imageVariantGenerator = mock(ImageVariantGenerator.class);
+    private ProfilePictureUploader uploader;
+    private ProfilePictureDirectUploadService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        s3 = new S3StandIn();
+        objectStorage = new S3ObjectStorage(s3.client(), S3StandIn.BUCKET);
+        uploader = new ProfilePictureUploader(objectStorage,
+                new ObjectStorageMetrics(new SimpleMeterRegistry(), new TraceSpans(Tracer.NOOP), "s3"),
+                imageVariantGenerator, userAdapter, profileCache, new TraceSpans(Tracer.NOOP),
+                spoolDir.toString(), 1, 10, 1, 10, 50, 60_000);
+        service = new ProfilePictureDirectUploadService(objectStorage, uploader, 300, MAX_BYTES);
+    }
+
+    @AfterEach
+    void tearDown() {
+        uploader.shutdown();
+        s3.close();
+    }
+
+    @Test
+    void 발급받은_URL_로_올린_사진을_확인하면_프로필에_반영한다() throws Exception {
+        profileCache.getOrLoad(1L, id -> new ProfileResponseDto("nickname", null, null, null, null));
+        PictureUploadUrlResponseDto issued = service.createUploadUrl(1L, uploadUrlRequest("image/png"));
+        int status = put(issued.getUploadUrl(), "image/png", new byte[100]);
+
+        ProfilePictureStatusResponseDto confirmed = service.confirm(1L, confirmRequest(issued.getKey()));
+
+        assertThat(status).isEqualTo(200);
+        assertThat(issued.getKey()).startsWith("profile-pictures/direct/1/").endsWith(".png");
+        assertThat(S3StandIn.keyOf(issued.getUploadUrl())).isEqualTo(issued.getKey());
+        assertThat(confirmed.getPictureUrl()).isEqualTo(objectStorage.getUrl(issued.getKey()));
+        verify(userAdapter).updatePicture(1L, confirmed.getPictureUrl(), null);
+        assertThat(profileCache.get(1L)).isNull();
+    }
+
+    @Test
+    void 직접_업로드를_확인하면_진행_중인_업로드는_반영하지_않는다() throws Exception {
+        CountDownLatch converting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(imageVariantGenerator.generate(any())).thenAnswer(invocation -> {
+            converting.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(new ImageVariantGenerator.Variant(64, new byte[10]));
+        });
+        uploader.submit(1L, new MockMultipartFile("profilePicture", "me.png", "image/png", new byte[10]));
+        assertThat(converting.await(5, TimeUnit.SECONDS)).isTrue();
+
+        PictureUploadUrlResponseDto issued = service.createUploadUrl(1L, uploadUrlRequest("image/png"));
+        s3.put(issued.getKey(), new byte[100], "image/png");
+        ProfilePictureStatusResponseDto confirmed = service.confirm(1L, confirmRequest(issued.getKey()));
+        release.countDown();
+        awaitIdle();
+
+        assertThat(uploader.getStatus(1L).getUploadId()).isEqualTo(confirmed.getUploadId());
+        assertThat(uploader.getStatus(1L).getStatus()).isEqualTo(UploadStatusEnum.COMPLETED);
+        verify(userAdapter, times(1)).updatePicture(eq(1L), any(), any());
+        verify(userAdapter).updatePicture(1L, confirmed.getPictureUrl(), null);
+    }
+
+    @Test
+    void 허용하지_않는_타입은_URL_을_발급하지_않는다() {
+        assertThatThrownBy(() -> service.createUploadUrl(1L, uploadUrlRequest("image/svg+xml")))
+                .isInstanceOf(UploadException.class);
+    }
+
+    @Test
+    void 다른_사용자_경로의_키는_확인하지_않는다() {
+        PictureUploadUrlResponseDto issued = service.createUploadUrl(2L, uploadUrlRequest("image/png"));
+        s3.put(issued.getKey(), new byte[100], "image/png");
+
+        assertThatThrownBy(() -> service.confirm(1L, confirmRequest(issued.getKey())))
+                .isInstanceOf(UploadException.class);
+        assertThat(s3.objects()).containsKey(issued.getKey());
+        verify(userAdapter, never()).updatePicture(anyLong(), any(), any());
+    }
+
+    @Test
+    void 크기나_타입이_맞지_않으면_객체를_지우고_거절한다() throws Exception {
+        PictureUploadUrlResponseDto tooLarge = service.createUploadUrl(1L, uploadUrlRequest("image/png"));
+        put(tooLarge.getUploadUrl(), "image/png", new byte[(int) MAX_BYTES + 1]);
+        PictureUploadUrlResponseDto wrongType = service.createUploadUrl(1L, uploadUrlRequest("image/jpeg"));
+        s3.put(wrongType.getKey(), new byte[100], "text/html");
+
+        assertThatThrownBy(() -> service.confirm(1L, confirmRequest(tooLarge.getKey())))
+                .isInstanceOf(UploadException.class);
+        assertThatThrownBy(() -> service.confirm(1L, confirmRequest(wrongType.getKey())))
+                .isInstanceOf(UploadException.class);
+        assertThat(s3.objects()).isEmpty();
+        verify(userAdapter, never()).updatePicture(anyLong(), any(), any());
+    }
+
+    @Test
+    void 업로드하지_않은_키는_찾을_수_없다() {
+        PictureUploadUrlResponseDto issued = service.createUploadUrl(1L, uploadUrlRequest("image/png"));
+
+        assertThatThrownBy(() -> service.confirm(1L, confirmRequest(issued.getKey())))
+                .isInstanceOfSatisfying(UploadException.class,
+                        e -> assertThat(e.getResponseCode()).isEqualTo(ResponseCodeEnum.UPLOAD_NOT_FOUND));
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        assertThat(uploader.awaitIdle(5_000)).as("업로드가 끝나지 않았습니다").isTrue();
+    }
+
+    private static PictureUploadUrlRequestDto uploadUrlRequest(String contentType) {
+        PictureUploadUrlRequestDto requestDto = new PictureUploadUrlRequestDto();
+        requestDto.setContentType(contentType);
+        return requestDto;
+    }
+
+    private static PictureUploadConfirmRequestDto confirmRequest(String key) {
+        PictureUploadConfirmRequestDto requestDto = new PictureUploadConfirmRequestDto();
+        requestDto.setKey(key);
+        return requestDto;
+    }
+
+    private static int put(String url, String contentType, byte[] content) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", contentType)
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(content))
+                .build();
+        return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
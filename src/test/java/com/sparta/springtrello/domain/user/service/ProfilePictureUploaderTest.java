@@ -0,0 +1,244 @@
+package com.sparta.springtrello.domain.user.service;
+
+import com.sparta.springtrello.common.ImageVariantGenerator;
+import com.sparta.springtrello.common.storage.ObjectStorageMetrics;
+import com.sparta.springtrello.common.storage.S3ObjectStorage;
+import com.sparta.springtrello.common.storage.S3StandIn;
+import com.sparta.springtrello.common.tracing.TraceSpans;
+import com.sparta.springtrello.domain.user.dto.ProfilePictureStatusResponseDto;
+import com.sparta.springtrello.domain.user.dto.ProfileResponseDto;
+import com.sparta.springtrello.domain.user.entity.UploadStatusEnum;
+import com.sparta.springtrello.domain.user.repository.UserAdapter;
+import com.sparta.springtrello.exception.custom.common.UploadException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// 로컬 S3 호환 스텁에 실제 AmazonS3 클라이언트로 업로드
+class ProfilePictureUploaderTest {
+
+    private static final byte[] PICTURE = png(640, 480);
+
+    @TempDir
+    Path spoolDir;
+
+    private S3StandIn s3;
+    private final UserAdapter userAdapter = mock(UserAdapter.class);
+    private final ProfileCache profileCache = new ProfileCache(10, 60);
+    private S3ObjectStorage objectStorage;
+    private ProfilePictureUploader uploader;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        s3 = new S3StandIn();
+        objectStorage = new S3ObjectStorage(s3.client(), S3StandIn.BUCKET);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (uploader != null) {
+            uploader.shutdown();
+        }
+        s3.close();
+    }
+
+    @Test
+    void 일시적인_실패는_재시도하고_완료되면_pictureUrl_을_반영한다() throws Exception {
+        uploader = newUploader(5);
+        s3.failPuts(2);
+
+        ProfilePictureStatusResponseDto submitted = uploader.submit(1L, picture());
+        ProfilePictureStatusResponseDto status = awaitFinished(1L);
+
+        assertThat(status.getUploadId()).isEqualTo(submitted.getUploadId());
+        assertThat(status.getStatus()).isEqualTo(UploadStatusEnum.COMPLETED);
+        assertThat(status.getAttempts()).isEqualTo(3);
+        assertThat(status.getPictureVariants()).containsOnlyKeys(256, 128, 64);
+        assertThat(status.getPictureUrl()).isEqualTo(status.getPictureVariants().get(256));
+        // 실패한 PUT 2번 + 변환본 3개
+        assertThat(s3.putRequests()).isEqualTo(5);
+        assertThat(s3.objects()).hasSize(3);
+        for (Map.Entry<Integer, String> variant : status.getPictureVariants().entrySet()) {
+            byte[] stored = s3.objects().get(S3StandIn.keyOf(variant.getValue())).content();
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(stored));
+            assertThat(image.getWidth()).isEqualTo(variant.getKey());
+            assertThat(image.getHeight()).isEqualTo(variant.getKey());
+        }
+        verify(userAdapter).updatePicture(1L, status.getPictureUrl(), status.getPictureVariants());
+        assertThat(spooledFiles()).isZero();
+        assertThat(uploader.getPendingCount()).isZero();
+    }
+
+    @Test
+    void 사진이_반영되면_캐시된_프로필을_지우고_실패하면_그대로_둔다() throws Exception {
+        uploader = newUploader(1);
+        profileCache.getOrLoad(1L, id -> new ProfileResponseDto("nickname", null, null, null, null));
+        profileCache.getOrLoad(2L, id -> new ProfileResponseDto("nickname", null, null, null, null));
+
+        s3.failPuts(1);
+        uploader.submit(2L, picture());
+        assertThat(awaitFinished(2L).getStatus()).isEqualTo(UploadStatusEnum.FAILED);
+        uploader.submit(1L, picture());
+        assertThat(awaitFinished(1L).getStatus()).isEqualTo(UploadStatusEnum.COMPLETED);
+
+        assertThat(profileCache.get(1L)).isNull();
+        assertThat(profileCache.get(2L)).isNotNull();
+    }
+
+    @Test
+    void 재시도_횟수를_넘으면_실패로_끝나고_pictureUrl_은_바꾸지_않는다() throws Exception {
+        uploader = newUploader(2);
+        s3.failPuts(100);
+
+        uploader.submit(1L, picture());
+        ProfilePictureStatusResponseDto status = awaitFinished(1L);
+
+        assertThat(status.getStatus()).isEqualTo(UploadStatusEnum.FAILED);
+        assertThat(status.getAttempts()).isEqualTo(2);
+        verify(userAdapter, never()).updatePicture(anyLong(), any(), any());
+        assertThat(spooledFiles()).isZero();
+        assertThat(uploader.getPendingCount()).isZero();
+    }
+
+    @Test
+    void 같은_사진을_다시_올리면_객체를_다시_업로드하지_않는다() throws Exception {
+        uploader = newUploader(3);
+        uploader.submit(1L, picture());
+        ProfilePictureStatusResponseDto first = awaitFinished(1L);
+        int putsAfterFirst = s3.putRequests();
+
+        uploader.submit(2L, picture());
+        ProfilePictureStatusResponseDto second = awaitFinished(2L);
+
+        assertThat(second.getStatus()).isEqualTo(UploadStatusEnum.COMPLETED);
+        assertThat(second.getPictureVariants()).isEqualTo(first.getPictureVariants());
+        assertThat(s3.putRequests()).isEqualTo(putsAfterFirst);
+        verify(userAdapter).updatePicture(eq(2L), any(), any());
+    }
+
+    @Test
+    void 완료된_업로드와_같은_사진을_다시_올려도_다시_반영한다() throws Exception {
+        uploader = newUploader(3);
+        ProfilePictureStatusResponseDto first = uploader.submit(1L, picture());
+        awaitFinished(1L);
+        int putsAfterFirst = s3.putRequests();
+
+        // 그 사이 다른 경로로 사진이 바뀌었을 수 있으므로 완료된 업로드를 그대로 돌려주지 않는다
+        ProfilePictureStatusResponseDto second = uploader.submit(1L, picture());
+        ProfilePictureStatusResponseDto status = awaitFinished(1L);
+
+        assertThat(second.getUploadId()).isNotEqualTo(first.getUploadId());
+        assertThat(status.getUploadId()).isEqualTo(second.getUploadId());
+        assertThat(status.getStatus()).isEqualTo(UploadStatusEnum.COMPLETED);
+        assertThat(s3.putRequests()).isEqualTo(putsAfterFirst);
+        verify(userAdapter, times(2)).updatePicture(eq(1L), any(), any());
+    }
+
+    @Test
+    void 한_사용자의_사진_반영이_늦어져도_다른_사용자의_반영과_등록은_기다리지_않는다() throws Exception {
+        uploader = newUploader(3);
+        CountDownLatch updating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            updating.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(userAdapter).updatePicture(eq(1L), any(), any());
+
+        uploader.submit(1L, picture());
+        assertThat(updating.await(5, TimeUnit.SECONDS)).isTrue();
+        try {
+            uploader.submit(2L, picture());
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (!uploader.getStatus(2L).getStatus().isFinished() && System.currentTimeMillis() < deadline) {
+                Thread.onSpinWait();
+            }
+            assertThat(uploader.getStatus(2L).getStatus()).isEqualTo(UploadStatusEnum.COMPLETED);
+            assertThat(uploader.getStatus(1L).getStatus().isFinished()).isFalse();
+        } finally {
+            release.countDown();
+        }
+        assertThat(awaitFinished(1L).getStatus()).isEqualTo(UploadStatusEnum.COMPLETED);
+    }
+
+    @Test
+    void 이미지가_아니면_임시_저장하지_않고_거절한다() throws Exception {
+        uploader = newUploader(3);
+        MockMultipartFile notImage = new MockMultipartFile("profilePicture", "me.jpg", "image/jpeg",
+                "not-an-image".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> uploader.submit(1L, notImage)).isInstanceOf(UploadException.class);
+        assertThat(spooledFiles()).isZero();
+        assertThat(uploader.getPendingCount()).isZero();
+    }
+
+    private ProfilePictureUploader newUploader(int maxAttempts) throws IOException {
+        return new ProfilePictureUploader(objectStorage, new ObjectStorageMetrics(new SimpleMeterRegistry(), new TraceSpans(Tracer.NOOP), "s3"),
+                new ImageVariantGenerator(new int[]{256, 128, 64}, 0.8f, 10_000_000),
+                userAdapter, profileCache, new TraceSpans(Tracer.NOOP),
+                spoolDir.toString(), 2, 10, maxAttempts, 10, 50, 60_000);
+    }
+
+    // 업로드는 한 번에 하나씩 제출하므로 대기 중인 업로드가 없으면 해당 사용자의 업로드도 끝난 것이다
+    private ProfilePictureStatusResponseDto awaitFinished(Long userId) throws InterruptedException {
+        assertThat(uploader.awaitIdle(5_000)).as("업로드가 끝나지 않았습니다").isTrue();
+        ProfilePictureStatusResponseDto status = uploader.getStatus(userId);
+        assertThat(status.getStatus().isFinished()).isTrue();
+        return status;
+    }
+
+    private long spooledFiles() throws IOException {
+        try (Stream<Path> files = Files.list(spoolDir)) {
+            return files.count();
+        }
+    }
+
+    private static MockMultipartFile picture() {
+        return new MockMultipartFile("profilePicture", "me.png", "image/png", PICTURE);
+    }
+
+    private static byte[] png(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.ORANGE);
+        graphics.fillOval(0, 0, width, height);
+        graphics.dispose();
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", bytes);
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
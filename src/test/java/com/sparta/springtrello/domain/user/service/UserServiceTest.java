@@ -0,0 +1,191 @@
+package com.sparta.springtrello.domain.user.service;
+
+import com.sparta.springtrello.auth.SessionTable;
+import com.sparta.springtrello.auth.TokenVersionTable;
+import com.sparta.springtrello.auth.UserDetailsCache;
+import com.sparta.springtrello.common.ResponseCodeEnum;
+import com.sparta.springtrello.domain.user.dto.ProfileResponseDto;
+import com.sparta.springtrello.domain.user.dto.ProfileSummaryResponseDto;
+import com.sparta.springtrello.domain.user.dto.ProfilesResponseDto;
+import com.sparta.springtrello.domain.user.dto.UpdateProfileRequestDto;
+import com.sparta.springtrello.domain.user.entity.User;
+import com.sparta.springtrello.domain.user.entity.UserStatusEnum;
+import com.sparta.springtrello.domain.user.repository.RefreshTokenStore;
+import com.sparta.springtrello.domain.user.repository.UserAdapter;
+import com.sparta.springtrello.exception.custom.user.UserException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class UserServiceTest {
+
+    private final UserAdapter userAdapter = mock(UserAdapter.class);
+    private final ProfilePictureUploader profilePictureUploader = mock(ProfilePictureUploader.class);
+    private final TokenVersionTable tokenVersionTable = mock(TokenVersionTable.class);
+    private final SessionTable sessionTable = mock(SessionTable.class);
+    private final RefreshTokenStore refreshTokenStore = mock(RefreshTokenStore.class);
+    private final UserDetailsCache userDetailsCache = new UserDetailsCache(10, 60);
+    private final ProfileCache profileCache = new ProfileCache(10, 60);
+
+    private UserService userService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userService = new UserService(userAdapter, mock(PasswordEncoder.class), profilePictureUploader,
+                tokenVersionTable, sessionTable, userDetailsCache, refreshTokenStore, profileCache);
+        user = new User("user1", "password", UserStatusEnum.STATUS_NORMAL);
+        ReflectionTestUtils.setField(user, "id", 1L);
+        when(userAdapter.findById(1L)).thenReturn(user);
+        ReflectionTestUtils.setField(userService, "maxProfileBatchSize", 100);
+    }
+
+    @Test
+    void 기기별_로그아웃은_현재_세션만_삭제하고_토큰_버전은_그대로_둔다() {
+        userService.logout(1L, "session", false);
+
+        verify(refreshTokenStore).deleteSession(1L, "session");
+        verify(sessionTable).revoke("session");
+        verify(refreshTokenStore, never()).deleteAllByUserId(anyLong());
+        verifyNoInteractions(tokenVersionTable, userAdapter);
+        assertThat(user.getTokenVersion()).isZero();
+    }
+
+    @Test
+    void 전체_로그아웃은_모든_토큰을_삭제하고_토큰_버전을_올린다() {
+        userService.logout(1L, "session", true);
+
+        verify(refreshTokenStore).deleteAllByUserId(1L);
+        verify(refreshTokenStore, never()).deleteSession(anyLong(), anyString());
+        verify(tokenVersionTable).update(1L, 1);
+        assertThat(user.getTokenVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void 사진은_트랜잭션_전에_임시_저장하고_프로필이_커밋된_뒤에_예약한다() {
+        MockMultipartFile picture = new MockMultipartFile("profilePicture", "me.png", "image/png", new byte[10]);
+        ProfilePictureUploader.PreparedUpload upload = mock(ProfilePictureUploader.PreparedUpload.class);
+        when(profilePictureUploader.prepare(1L, picture)).thenReturn(upload);
+
+        userService.updateProfile(1L, profileRequest(), picture);
+
+        InOrder order = inOrder(profilePictureUploader, userAdapter);
+        order.verify(profilePictureUploader).prepare(1L, picture);
+        order.verify(userAdapter).updateProfile(1L, "nickname", "introduce");
+        order.verify(profilePictureUploader).submit(upload);
+    }
+
+    @Test
+    void 프로필_수정이_실패하면_준비한_사진을_정리한다() {
+        MockMultipartFile picture = new MockMultipartFile("profilePicture", "me.png", "image/png", new byte[10]);
+        ProfilePictureUploader.PreparedUpload upload = mock(ProfilePictureUploader.PreparedUpload.class);
+        when(profilePictureUploader.prepare(1L, picture)).thenReturn(upload);
+        doThrow(new UserException(ResponseCodeEnum.USER_NOT_FOUND))
+                .when(userAdapter).updateProfile(1L, "nickname", "introduce");
+
+        assertThatThrownBy(() -> userService.updateProfile(1L, profileRequest(), picture))
+                .isInstanceOf(UserException.class);
+
+        verify(profilePictureUploader).discard(upload);
+        verify(profilePictureUploader, never()).submit(any(ProfilePictureUploader.PreparedUpload.class));
+    }
+
+    @Test
+    void 프로필을_수정하면_캐시된_프로필을_지운다() {
+        profileCache.getOrLoad(1L, id -> new ProfileResponseDto("before", null, null, null, null));
+
+        userService.updateProfile(1L, profileRequest(), null);
+
+        assertThat(profileCache.get(1L)).isNull();
+        verifyNoInteractions(profilePictureUploader);
+    }
+
+    @Test
+    void 탈퇴하면_캐시된_프로필을_지운다() {
+        profileCache.getOrLoad(1L, id -> new ProfileResponseDto("before", null, null, null, null));
+
+        userService.deleteUser(1L);
+
+        assertThat(profileCache.get(1L)).isNull();
+        assertThat(user.getUserStatus()).isEqualTo(UserStatusEnum.STATUS_DELETED);
+    }
+
+    @Test
+    void 여러_프로필은_요청한_순서대로_중복_없이_응답하고_없는_id_는_따로_알려준다() {
+        when(userAdapter.findProfilesByIds(anyCollection()))
+                .thenReturn(List.of(summary(3L), summary(1L)));
+
+        ProfilesResponseDto response = userService.getProfiles(Arrays.asList(3L, 2L, 1L, 3L, null, 1L));
+
+        assertThat(response.getProfiles()).extracting(ProfileSummaryResponseDto::getUserId).containsExactly(3L, 1L);
+        assertThat(response.getMissingUserIds()).containsExactly(2L);
+        verify(userAdapter).findProfilesByIds(List.of(3L, 2L, 1L));
+    }
+
+    @Test
+    void 캐시에_있는_프로필은_조회하지_않고_나머지만_한_번에_조회한다() {
+        profileCache.getOrLoad(2L, id -> new ProfileResponseDto("cached-2", null, null, null, null));
+        when(userAdapter.findProfilesByIds(anyCollection())).thenReturn(List.of(summary(1L), summary(3L)));
+
+        ProfilesResponseDto response = userService.getProfiles(List.of(1L, 2L, 3L));
+
+        assertThat(response.getProfiles()).extracting(ProfileSummaryResponseDto::getNickname)
+                .containsExactly("nickname-1", "cached-2", "nickname-3");
+        assertThat(response.getMissingUserIds()).isEmpty();
+        verify(userAdapter).findProfilesByIds(List.of(1L, 3L));
+    }
+
+    @Test
+    void 모두_캐시에_있으면_DB_를_조회하지_않는다() {
+        profileCache.getOrLoad(1L, id -> new ProfileResponseDto("cached-1", null, null, null, null));
+
+        ProfilesResponseDto response = userService.getProfiles(List.of(1L));
+
+        assertThat(response.getProfiles()).extracting(ProfileSummaryResponseDto::getNickname).containsExactly("cached-1");
+        verify(userAdapter, never()).findProfilesByIds(anyCollection());
+    }
+
+    @Test
+    void 중복을_제외한_id_가_한도를_넘으면_거절한다() {
+        ReflectionTestUtils.setField(userService, "maxProfileBatchSize", 2);
+        when(userAdapter.findProfilesByIds(anyCollection())).thenReturn(List.of());
+
+        // 중복은 한 번으로 센다
+        assertThat(userService.getProfiles(List.of(1L, 2L, 1L, 2L)).getMissingUserIds()).containsExactly(1L, 2L);
+        assertThatThrownBy(() -> userService.getProfiles(List.of(1L, 2L, 3L)))
+                .isInstanceOfSatisfying(UserException.class,
+                        e -> assertThat(e.getResponseCode()).isEqualTo(ResponseCodeEnum.TOO_MANY_USER_IDS));
+        verify(userAdapter).findProfilesByIds(anyCollection());
+    }
+
+    private static ProfileSummaryResponseDto summary(Long userId) {
+        return new ProfileSummaryResponseDto(userId, "nickname-" + userId, null, null, null);
+    }
+
+    private static UpdateProfileRequestDto profileRequest() {
+        UpdateProfileRequestDto requestDto = new UpdateProfileRequestDto();
+        requestDto.setNickname("nickname");
+        requestDto.setIntroduce("introduce");
+        return requestDto;
+    }
+}
@@ -0,0 +1,28 @@
+package com.sparta.springtrello.exception;
+
+import com.sparta.springtrello.common.ResponseCodeEnum;
+import com.sparta.springtrello.exception.custom.common.UploadException;
+import com.sparta.springtrello.exception.custom.user.UserException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomExceptionTest {
+
+    @Test
+    void 클라이언트_오류는_스택_트레이스를_수집하지_않는다() {
+        CustomException e = new UserException(ResponseCodeEnum.USER_NOT_FOUND);
+
+        assertThat(e.getStackTrace()).isEmpty();
+        assertThat(e.getMessage()).isEqualTo(ResponseCodeEnum.USER_NOT_FOUND.getMessage());
+    }
+
+    @Test
+    void 서버_오류는_발생한_위치를_알_수_있도록_스택_트레이스를_남긴다() {
+        CustomException e = new UploadException(ResponseCodeEnum.UPLOAD_FAILED);
+
+        assertThat(e.getStackTrace()).isNotEmpty();
+        assertThat(e.getStackTrace())
+                .anyMatch(frame -> frame.getClassName().equals(CustomExceptionTest.class.getName()));
+    }
+}
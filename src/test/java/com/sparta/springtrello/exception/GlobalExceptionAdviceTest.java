@@ -0,0 +1,56 @@
+package com.sparta.springtrello.exception;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.sparta.springtrello.common.ResponseCodeEnum;
+import com.sparta.springtrello.exception.custom.common.UploadException;
+import com.sparta.springtrello.exception.custom.user.UserException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GlobalExceptionAdviceTest {
+
+    private final GlobalExceptionAdvice advice = new GlobalExceptionAdvice(60);
+    private final Logger logger = (Logger) LoggerFactory.getLogger(GlobalExceptionAdvice.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void 클라이언트_오류는_간격_안에서_한_번만_기록한다() {
+        for (int i = 0; i < 3; i++) {
+            advice.handleUserException(new UserException(ResponseCodeEnum.USER_NOT_FOUND));
+        }
+
+        assertThat(appender.list).hasSize(1);
+        assertThat(appender.list.get(0).getLevel()).isEqualTo(Level.WARN);
+    }
+
+    @Test
+    void 서버_오류는_간격과_관계없이_매번_예외와_함께_기록한다() {
+        for (int i = 0; i < 3; i++) {
+            advice.handleUserException(new UploadException(ResponseCodeEnum.UPLOAD_FAILED));
+        }
+
+        assertThat(appender.list).hasSize(3)
+                .allSatisfy(event -> {
+                    assertThat(event.getLevel()).isEqualTo(Level.ERROR);
+                    assertThat(event.getThrowableProxy()).isNotNull();
+                });
+    }
+}
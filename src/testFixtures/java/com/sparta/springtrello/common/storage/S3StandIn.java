@@ -0,0 +1,123 @@
+package com.sparta.springtrello.common.storage;
+
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.util.DigestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 테스트용 S3 호환 저장소, path-style HEAD/GET/PUT/DELETE 만 흉내
+// failPuts(n) 이면 다음 PUT n 번에 500 응답
+public class S3StandIn implements AutoCloseable {
+
+    public static final String BUCKET = "test-bucket";
+
+    public record StoredObject(byte[] content, String contentType) {
+    }
+
+    private final HttpServer server;
+    private final Map<String, StoredObject> objects = new ConcurrentHashMap<>();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+    private final AtomicInteger putRequests = new AtomicInteger();
+
+    public S3StandIn() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/" + BUCKET + "/", this::handle);
+        server.start();
+    }
+
+    public String endpoint() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    // 재시도는 애플리케이션 쪽에서만 하도록 SDK 재시도는 끈 클라이언트
+    public AmazonS3 client() {
+        return AmazonS3ClientBuilder.standard()
+                .withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(endpoint(), "us-east-2"))
+                .withPathStyleAccessEnabled(true)
+                .withCredentials(new AWSStaticCredentialsProvider(new BasicAWSCredentials("test", "test")))
+                .withClientConfiguration(new ClientConfiguration().withMaxErrorRetry(0).withUseExpectContinue(false))
+                .build();
+    }
+
+    public Map<String, StoredObject> objects() {
+        return objects;
+    }
+
+    public void put(String key, byte[] content, String contentType) {
+        objects.put(key, new StoredObject(content, contentType));
+    }
+
+    public void failPuts(int count) {
+        failuresLeft.set(count);
+    }
+
+    public int putRequests() {
+        return putRequests.get();
+    }
+
+    // 객체 URL 에서 키 추출
+    public static String keyOf(String url) {
+        String marker = "/" + BUCKET + "/";
+        String path = url.substring(url.indexOf(marker) + marker.length());
+        int query = path.indexOf('?');
+        return query < 0 ? path : path.substring(0, query);
+    }
+
+    protected void handle(HttpExchange exchange) throws IOException {
+        String key = keyOf(exchange.getRequestURI().getPath());
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        switch (exchange.getRequestMethod()) {
+            case "HEAD", "GET" -> {
+                StoredObject object = objects.get(key);
+                if (object == null) {
+                    exchange.sendResponseHeaders(404, -1);
+                    break;
+                }
+                exchange.getResponseHeaders().add("ETag", "\"" + DigestUtils.md5DigestAsHex(object.content()) + "\"");
+                exchange.getResponseHeaders().add("Content-Type", object.contentType());
+                if ("HEAD".equals(exchange.getRequestMethod())) {
+                    exchange.getResponseHeaders().add("Content-Length", String.valueOf(object.content().length));
+                    exchange.sendResponseHeaders(200, -1);
+                } else {
+                    exchange.sendResponseHeaders(200, object.content().length);
+                    try (OutputStream output = exchange.getResponseBody()) {
+                        output.write(object.content());
+                    }
+                }
+            }
+            case "PUT" -> {
+                putRequests.incrementAndGet();
+                if (failuresLeft.getAndUpdate(left -> Math.max(0, left - 1)) > 0) {
+                    exchange.sendResponseHeaders(500, -1);
+                    break;
+                }
+                put(key, body, exchange.getRequestHeaders().getFirst("Content-Type"));
+                exchange.getResponseHeaders().add("ETag", "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+                exchange.sendResponseHeaders(200, -1);
+            }
+            case "DELETE" -> {
+                objects.remove(key);
+                exchange.sendResponseHeaders(204, -1);
+            }
+            default -> exchange.sendResponseHeaders(405, -1);
+        }
+        exchange.close();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}